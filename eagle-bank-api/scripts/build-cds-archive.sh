@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Extracts the repackaged jar and records an AppCDS archive from a training run that stops
+# once the application context has refreshed.
+#
+# Usage: build-cds-archive.sh <boot-jar> [spring-profiles]
+set -euo pipefail
+
+JAR="$1"
+PROFILES="${2:-prod}"
+TARGET_DIR="$(dirname "$JAR")"
+APP_DIR="$TARGET_DIR/fast-startup"
+
+rm -rf "$APP_DIR"
+java -Djarmode=tools -jar "$JAR" extract --destination "$APP_DIR"
+
+(
+  cd "$APP_DIR"
+  java -XX:ArchiveClassesAtExit=application.jsa \
+       -Dspring.aot.enabled=true \
+       -Dspring.profiles.active="$PROFILES" \
+       -Dspring.context.exit=onRefresh \
+       -jar "$(basename "$JAR")"
+)
+
+echo "CDS archive written to $APP_DIR/application.jsa"
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Measures time from JVM launch to the first successful API request (POST /v1/users -> 201)
+# for the default jar and for the fast-startup build, and prints the median of each.
+#
+# Usage: measure-startup.sh [runs]
+# Build both artifacts first:
+#   mvn -B package -DskipTests && cp target/*.jar target/default.jar
+#   mvn -B -Pfast-startup package -DskipTests
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BODY='{"name":"Startup Probe","email":"probe@example.com","phoneNumber":"+441234567890","address":{"line1":"1 Probe St","town":"London","county":"Greater London","postcode":"E1 6AN"}}'
+
+now_ms() {
+  date +%s%3N
+}
+
+measure() {
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="$PORT" >/dev/null 2>&1 &
+  pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+                 -d "$BODY" "http://localhost:$PORT/v1/users" || true)" = "201" ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "application exited before serving a request" >&2
+      return 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+report() {
+  local label="$1"
+  shift
+  local samples=()
+  for _ in $(seq "$RUNS"); do
+    samples+=("$(measure "$@")")
+  done
+  printf '%-14s median %5s ms   runs: %s\n' "$label" "$(printf '%s\n' "${samples[@]}" | median)" "${samples[*]}"
+}
+
+report "default" java -jar "$ROOT/target/default.jar"
+report "fast-startup" "$ROOT/scripts/run-fast-startup.sh"
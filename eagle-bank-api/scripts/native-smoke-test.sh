@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Boots the native executable, walks the user and account endpoints end to end, and reports
+# startup time (launch to first successful request) and resident memory.
+#
+# Usage: native-smoke-test.sh [path-to-binary]
+# Build first: mvn -Pnative native:compile
+set -euo pipefail
+
+BINARY="${1:-$(cd "$(dirname "$0")/.." && pwd)/target/eagle-bank-api}"
+PORT="${PORT:-18081}"
+BASE="http://localhost:$PORT"
+
+now_ms() {
+  date +%s%3N
+}
+
+fail() {
+  echo "FAIL: $*" >&2
+  kill "$PID" 2>/dev/null || true
+  exit 1
+}
+
+# expect <status> <method> <url> [body]; prints the response body
+expect() {
+  local status="$1" method="$2" url="$3" body="${4:-}" response code
+  response=$(curl -s -w '\n%{http_code}' -X "$method" -H 'Content-Type: application/json' ${body:+-d "$body"} "$BASE$url")
+  code="${response##*$'\n'}"
+  [ "$code" = "$status" ] || fail "$method $url returned $code, expected $status"
+  printf '%s' "${response%$'\n'*}"
+}
+
+json_field() {
+  sed -n "s/.*\"$1\":\"\([^\"]*\)\".*/\1/p"
+}
+
+USER_BODY='{"name":"Native Smoke","email":"smoke@example.com","phoneNumber":"+441234567890","address":{"line1":"1 Smoke St","town":"London","county":"Greater London","postcode":"E1 6AN"}}'
+
+START=$(now_ms)
+"$BINARY" --server.port="$PORT" >/dev/null 2>&1 &
+PID=$!
+
+until USER_JSON=$(curl -sf -H 'Content-Type: application/json' -d "$USER_BODY" "$BASE/v1/users"); do
+  kill -0 "$PID" 2>/dev/null || fail "native binary exited during startup"
+  sleep 0.005
+done
+STARTUP_MS=$(( $(now_ms) - START ))
+
+USER_ID=$(printf '%s' "$USER_JSON" | json_field id)
+expect 200 GET "/v1/users/usr-$USER_ID" >/dev/null
+expect 200 PATCH "/v1/users/usr-$USER_ID" "${USER_BODY/Native Smoke/Native Smoke Updated}" >/dev/null
+
+ACCOUNT_JSON=$(expect 201 POST /api/v1/accounts '{"name":"Smoke Account","accountType":"personal"}')
+ACCOUNT_NUMBER=$(printf '%s' "$ACCOUNT_JSON" | json_field accountNumber)
+expect 200 GET "/api/v1/accounts/$ACCOUNT_NUMBER" >/dev/null
+expect 200 PUT "/api/v1/accounts/$ACCOUNT_NUMBER" '{"name":"Smoke Account Renamed"}' >/dev/null
+expect 200 POST /api/v1/accounts/batch-fetch "{\"accountNumbers\":[\"$ACCOUNT_NUMBER\",\"01000000\"]}" >/dev/null
+expect 404 GET /api/v1/accounts/01000000 >/dev/null
+expect 204 DELETE "/api/v1/accounts/$ACCOUNT_NUMBER" >/dev/null
+expect 204 DELETE "/v1/users/usr-$USER_ID" >/dev/null
+
+RSS_KB=$(ps -o rss= -p "$PID" | tr -d ' ')
+kill "$PID"
+wait "$PID" 2>/dev/null || true
+
+echo "OK: user and account endpoints behave as expected"
+echo "startup to first request: ${STARTUP_MS} ms"
+echo "resident memory after smoke run: $(( RSS_KB / 1024 )) MB"
@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Starts the fast-startup build produced by `mvn -Pfast-startup package`. Arguments are passed
+# to the application; JVM options can be added through JAVA_OPTS.
+set -euo pipefail
+
+APP_DIR="$(cd "$(dirname "$0")/../target/fast-startup" && pwd)"
+JAR="$(cd "$APP_DIR" && ls ./*.jar | head -n 1)"
+
+# The archive only matches when the class path is spelled exactly as in the training run.
+cd "$APP_DIR"
+exec java ${JAVA_OPTS:-} \
+          -XX:SharedArchiveFile=application.jsa \
+          -Dspring.aot.enabled=true \
+          -Dspring.profiles.active="${SPRING_PROFILES_ACTIVE:-prod}" \
+          -jar "$(basename "$JAR")" \
+          "$@"
@@ -1,9 +1,12 @@
 package com.eaglebank.eagle_bank_api;
 
+import com.eaglebank.eagle_bank_api.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class EagleBankApiApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(EagleBankApiApplication.class, args);
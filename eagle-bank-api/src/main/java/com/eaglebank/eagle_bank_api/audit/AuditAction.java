@@ -0,0 +1,7 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,111 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Appends whole records to numbered files ({@code audit-1.log}, {@code audit-2.log}, ...) in one
+ * directory. A file is closed once the next batch would take it past the size limit, and each
+ * start of the application begins a new file. A failed write abandons the current file, so a
+ * partly written record can only ever be the last one in a file.
+ */
+class AuditFileWriter implements Closeable {
+
+    static final String PREFIX = "audit-";
+    static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long maxFileSize;
+    private long nextIndex;
+    private FileChannel channel;
+    private Path currentFile;
+    private long size;
+    private boolean dirty;
+
+    AuditFileWriter(Path directory, long maxFileSize) throws IOException {
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        Files.createDirectories(directory);
+        this.nextIndex = highestIndex(directory) + 1;
+    }
+
+    void append(ByteBuffer records) throws IOException {
+        if (channel != null && size > 0 && size + records.remaining() > maxFileSize) {
+            close();
+        }
+        if (channel == null) {
+            open();
+        }
+        try {
+            while (records.hasRemaining()) {
+                size += channel.write(records);
+            }
+            dirty = true;
+        } catch (IOException e) {
+            abandon();
+            throw e;
+        }
+    }
+
+    /**
+     * Forces appended records to disk; returns false when there was nothing to force.
+     */
+    boolean force() throws IOException {
+        if (channel == null || !dirty) {
+            return false;
+        }
+        channel.force(false);
+        dirty = false;
+        return true;
+    }
+
+    Path currentFile() {
+        return currentFile;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                force();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        currentFile = directory.resolve(PREFIX + nextIndex++ + SUFFIX);
+        channel = FileChannel.open(currentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        size = 0;
+        dirty = false;
+    }
+
+    private void abandon() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The file is already being given up on.
+        }
+        channel = null;
+    }
+
+    private static long highestIndex(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> name.substring(PREFIX.length(), name.length() - SUFFIX.length()))
+                    .filter(index -> !index.isEmpty() && index.chars().allMatch(Character::isDigit))
+                    .mapToLong(Long::parseLong)
+                    .max()
+                    .orElse(0);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+
+/**
+ * Audit trail of user and account mutations. Request threads publish fixed-size records into a
+ * pre-allocated ring buffer without allocating or taking a lock; one writer thread drains the
+ * buffer in batches to rolling, checksummed files. Inside a transaction a record is published
+ * once the transaction has completed, with its {@link AuditOutcome}, so the trail never shows a
+ * change as made when it was rolled back, and never before it is visible.
+ * <p>
+ * When the buffer is full, {@link AuditProperties.Backpressure#BLOCK} makes the request wait for
+ * a free slot and {@link AuditProperties.Backpressure#DROP} discards the record. Exposes
+ * {@code eaglebank.audit.records} tagged by outcome, {@code eaglebank.audit.backlog},
+ * {@code eaglebank.audit.write.failures} and {@code eaglebank.audit.fsync}.
+ */
+public class AuditLog implements SmartLifecycle {
+
+    static final int BATCH_RECORDS = 1024;
+    private static final int SPINS_BEFORE_PARKING = 100;
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long RETRY_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AuditRingBuffer ring;
+    private final AuditFileWriter writer;
+    private final AuditProperties properties;
+    private final WarmUpRequests warmUpRequests;
+    private final ByteBuffer batch = ByteBuffer.allocate(BATCH_RECORDS * AuditRecordFormat.RECORD_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private final AuditRingBuffer.Handler encoder = this::encode;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter writeFailures;
+    private final Timer fsyncTimer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private long lastForceNanos;
+
+    public AuditLog(AuditProperties properties, WarmUpRequests warmUpRequests, MeterRegistry meterRegistry) throws IOException {
+        this(new AuditRingBuffer(properties.bufferSize()),
+                new AuditFileWriter(properties.directory(), properties.maxFileSize().toBytes()),
+                properties, warmUpRequests, meterRegistry);
+    }
+
+    AuditLog(AuditRingBuffer ring, AuditFileWriter writer, AuditProperties properties, WarmUpRequests warmUpRequests,
+             MeterRegistry meterRegistry) {
+        this.ring = ring;
+        this.writer = writer;
+        this.properties = properties;
+        this.warmUpRequests = warmUpRequests;
+        this.written = meterRegistry.counter("eaglebank.audit.records", "outcome", "written");
+        this.dropped = meterRegistry.counter("eaglebank.audit.records", "outcome", "dropped");
+        this.writeFailures = meterRegistry.counter("eaglebank.audit.write.failures");
+        this.fsyncTimer = meterRegistry.timer("eaglebank.audit.fsync");
+        Gauge.builder("eaglebank.audit.backlog", ring, AuditRingBuffer::backlog)
+                .description("Audit records published but not yet written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Changes made by the warm-up are not recorded.
+     *
+     * @param subjectId user key, or account number read as a number
+     * @param actorId   key of the authenticated user, 0 when there is none
+     */
+    public void record(AuditSubject subject, AuditAction action, long subjectId, long actorId) {
+        if (warmUpRequests.isCurrentRequestWarmUp()) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(timestamp, subject, action, AuditOutcome.COMMITTED, subjectId, actorId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                publish(timestamp, subject, action, AuditOutcome.of(status), subjectId, actorId);
+            }
+        });
+    }
+
+    private void publish(long timestamp, AuditSubject subject, AuditAction action, AuditOutcome outcome,
+                         long subjectId, long actorId) {
+        if (ring.tryPublish(timestamp, subject, action, outcome, subjectId, actorId)) {
+            return;
+        }
+        if (properties.backpressure() == AuditProperties.Backpressure.DROP) {
+            dropped.increment();
+            return;
+        }
+
+        int spins = 0;
+        while (!ring.tryPublish(timestamp, subject, action, outcome, subjectId, actorId)) {
+            if (!running) {
+                // Nothing will free a slot once the writer has stopped.
+                dropped.increment();
+                return;
+            }
+            if (++spins < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes one batch of published records; returns how many there were.
+     */
+    int writeBatch() {
+        batch.clear();
+        int count = ring.drain(encoder, BATCH_RECORDS);
+        if (count > 0) {
+            batch.flip();
+            append();
+            written.increment(count);
+        }
+        if (shouldForce(count)) {
+            force();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastForceNanos = System.nanoTime();
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Writes everything already published, forces it to disk and closes the file. The writer
+     * thread is unparked rather than interrupted, since an interrupt would close the file
+     * channel under it.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writerThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (writeBatch() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (writeBatch() > 0) {
+            // Drain what was published before stop.
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            writeFailures.increment();
+        }
+    }
+
+    private void encode(long sequence, long timestamp, byte subject, byte action, byte outcome, long subjectId, long actorId) {
+        AuditRecordFormat.write(batch, crc, sequence, timestamp, subject, action, outcome, subjectId, actorId);
+    }
+
+    /**
+     * Retries until the batch is written: its slots are already released, so giving up would
+     * lose it. While this retries, the buffer fills and backpressure applies to requests.
+     */
+    private void append() {
+        while (true) {
+            try {
+                writer.append(batch);
+                return;
+            } catch (IOException e) {
+                writeFailures.increment();
+                batch.rewind();
+                LockSupport.parkNanos(RETRY_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean shouldForce(int count) {
+        return switch (properties.fsync()) {
+            case BATCH -> count > 0;
+            case INTERVAL -> System.nanoTime() - lastForceNanos >= properties.fsyncInterval().toNanos();
+            case NEVER -> false;
+        };
+    }
+
+    private void force() {
+        long start = System.nanoTime();
+        try {
+            if (writer.force()) {
+                fsyncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (IOException e) {
+            // The records stay in the page cache and the next force tries again.
+            writeFailures.increment();
+        }
+        lastForceNanos = System.nanoTime();
+    }
+}
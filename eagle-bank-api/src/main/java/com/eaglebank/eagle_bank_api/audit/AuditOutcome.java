@@ -0,0 +1,21 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+
+/**
+ * How the transaction that made an audited change ended. Ordinals match the
+ * {@link TransactionSynchronization} completion statuses.
+ */
+public enum AuditOutcome {
+    COMMITTED,
+    ROLLED_BACK,
+    UNKNOWN;
+
+    static AuditOutcome of(int completionStatus) {
+        return switch (completionStatus) {
+            case TransactionSynchronization.STATUS_COMMITTED -> COMMITTED;
+            case TransactionSynchronization.STATUS_ROLLED_BACK -> ROLLED_BACK;
+            default -> UNKNOWN;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param bufferSize    records the ring buffer holds; rounded up to a power of two
+ * @param directory     where audit files are written
+ * @param maxFileSize   size at which the current file is closed and a new one started
+ * @param fsync         when written records are forced to disk
+ * @param fsyncInterval minimum time between forces under {@link Fsync#INTERVAL}
+ * @param backpressure  what a request thread does when the buffer is full
+ */
+@ConfigurationProperties(prefix = "eaglebank.audit")
+public record AuditProperties(@DefaultValue("65536") int bufferSize,
+                              @DefaultValue("audit") Path directory,
+                              @DefaultValue("64MB") DataSize maxFileSize,
+                              @DefaultValue("batch") Fsync fsync,
+                              @DefaultValue("1s") Duration fsyncInterval,
+                              @DefaultValue("block") Backpressure backpressure) {
+
+    public enum Fsync {
+        /** After every batch the writer drains, before it takes the next one. */
+        BATCH,
+        /** At most once per {@code fsyncInterval}; a crash can lose up to that much. */
+        INTERVAL,
+        /** Left to the operating system. */
+        NEVER
+    }
+
+    public enum Backpressure {
+        /** Wait for the writer to free a slot; no record is lost, but requests slow down. */
+        BLOCK,
+        /** Discard the record and count it in {@code eaglebank.audit.dropped}. */
+        DROP
+    }
+}
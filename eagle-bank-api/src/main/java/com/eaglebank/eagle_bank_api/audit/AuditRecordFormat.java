@@ -0,0 +1,57 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk layout of one audit record, 40 bytes, big-endian:
+ * <pre>
+ *  0  sequence     long
+ *  8  timestamp    long, epoch millis
+ * 16  subject id   long
+ * 24  actor id     long, 0 when unauthenticated
+ * 32  subject      byte, {@link AuditSubject} ordinal
+ * 33  action       byte, {@link AuditAction} ordinal
+ * 34  version      byte
+ * 35  outcome      byte, {@link AuditOutcome} ordinal; always 0 in version 1, which was
+ *                  written before the transaction completed
+ * 36  CRC-32C of bytes 0-35
+ * </pre>
+ */
+final class AuditRecordFormat {
+
+    static final int RECORD_SIZE = 40;
+    static final byte VERSION = 2;
+    private static final int CHECKSUM_OFFSET = 36;
+
+    private AuditRecordFormat() {
+    }
+
+    /**
+     * Appends one record at the buffer's position. {@code buffer} must be array-backed.
+     */
+    static void write(ByteBuffer buffer, CRC32C crc, long sequence, long timestamp,
+                      byte subject, byte action, byte outcome, long subjectId, long actorId) {
+        int start = buffer.position();
+        buffer.putLong(sequence)
+                .putLong(timestamp)
+                .putLong(subjectId)
+                .putLong(actorId)
+                .put(subject)
+                .put(action)
+                .put(VERSION)
+                .put(outcome);
+        crc.reset();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, CHECKSUM_OFFSET);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    /**
+     * Whether the record starting at {@code offset} matches its checksum.
+     */
+    static boolean isIntact(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return buffer.getInt(offset + CHECKSUM_OFFSET) == (int) crc.getValue();
+    }
+}
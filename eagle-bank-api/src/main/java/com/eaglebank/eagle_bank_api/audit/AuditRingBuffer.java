@@ -0,0 +1,103 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pre-allocated multi-producer, single-consumer ring of fixed-size audit records. Fields live
+ * in parallel primitive arrays, so publishing a record allocates nothing. Producers claim a
+ * sequence with a CAS, fill the slot and then mark it available by storing its sequence; the
+ * consumer only reads a slot once its mark matches, and releases slots by advancing its own
+ * sequence.
+ */
+class AuditRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLongArray available;
+    private final long[] timestamps;
+    private final long[] subjectIds;
+    private final long[] actorIds;
+    private final byte[] subjects;
+    private final byte[] actions;
+    private final byte[] outcomes;
+
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Audit buffer must hold at least two records");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.available = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            available.set(i, -1);
+        }
+        this.timestamps = new long[capacity];
+        this.subjectIds = new long[capacity];
+        this.actorIds = new long[capacity];
+        this.subjects = new byte[capacity];
+        this.actions = new byte[capacity];
+        this.outcomes = new byte[capacity];
+    }
+
+    /**
+     * Publishes a record, or returns false without waiting when every slot is taken.
+     */
+    boolean tryPublish(long timestamp, AuditSubject subject, AuditAction action, AuditOutcome outcome, long subjectId, long actorId) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= capacity) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        timestamps[index] = timestamp;
+        subjectIds[index] = subjectId;
+        actorIds[index] = actorId;
+        subjects[index] = (byte) subject.ordinal();
+        actions[index] = (byte) action.ordinal();
+        outcomes[index] = (byte) outcome.ordinal();
+        available.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published records, in sequence order, to {@code handler}, then
+     * frees their slots. Only the consumer thread may call this.
+     */
+    int drain(Handler handler, int max) {
+        long next = consumed.get();
+        int count = 0;
+        while (count < max) {
+            int index = (int) next & mask;
+            if (available.get(index) != next) {
+                break;
+            }
+            handler.onRecord(next, timestamps[index], subjects[index], actions[index], outcomes[index],
+                    subjectIds[index], actorIds[index]);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed.set(next);
+        }
+        return count;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long backlog() {
+        return claimed.get() - consumed.get();
+    }
+
+    @FunctionalInterface
+    interface Handler {
+        void onRecord(long sequence, long timestamp, byte subject, byte action, byte outcome, long subjectId, long actorId);
+    }
+}
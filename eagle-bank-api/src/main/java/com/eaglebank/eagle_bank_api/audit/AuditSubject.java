@@ -0,0 +1,10 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+/**
+ * Kind of record a mutation touched. The subject id is the user's numeric key or the account
+ * number read as a number.
+ */
+public enum AuditSubject {
+    USER,
+    ACCOUNT
+}
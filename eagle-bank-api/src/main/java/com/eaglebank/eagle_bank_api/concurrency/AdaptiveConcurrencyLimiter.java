@@ -0,0 +1,34 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Separate adaptive limits for reads and writes, so a burst of slow writes cannot starve
+ * cheap reads of permits and vice versa.
+ * <p>
+ * Exposes {@code eaglebank.concurrency.limit}, {@code eaglebank.concurrency.in_flight} and
+ * {@code eaglebank.concurrency.requests} (outcome {@code admitted} or {@code shed}), each
+ * tagged by limiter.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimiter reads;
+    private final ConcurrencyLimiter writes;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.reads = new ConcurrencyLimiter("reads", limit(properties, properties.reads()), meterRegistry);
+        this.writes = new ConcurrencyLimiter("writes", limit(properties, properties.writes()), meterRegistry);
+    }
+
+    public ConcurrencyLimiter limiterFor(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? reads : writes;
+    }
+
+    private static GradientLimit limit(ConcurrencyLimitProperties properties, ConcurrencyLimitProperties.Limits limits) {
+        return new GradientLimit(limits.initial(), limits.min(), limits.max(),
+                properties.tolerance(), properties.smoothing(), properties.baselineWindow());
+    }
+}
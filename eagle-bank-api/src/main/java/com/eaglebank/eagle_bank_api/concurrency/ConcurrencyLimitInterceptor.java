@@ -0,0 +1,69 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import com.eaglebank.eagle_bank_api.web.ErrorResponses;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Sheds requests above the adaptive limit with an immediate 503 rather than letting them
+ * queue behind a slow database. The permit is held until the handler completes; for async
+ * handlers it is released once the request leaves the servlet thread.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+    private static final byte[] BUSY_BODY = ErrorResponses.template("Service is busy, please retry later");
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final WarmUpRequests warmUpRequests;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, WarmUpRequests warmUpRequests) {
+        this.limiter = limiter;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // Warm-up latencies come from cold code and would poison the latency baseline.
+        if (request.getDispatcherType() == DispatcherType.ASYNC || warmUpRequests.isWarmUp(request)) {
+            return true;
+        }
+
+        ConcurrencyLimiter concurrencyLimiter = limiter.limiterFor(request.getMethod());
+        if (!concurrencyLimiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            ErrorResponses.write(response, HttpStatus.SERVICE_UNAVAILABLE, BUSY_BODY);
+            return false;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(concurrencyLimiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    private static void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.limiter().release(System.nanoTime() - permit.startNanos());
+        }
+    }
+
+    private record Permit(ConcurrencyLimiter limiter, long startNanos) {
+    }
+}
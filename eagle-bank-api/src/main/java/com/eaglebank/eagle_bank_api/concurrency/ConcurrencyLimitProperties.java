@@ -0,0 +1,26 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled        turns load shedding off entirely when false
+ * @param tolerance      how far latency may rise above the baseline before the limit shrinks
+ * @param smoothing      weight given to each new limit estimate, between 0 and 1
+ * @param baselineWindow number of samples the latency baseline averages over
+ * @param reads          limits for GET and HEAD requests
+ * @param writes         limits for every other method
+ */
+@ConfigurationProperties(prefix = "eaglebank.concurrency-limit")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("1.5") double tolerance,
+                                         @DefaultValue("0.2") double smoothing,
+                                         @DefaultValue("500") int baselineWindow,
+                                         @DefaultValue Limits reads,
+                                         @DefaultValue Limits writes) {
+
+    public record Limits(@DefaultValue("20") int initial,
+                         @DefaultValue("4") int min,
+                         @DefaultValue("200") int max) {
+    }
+}
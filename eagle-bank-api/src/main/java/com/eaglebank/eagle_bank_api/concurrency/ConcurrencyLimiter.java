@@ -0,0 +1,68 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-flight counter guarded by an adaptive limit. Callers that get a permit must release it
+ * with the observed latency, which is what the limit learns from.
+ */
+public final class ConcurrencyLimiter {
+
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter admitted;
+    private final Counter shed;
+
+    ConcurrencyLimiter(String name, GradientLimit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.admitted = counter(meterRegistry, name, "admitted");
+        this.shed = counter(meterRegistry, name, "shed");
+        Gauge.builder("eaglebank.concurrency.limit", limit, GradientLimit::get)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.concurrency.in_flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        limit.onSample(rttNanos, current);
+    }
+
+    int limit() {
+        return limit.get();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("eaglebank.concurrency.requests")
+                .description("Requests seen by the concurrency limiter")
+                .tag("limiter", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Gradient-style estimate of how many requests can be in flight before latency starts to
+ * climb. Each completed request compares its latency with a slow-moving baseline: while
+ * they agree the limit grows by roughly its square root, and when latency rises above
+ * {@code tolerance} times the baseline the limit shrinks by the same ratio (at most
+ * halving per sample). Samples taken while the limit is mostly unused carry no signal and
+ * are ignored. The baseline rises slowly but falls quickly, so a slow first request or a
+ * backlog that has since drained does not leave it inflated.
+ * <p>
+ * The estimate and baseline live in one immutable snapshot that each sample replaces with a
+ * compare-and-set, so releasing a permit never waits on another request's sample. A sample
+ * that loses the race is recomputed against the snapshot that won.
+ */
+final class GradientLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double BASELINE_FALL = 0.1;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double baselineWindow;
+
+    private final AtomicReference<State> state;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing, int baselineWindow) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.baselineWindow = baselineWindow;
+        this.state = new AtomicReference<>(new State(initialLimit, 0));
+    }
+
+    int get() {
+        return (int) state.get().estimatedLimit();
+    }
+
+    void onSample(long rttNanos, int inFlight) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        State current;
+        State next;
+        do {
+            current = state.get();
+            next = next(current, rttNanos, inFlight);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    private State next(State current, long rttNanos, int inFlight) {
+        double baselineRttNanos = current.baselineRttNanos();
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        } else if (rttNanos < baselineRttNanos) {
+            baselineRttNanos += (rttNanos - baselineRttNanos) * BASELINE_FALL;
+        } else {
+            baselineRttNanos += (rttNanos - baselineRttNanos) / baselineWindow;
+        }
+
+        double estimatedLimit = current.estimatedLimit();
+        if (inFlight < estimatedLimit / 2) {
+            return new State(estimatedLimit, baselineRttNanos);
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * baselineRttNanos / rttNanos));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        double next = estimatedLimit * (1 - smoothing) + target * smoothing;
+        return new State(Math.max(minLimit, Math.min(maxLimit, next)), baselineRttNanos);
+    }
+
+    private record State(double estimatedLimit, double baselineRttNanos) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.audit.AuditLog;
+import com.eaglebank.eagle_bank_api.audit.AuditProperties;
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfig {
+
+    @Bean
+    public AuditLog auditLog(AuditProperties properties, WarmUpRequests warmUpRequests, MeterRegistry meterRegistry) throws IOException {
+        return new AuditLog(properties, warmUpRequests, meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.service.BalanceReconciler;
+import com.eaglebank.eagle_bank_api.service.BalanceReconciliationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Runs the balance reconciliation every {@code interval}, first one interval after startup.
+ * The reconciler itself stays available with the schedule turned off.
+ */
+@Configuration
+@EnableConfigurationProperties(BalanceReconciliationProperties.class)
+public class BalanceReconciliationConfig {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "eaglebank.reconciliation", name = "schedule-enabled", matchIfMissing = true)
+    static class BalanceReconciliationSchedule implements SchedulingConfigurer {
+
+        private final BalanceReconciler reconciler;
+        private final BalanceReconciliationProperties properties;
+
+        BalanceReconciliationSchedule(BalanceReconciler reconciler, BalanceReconciliationProperties properties) {
+            this.reconciler = reconciler;
+            this.properties = properties;
+        }
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::reconcile, properties.interval(), properties.interval()));
+        }
+
+        private void reconcile() {
+            try {
+                reconciler.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
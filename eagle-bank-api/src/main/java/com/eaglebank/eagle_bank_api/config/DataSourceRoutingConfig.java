@@ -0,0 +1,74 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.datasource.ReadWriteRoutingDataSource;
+import com.eaglebank.eagle_bank_api.datasource.ReadYourWritesInterceptor;
+import com.eaglebank.eagle_bank_api.datasource.ReadYourWritesTracker;
+import com.eaglebank.eagle_bank_api.datasource.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces the single auto-configured pool with a primary and a replica pool when
+ * {@code eaglebank.datasource.replica.url} is set. Without it the application keeps the
+ * plain {@code spring.datasource} setup.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "eaglebank.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("eaglebank.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaProperties properties, DataSourceProperties dataSourceProperties) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.determineDriverClassName())
+                .url(properties.url())
+                .username(properties.username())
+                .password(properties.password())
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.readYourWritesWindow(), properties.maxTrackedClients());
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesInterceptor(readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesTracker, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
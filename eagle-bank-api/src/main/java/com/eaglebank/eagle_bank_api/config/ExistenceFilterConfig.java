@@ -0,0 +1,42 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.UserRepository;
+import com.eaglebank.eagle_bank_api.service.ExistenceFilter;
+import com.eaglebank.eagle_bank_api.service.ExistenceFilterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the account and user existence filters from the current tables before the web
+ * server starts taking requests. When disabled the filters are never loaded, and an unloaded
+ * filter answers "maybe" for every key, so every lookup goes to the database.
+ */
+@Configuration
+@EnableConfigurationProperties(ExistenceFilterProperties.class)
+public class ExistenceFilterConfig {
+
+    @Bean
+    public ExistenceFilter accountExistenceFilter(ExistenceFilterProperties properties,
+                                                  BankAccountRepository bankAccountRepository,
+                                                  MeterRegistry meterRegistry) {
+        ExistenceFilter filter = new ExistenceFilter("account", properties.expectedAccounts(), properties.falsePositiveRate(), meterRegistry);
+        if (properties.enabled()) {
+            filter.load(bankAccountRepository.findAllAccountNumbers());
+        }
+        return filter;
+    }
+
+    @Bean
+    public ExistenceFilter userExistenceFilter(ExistenceFilterProperties properties,
+                                               UserRepository userRepository,
+                                               MeterRegistry meterRegistry) {
+        ExistenceFilter filter = new ExistenceFilter("user", properties.expectedUsers(), properties.falsePositiveRate(), meterRegistry);
+        if (properties.enabled()) {
+            filter.load(userRepository.findAllIds());
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.export.DataExporter;
+import com.eaglebank.eagle_bank_api.export.ExportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "eaglebank.exports", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportConfig {
+
+    @Bean
+    public DataExporter dataExporter(DataSource dataSource,
+                                     PlatformTransactionManager transactionManager,
+                                     ObjectMapper objectMapper,
+                                     ExportProperties properties,
+                                     MeterRegistry meterRegistry) {
+        return new DataExporter(dataSource, transactionManager, objectMapper, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.service.HotAccountEndpoint;
+import com.eaglebank.eagle_bank_api.service.HotAccountProperties;
+import com.eaglebank.eagle_bank_api.service.StripedBalances;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Switches the configured hot accounts to striped balances at startup. Accounts that do not
+ * exist yet are skipped; {@link HotAccountEndpoint} switches them later.
+ */
+@Configuration
+@EnableConfigurationProperties(HotAccountProperties.class)
+public class HotAccountConfig {
+
+    @Bean
+    public ApplicationRunner hotAccountStriping(HotAccountProperties properties, StripedBalances stripedBalances) {
+        return args -> {
+            for (String accountNumber : properties.accountNumbers()) {
+                stripedBalances.enable(accountNumber, properties.stripes());
+            }
+        };
+    }
+
+    @Bean
+    public HotAccountEndpoint hotAccountEndpoint(StripedBalances stripedBalances, HotAccountProperties properties) {
+        return new HotAccountEndpoint(stripedBalances, properties);
+    }
+}
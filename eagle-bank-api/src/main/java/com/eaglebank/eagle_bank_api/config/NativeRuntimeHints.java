@@ -0,0 +1,39 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.outbox.OutboxEvent;
+import com.eaglebank.eagle_bank_api.subscription.BalanceUpdate;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reachability metadata the AOT engine cannot infer on its own: the generated API models are
+ * also (de)serialized by hand-built ObjectMappers outside Spring MVC, outbox events and
+ * streamed balance updates are serialized by hand, and the JCache provider and its
+ * configuration files are only named in properties.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String MODEL_PACKAGE = "com.example.project.model";
+    private static final String JCACHE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        for (BeanDefinition model : scanner.findCandidateComponents(MODEL_PACKAGE)) {
+            bindingHints.registerReflectionHints(hints.reflection(), ClassUtils.resolveClassName(model.getBeanClassName(), classLoader));
+        }
+
+        bindingHints.registerReflectionHints(hints.reflection(), OutboxEvent.class, BalanceUpdate.class);
+        hints.reflection().registerType(TypeReference.of(JCACHE_PROVIDER), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("application.conf");
+        hints.resources().registerPattern("reference.conf");
+    }
+}
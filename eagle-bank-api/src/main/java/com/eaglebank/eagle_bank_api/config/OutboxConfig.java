@@ -0,0 +1,48 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.outbox.FileOutboxSink;
+import com.eaglebank.eagle_bank_api.outbox.InMemoryOutboxSink;
+import com.eaglebank.eagle_bank_api.outbox.OutboxProperties;
+import com.eaglebank.eagle_bank_api.outbox.OutboxRelay;
+import com.eaglebank.eagle_bank_api.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+/**
+ * Relays outbox events to the configured sink. Defining an {@link OutboxSink} bean replaces
+ * the built-in file and in-memory sinks.
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.sink()) {
+            case FILE -> new FileOutboxSink(properties.file(), objectMapper);
+            case MEMORY -> new InMemoryOutboxSink();
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "eaglebank.outbox", name = "relay-enabled", matchIfMissing = true)
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   OutboxSink outboxSink,
+                                   OutboxProperties properties,
+                                   MeterRegistry meterRegistry) {
+        return new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), outboxSink, properties,
+                meterRegistry, Clock.systemUTC());
+    }
+}
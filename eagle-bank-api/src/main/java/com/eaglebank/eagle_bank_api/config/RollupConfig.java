@@ -0,0 +1,24 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.service.RollupBackfill;
+import com.eaglebank.eagle_bank_api.service.RollupProperties;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Optionally rebuilds the daily rollups from the transaction history at startup, for a
+ * database that has transactions from before rollups were kept.
+ */
+@Configuration
+@EnableConfigurationProperties(RollupProperties.class)
+public class RollupConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "eaglebank.rollups", name = "backfill-on-startup", havingValue = "true")
+    public ApplicationRunner rollupBackfillRunner(RollupBackfill backfill) {
+        return args -> backfill.backfill();
+    }
+}
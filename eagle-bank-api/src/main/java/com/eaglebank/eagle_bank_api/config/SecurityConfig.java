@@ -0,0 +1,73 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.security.AccountOwnershipRegistry;
+import com.eaglebank.eagle_bank_api.security.BearerTokenAuthenticationFilter;
+import com.eaglebank.eagle_bank_api.security.JwtVerifier;
+import com.eaglebank.eagle_bank_api.security.OwnershipInterceptor;
+import com.eaglebank.eagle_bank_api.security.SecurityProperties;
+import com.eaglebank.eagle_bank_api.security.VerifiedTokenCache;
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(prefix = "eaglebank.security", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SecurityProperties.class)
+public class SecurityConfig {
+
+    public static final int AUTHENTICATION_FILTER_ORDER = 0;
+
+    @Bean
+    public JwtVerifier jwtVerifier(SecurityProperties properties) throws IOException, GeneralSecurityException {
+        return new JwtVerifier(loadVerificationKey(properties), Clock.systemUTC(), properties.clockSkew());
+    }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache(SecurityProperties properties) {
+        return new VerifiedTokenCache(properties.tokenCacheSize(), Clock.systemUTC());
+    }
+
+    @Bean
+    public FilterRegistrationBean<BearerTokenAuthenticationFilter> bearerTokenAuthenticationFilter(JwtVerifier jwtVerifier,
+                                                                                                  VerifiedTokenCache verifiedTokenCache,
+                                                                                                  WarmUpRequests warmUpRequests) {
+        FilterRegistrationBean<BearerTokenAuthenticationFilter> registration = new FilterRegistrationBean<>(
+                new BearerTokenAuthenticationFilter(jwtVerifier, verifiedTokenCache, Clock.systemUTC(), warmUpRequests));
+        registration.setOrder(AUTHENTICATION_FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    public OwnershipInterceptor ownershipInterceptor(AccountOwnershipRegistry accountOwnershipRegistry) {
+        return new OwnershipInterceptor(accountOwnershipRegistry);
+    }
+
+    private PublicKey loadVerificationKey(SecurityProperties properties) throws IOException, GeneralSecurityException {
+        if (properties.keystore() == null || properties.keyAlias() == null) {
+            throw new IllegalStateException("eaglebank.security.keystore and eaglebank.security.key-alias are required when security is enabled");
+        }
+
+        KeyStore keyStore = KeyStore.getInstance(properties.keystoreType());
+        char[] password = properties.keystorePassword() == null ? null : properties.keystorePassword().toCharArray();
+        try (InputStream in = properties.keystore().getInputStream()) {
+            keyStore.load(in, password);
+        }
+
+        Certificate certificate = keyStore.getCertificate(properties.keyAlias());
+        if (certificate == null) {
+            throw new IllegalStateException("No certificate found in keystore for alias " + properties.keyAlias());
+        }
+        return certificate.getPublicKey();
+    }
+}
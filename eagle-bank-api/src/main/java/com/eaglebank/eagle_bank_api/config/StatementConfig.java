@@ -0,0 +1,53 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.service.StatementJob;
+import com.eaglebank.eagle_bank_api.service.StatementProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Generates the previous month's statements on the {@code schedule} cron, in UTC. A run that
+ * left failed partitions behind is finished by the next run for the same month, or by calling
+ * {@link StatementJob#run} again. The job itself stays available with the schedule turned off.
+ */
+@Configuration
+@EnableConfigurationProperties(StatementProperties.class)
+public class StatementConfig {
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(prefix = "eaglebank.statements", name = "schedule-enabled", matchIfMissing = true)
+    static class StatementSchedule implements SchedulingConfigurer {
+
+        private final StatementJob job;
+        private final StatementProperties properties;
+
+        StatementSchedule(StatementJob job, StatementProperties properties) {
+            this.job = job;
+            this.properties = properties;
+        }
+
+        @Override
+        public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.addCronTask(new CronTask(this::runPreviousMonth,
+                    new CronTrigger(properties.schedule(), ZoneOffset.UTC)));
+        }
+
+        private void runPreviousMonth() {
+            try {
+                job.run(YearMonth.now(ZoneOffset.UTC).minusMonths(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.subscription.AccountEventHub;
+import com.eaglebank.eagle_bank_api.subscription.SubscriptionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SubscriptionProperties.class)
+public class SubscriptionConfig {
+
+    @Bean
+    public AccountEventHub accountEventHub(SubscriptionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        return new AccountEventHub(properties, objectMapper, meterRegistry);
+    }
+}
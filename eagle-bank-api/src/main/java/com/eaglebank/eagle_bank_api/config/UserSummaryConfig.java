@@ -0,0 +1,36 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.service.UserSummaryProperties;
+import com.eaglebank.eagle_bank_api.service.UserSummaryReconciler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Runs the user summary reconciliation every {@code reconcile-interval}, first one interval
+ * after startup.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(UserSummaryProperties.class)
+@ConditionalOnProperty(prefix = "eaglebank.user-summary", name = "reconcile-enabled", matchIfMissing = true)
+public class UserSummaryConfig implements SchedulingConfigurer {
+
+    private final UserSummaryReconciler reconciler;
+    private final UserSummaryProperties properties;
+
+    public UserSummaryConfig(UserSummaryReconciler reconciler, UserSummaryProperties properties) {
+        this.reconciler = reconciler;
+        this.properties = properties;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(reconciler::reconcile,
+                properties.reconcileInterval(), properties.reconcileInterval()));
+    }
+}
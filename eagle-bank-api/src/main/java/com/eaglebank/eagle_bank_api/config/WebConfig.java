@@ -0,0 +1,73 @@
+package com.eaglebank.eagle_bank_api.config;
+
+import com.eaglebank.eagle_bank_api.concurrency.AdaptiveConcurrencyLimiter;
+import com.eaglebank.eagle_bank_api.concurrency.ConcurrencyLimitInterceptor;
+import com.eaglebank.eagle_bank_api.concurrency.ConcurrencyLimitProperties;
+import com.eaglebank.eagle_bank_api.datasource.ReadYourWritesInterceptor;
+import com.eaglebank.eagle_bank_api.ratelimit.RateLimitInterceptor;
+import com.eaglebank.eagle_bank_api.ratelimit.RateLimitProperties;
+import com.eaglebank.eagle_bank_api.ratelimit.RateLimiter;
+import com.eaglebank.eagle_bank_api.security.OwnershipInterceptor;
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import com.eaglebank.eagle_bank_api.web.ConditionalGetInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class})
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final ObjectProvider<OwnershipInterceptor> ownershipInterceptor;
+    private final RateLimitProperties rateLimitProperties;
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+    private final WarmUpRequests warmUpRequests;
+
+    public WebConfig(ConditionalGetInterceptor conditionalGetInterceptor,
+                     ObjectProvider<OwnershipInterceptor> ownershipInterceptor,
+                     RateLimitProperties rateLimitProperties,
+                     RateLimiter rateLimiter,
+                     ConcurrencyLimitProperties concurrencyLimitProperties,
+                     AdaptiveConcurrencyLimiter concurrencyLimiter,
+                     ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor,
+                     WarmUpRequests warmUpRequests) {
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+        this.ownershipInterceptor = ownershipInterceptor;
+        this.rateLimitProperties = rateLimitProperties;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimitProperties = concurrencyLimitProperties;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.readYourWritesInterceptor = readYourWritesInterceptor;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitProperties.enabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(rateLimiter, warmUpRequests))
+                    .addPathPatterns("/api/v1/**", "/v1/**");
+        }
+
+        if (concurrencyLimitProperties.enabled()) {
+            // An export runs for minutes by design; its latency says nothing about the database.
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimiter, warmUpRequests))
+                    .addPathPatterns("/api/v1/**", "/v1/**")
+                    .excludePathPatterns("/api/v1/exports/**");
+        }
+
+        ownershipInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/v1/accounts/**", "/v1/users/**"));
+
+        readYourWritesInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/v1/**", "/v1/**"));
+
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/api/v1/accounts/*", "/v1/users/*");
+    }
+}
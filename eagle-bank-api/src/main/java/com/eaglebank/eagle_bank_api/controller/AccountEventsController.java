@@ -0,0 +1,35 @@
+package com.eaglebank.eagle_bank_api.controller;
+
+import com.eaglebank.eagle_bank_api.service.AccountSubscriptionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Server-Sent Events stream of balance and transaction updates. Not part of the OpenAPI
+ * contract, since the generated interface cannot return a stream.
+ */
+@RestController
+@RequestMapping("/api")
+public class AccountEventsController {
+
+    private final AccountSubscriptionService accountSubscriptionService;
+
+    public AccountEventsController(AccountSubscriptionService accountSubscriptionService) {
+        this.accountSubscriptionService = accountSubscriptionService;
+    }
+
+    @GetMapping("/v1/accounts/events")
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam(name = "accountNumber", required = false) List<String> accountNumbers) {
+        return accountSubscriptionService.subscribe(accountNumbers)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build());
+    }
+}
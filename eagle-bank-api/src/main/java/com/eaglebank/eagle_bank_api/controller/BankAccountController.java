@@ -1,24 +1,45 @@
 package com.eaglebank.eagle_bank_api.controller;
 
 import com.eaglebank.eagle_bank_api.service.BankAccountService;
+import com.eaglebank.eagle_bank_api.service.TransactionService;
+import com.eaglebank.eagle_bank_api.web.EntityTags;
 import com.example.project.api.V1Api;
 import com.example.project.model.BankAccountResponse;
+import com.example.project.model.BatchFetchAccountsRequest;
+import com.example.project.model.BatchFetchAccountsResponse;
 import com.example.project.model.CreateBankAccountRequest;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import com.example.project.model.DailyRollupsResponse;
+import com.example.project.model.ListTransactionsResponse;
+import com.example.project.model.TransactionResponse;
+import com.example.project.model.TransferResponse;
 import com.example.project.model.UpdateBankAccountRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
+/**
+ * Accounts and the transactions on them. Every operation of {@link V1Api} is mapped under
+ * {@code /api} by this one controller, so a second implementation of the interface with the
+ * same prefix would map each route twice.
+ */
 @RestController
 @RequestMapping("/api")
 public class BankAccountController implements V1Api {
 
     private final BankAccountService bankAccountService;
+    private final TransactionService transactionService;
 
-    public BankAccountController(BankAccountService bankAccountService) {
+    public BankAccountController(BankAccountService bankAccountService, TransactionService transactionService) {
         this.bankAccountService = bankAccountService;
+        this.transactionService = transactionService;
     }
 
     @PostMapping("/v1/accounts")
@@ -27,11 +48,17 @@ public class BankAccountController implements V1Api {
         return ResponseEntity.status(HttpStatus.CREATED).body(bankAccountService.createBankAccount(body));
     }
 
+    @PostMapping("/v1/accounts/batch-fetch")
+    @Override
+    public ResponseEntity<BatchFetchAccountsResponse> _batchFetchAccounts(@Valid @RequestBody BatchFetchAccountsRequest body) {
+        return ResponseEntity.ok(bankAccountService.fetchByAccountNumbers(body.getAccountNumbers()));
+    }
+
     @GetMapping("/v1/accounts/{accountNumber}")
     @Override
     public ResponseEntity<BankAccountResponse> _fetchAccountByAccountNumber(@PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber) {
         BankAccountResponse response = bankAccountService.fetchByAccountNumber(accountNumber);
-        return ResponseEntity.ok(response);
+        return EntityTags.conditionalOk(response.getUpdatedTimestamp()).body(response);
     }
 
     @DeleteMapping("/v1/accounts/{accountNumber}")
@@ -49,4 +76,38 @@ public class BankAccountController implements V1Api {
         return ResponseEntity.ok(updatedResponse);
     }
 
+    @PostMapping("/v1/accounts/{accountNumber}/transactions")
+    @Override
+    public ResponseEntity<TransactionResponse> _createTransaction(@PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber,
+                                                                  @Valid @RequestBody CreateTransactionRequest body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.createTransaction(accountNumber, body));
+    }
+
+    @PostMapping("/v1/accounts/{accountNumber}/transfers")
+    @Override
+    public ResponseEntity<TransferResponse> _createTransfer(@PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber,
+                                                            @Valid @RequestBody CreateTransferRequest body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(transactionService.createTransfer(accountNumber, body));
+    }
+
+    @GetMapping("/v1/accounts/{accountNumber}/transactions")
+    @Override
+    public ResponseEntity<ListTransactionsResponse> _listAccountTransaction(@PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber) {
+        return ResponseEntity.ok(transactionService.listTransactions(accountNumber));
+    }
+
+    @GetMapping("/v1/accounts/{accountNumber}/rollups")
+    @Override
+    public ResponseEntity<DailyRollupsResponse> _listDailyRollups(@PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber,
+                                                                  @NotNull @Valid @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                  @NotNull @Valid @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(transactionService.listDailyRollups(accountNumber, from, to));
+    }
+
+    @GetMapping("/v1/accounts/{accountNumber}/transactions/{transactionId}")
+    @Override
+    public ResponseEntity<TransactionResponse> _fetchAccountTransactionByID(@PathVariable @Pattern(regexp = "^01\\d{6}$") String accountNumber,
+                                                                            @PathVariable @Pattern(regexp = "^tan-[A-Za-z0-9]+$") String transactionId) {
+        return ResponseEntity.ok(transactionService.fetchTransaction(accountNumber, transactionId));
+    }
 }
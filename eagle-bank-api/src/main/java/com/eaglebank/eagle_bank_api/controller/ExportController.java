@@ -0,0 +1,110 @@
+package com.eaglebank.eagle_bank_api.controller;
+
+import com.eaglebank.eagle_bank_api.export.DataExporter;
+import com.eaglebank.eagle_bank_api.export.ExportFormat;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.eaglebank.eagle_bank_api.web.ErrorResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk exports for finance. Not part of the OpenAPI contract, since the generated interface
+ * cannot return a stream. The body is written on the request thread, so a long export is
+ * not cut off by the async request timeout; a failure mid-stream leaves a truncated body,
+ * and the client resumes with {@code after}.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(prefix = "eaglebank.exports", name = "enabled", havingValue = "true")
+public class ExportController {
+
+    private static final byte[] FORBIDDEN_BODY = ErrorResponses.template("The user is not allowed to export data");
+    private static final byte[] BUSY_BODY = ErrorResponses.template("Too many exports are running, please retry later");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final DataExporter dataExporter;
+
+    public ExportController(DataExporter dataExporter) {
+        this.dataExporter = dataExporter;
+    }
+
+    @GetMapping("/v1/exports/accounts")
+    public void exportAccounts(@RequestParam(defaultValue = "csv") String format,
+                               @RequestParam(required = false) String after,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        if (isForbidden(request, response)) {
+            return;
+        }
+        boolean started = dataExporter.exportAccounts(format, after, exportFormat -> open(request, response, "accounts", exportFormat));
+        if (!started) {
+            busy(response);
+        }
+    }
+
+    @GetMapping("/v1/exports/transactions")
+    public void exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                   @RequestParam(required = false) String after,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        if (isForbidden(request, response)) {
+            return;
+        }
+        boolean started = dataExporter.exportTransactions(format, after, exportFormat -> open(request, response, "transactions", exportFormat));
+        if (!started) {
+            busy(response);
+        }
+    }
+
+    private boolean isForbidden(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) request.getAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE);
+        if (dataExporter.isAllowed(principal)) {
+            return false;
+        }
+        ErrorResponses.write(response, HttpStatus.FORBIDDEN, FORBIDDEN_BODY);
+        return true;
+    }
+
+    private static void busy(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+        ErrorResponses.write(response, HttpStatus.SERVICE_UNAVAILABLE, BUSY_BODY);
+    }
+
+    private static OutputStream open(HttpServletRequest request, HttpServletResponse response, String name,
+                                     ExportFormat format) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(format.contentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.extension() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE);
+        }
+        return response.getOutputStream();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
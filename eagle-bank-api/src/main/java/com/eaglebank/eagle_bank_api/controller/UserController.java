@@ -1,10 +1,12 @@
 package com.eaglebank.eagle_bank_api.controller;
 
 import com.eaglebank.eagle_bank_api.service.UserService;
+import com.eaglebank.eagle_bank_api.web.EntityTags;
 import com.example.project.api.V1Api;
 import com.example.project.model.CreateUserRequest;
 import com.example.project.model.UpdateUserRequest;
 import com.example.project.model.UserResponse;
+import com.example.project.model.UserSummaryResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.http.HttpStatus;
@@ -29,7 +31,8 @@ public class UserController implements V1Api {
     @GetMapping("/v1/users/{userId}")
     @Override
     public ResponseEntity<UserResponse> _fetchUserByID(@PathVariable @Pattern(regexp = "^usr-[A-Za-z0-9]+$") String userId) {
-        return ResponseEntity.ok(userService.fetchUserById(userId));
+        UserResponse response = userService.fetchUserById(userId);
+        return EntityTags.conditionalOk(response.getUpdatedTimestamp()).body(response);
     }
 
     @DeleteMapping("/v1/users/{userId}")
@@ -39,6 +42,12 @@ public class UserController implements V1Api {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/v1/users/{userId}/summary")
+    @Override
+    public ResponseEntity<UserSummaryResponse> _fetchUserSummary(@PathVariable @Pattern(regexp = "^usr-[A-Za-z0-9]+$") String userId) {
+        return ResponseEntity.ok(userService.fetchUserSummary(userId));
+    }
+
     @PatchMapping("/v1/users/{userId}")
     @Override
     public ResponseEntity<UserResponse> _updateUserByID(@PathVariable @Pattern(regexp = "^usr-[A-Za-z0-9]+$") String userId,
@@ -0,0 +1,54 @@
+package com.eaglebank.eagle_bank_api.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. Must sit
+ * behind a {@code LazyConnectionDataSourceProxy} so the connection is fetched after the
+ * transaction's read-only flag is known.
+ * <p>
+ * Exposes {@code eaglebank.datasource.connections} tagged by route.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      DataSource replica,
+                                      ReadYourWritesTracker readYourWritesTracker,
+                                      MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.primaryConnections = counter(meterRegistry, Route.PRIMARY);
+        this.replicaConnections = counter(meterRegistry, Route.REPLICA);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWritesTracker.readsFromReplica()) {
+            replicaConnections.increment();
+            return Route.REPLICA;
+        }
+        primaryConnections.increment();
+        return Route.PRIMARY;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Route route) {
+        return Counter.builder("eaglebank.datasource.connections")
+                .description("Connections handed out by the read/write router")
+                .tag("route", route.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.eaglebank.eagle_bank_api.datasource;
+
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records the caller of every successful mutation with the {@link ReadYourWritesTracker}.
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReadYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (isMutation(request.getMethod()) && ex == null && response.getStatus() < 400) {
+            readYourWritesTracker.recordWrite(AuthenticatedPrincipal.clientKey(request));
+        }
+    }
+
+    private static boolean isMutation(String method) {
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+}
@@ -0,0 +1,43 @@
+package com.eaglebank.eagle_bank_api.datasource;
+
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which callers changed something recently. Their reads go to the primary until
+ * the window has passed, so a replica that is still catching up cannot hide their own write.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumClients)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public void recordWrite(String client) {
+        recentWriters.put(client, Boolean.TRUE);
+    }
+
+    public boolean mustReadFromPrimary() {
+        return AuthenticatedPrincipal.currentClientKey()
+                .map(client -> recentWriters.getIfPresent(client) != null)
+                .orElse(false);
+    }
+
+    /**
+     * Whether the current transaction reads from the replica: it is read-only and its caller
+     * has not written recently.
+     */
+    public boolean readsFromReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !mustReadFromPrimary();
+    }
+}
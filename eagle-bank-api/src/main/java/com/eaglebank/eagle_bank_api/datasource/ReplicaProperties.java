@@ -0,0 +1,24 @@
+package com.eaglebank.eagle_bank_api.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Pool settings for the replica go under {@code eaglebank.datasource.replica.hikari}.
+ *
+ * @param url                  JDBC url of the read replica
+ * @param username             replica user
+ * @param password             replica password
+ * @param readYourWritesWindow how long after a mutation the caller's reads stay on the primary;
+ *                             should cover the replica's worst expected lag
+ * @param maxTrackedClients    upper bound on recent writers remembered
+ */
+@ConfigurationProperties(prefix = "eaglebank.datasource.replica")
+public record ReplicaProperties(String url,
+                                String username,
+                                String password,
+                                @DefaultValue("5s") Duration readYourWritesWindow,
+                                @DefaultValue("100000") long maxTrackedClients) {
+}
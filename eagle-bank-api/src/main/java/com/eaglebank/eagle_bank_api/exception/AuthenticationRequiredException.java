@@ -0,0 +1,8 @@
+package com.eaglebank.eagle_bank_api.exception;
+
+public class AuthenticationRequiredException extends DomainException {
+
+    public AuthenticationRequiredException(String message) {
+        super(message, null);
+    }
+}
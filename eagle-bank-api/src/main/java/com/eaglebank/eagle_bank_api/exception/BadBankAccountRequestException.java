@@ -1,8 +1,8 @@
 package com.eaglebank.eagle_bank_api.exception;
 
-public class BadBankAccountRequestException extends RuntimeException {
+public class BadBankAccountRequestException extends DomainException {
 
     public BadBankAccountRequestException(String message) {
-        super(message);
+        super(message, null);
     }
 }
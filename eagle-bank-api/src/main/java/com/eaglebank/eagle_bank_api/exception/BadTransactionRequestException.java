@@ -0,0 +1,8 @@
+package com.eaglebank.eagle_bank_api.exception;
+
+public class BadTransactionRequestException extends DomainException {
+
+    public BadTransactionRequestException(String message) {
+        super(message, null);
+    }
+}
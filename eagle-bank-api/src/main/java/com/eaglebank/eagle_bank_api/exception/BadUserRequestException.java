@@ -1,8 +1,8 @@
 package com.eaglebank.eagle_bank_api.exception;
 
-public class BadUserRequestException extends RuntimeException {
+public class BadUserRequestException extends DomainException {
 
     public BadUserRequestException(String message) {
-        super(message);
+        super(message, null);
     }
 }
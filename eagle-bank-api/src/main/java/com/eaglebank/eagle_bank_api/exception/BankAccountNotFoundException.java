@@ -1,11 +1,12 @@
 package com.eaglebank.eagle_bank_api.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.server.ResponseStatusException;
-
-public class BankAccountNotFoundException extends ResponseStatusException {
+public class BankAccountNotFoundException extends DomainException {
 
     public BankAccountNotFoundException(String message) {
-        super(HttpStatus.NOT_FOUND, message);
+        super(message, null);
+    }
+
+    public BankAccountNotFoundException(String reason, Object subject) {
+        super(reason, subject);
     }
 }
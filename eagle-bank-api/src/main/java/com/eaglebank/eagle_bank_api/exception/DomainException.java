@@ -0,0 +1,22 @@
+package com.eaglebank.eagle_bank_api.exception;
+
+/**
+ * Base for the service-layer exceptions. They describe expected outcomes rather than bugs,
+ * so no stack trace is captured, and the message is only assembled when someone reads it.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final String reason;
+    private final Object subject;
+
+    protected DomainException(String reason, Object subject) {
+        super(null, null, false, false);
+        this.reason = reason;
+        this.subject = subject;
+    }
+
+    @Override
+    public String getMessage() {
+        return subject == null ? reason : reason + subject;
+    }
+}
@@ -0,0 +1,8 @@
+package com.eaglebank.eagle_bank_api.exception;
+
+public class InsufficientFundsException extends DomainException {
+
+    public InsufficientFundsException(String reason, Object subject) {
+        super(reason, subject);
+    }
+}
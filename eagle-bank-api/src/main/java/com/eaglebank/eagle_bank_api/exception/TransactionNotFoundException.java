@@ -0,0 +1,8 @@
+package com.eaglebank.eagle_bank_api.exception;
+
+public class TransactionNotFoundException extends DomainException {
+
+    public TransactionNotFoundException(String reason, Object subject) {
+        super(reason, subject);
+    }
+}
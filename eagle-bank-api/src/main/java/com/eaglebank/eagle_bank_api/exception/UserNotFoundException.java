@@ -1,11 +1,12 @@
 package com.eaglebank.eagle_bank_api.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.server.ResponseStatusException;
-
-public class UserNotFoundException extends ResponseStatusException {
+public class UserNotFoundException extends DomainException {
 
     public UserNotFoundException(String message) {
-        super(HttpStatus.NOT_FOUND, message);
+        super(message, null);
+    }
+
+    public UserNotFoundException(String reason, Object subject) {
+        super(reason, subject);
     }
 }
@@ -0,0 +1,29 @@
+package com.eaglebank.eagle_bank_api.export;
+
+/**
+ * Quotes text for the CSV files the application writes: exports, statements and job reports.
+ * Values containing a comma, quote or line break are quoted, with inner quotes doubled.
+ * Values a spreadsheet would evaluate as a formula, those starting with {@code =}, {@code +},
+ * {@code -}, {@code @}, a tab or a carriage return, are prefixed with {@code '} so a
+ * user-supplied reference or name opens as text. Numbers the application formats itself are
+ * written as they are and never pass through here.
+ */
+public final class CsvFields {
+
+    private CsvFields() {
+    }
+
+    public static String escape(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,170 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import com.eaglebank.eagle_bank_api.exception.BadBankAccountRequestException;
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.TransactionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Streams full exports of accounts and transactions. Rows come off a forward-only JDBC cursor
+ * with {@code fetch-size} rows per round trip and are encoded as they arrive, so memory stays
+ * flat however many rows there are. Each export runs in a read-only transaction, which goes to
+ * the replica pool when one is configured.
+ * <p>
+ * Exports are ordered by their public key and can be resumed after a broken download by
+ * passing the last key received as {@code after}.
+ * <p>
+ * Exposes {@code eaglebank.exports.rows} and {@code eaglebank.exports.duration} tagged by
+ * dataset, whose ratio is the export throughput in rows per second, and
+ * {@code eaglebank.exports.rejected}.
+ */
+public class DataExporter {
+
+    static final String ACCOUNTS_SQL = "select a.account_number, a.sort_code, a.name, a.account_type, "
+            + "round(a.balance * 100) + coalesce(s.amount_minor, 0), a.currency, "
+            + "case when a.user_id is null then null else concat('usr-', a.user_id) end, "
+            + "a.created_timestamp, a.updated_timestamp "
+            + "from bank_account_entity a "
+            + "left join (select account_id, sum(amount_minor) as amount_minor from balance_stripe group by account_id) s "
+            + "on s.account_id = a.id "
+            + "where a.account_number > ? order by a.account_number";
+    static final String TRANSACTIONS_SQL = "select concat('tan-', t.id), a.account_number, t.type, round(t.amount * 100), "
+            + "t.currency, t.reference, case when t.user_id is null then null else concat('usr-', t.user_id) end, "
+            + "t.created_timestamp "
+            + "from account_transaction t join bank_account_entity a on a.id = t.account_id "
+            + "where t.id > ? order by t.id";
+
+    private static final List<ExportColumn> ACCOUNT_COLUMNS = List.of(
+            ExportColumn.text("accountNumber"),
+            ExportColumn.enumeration("sortCode", BankAccountResponse.SortCodeEnum.class),
+            ExportColumn.text("name"),
+            ExportColumn.enumeration("accountType", BankAccountResponse.AccountTypeEnum.class),
+            ExportColumn.amount("balance"),
+            ExportColumn.enumeration("currency", BankAccountResponse.CurrencyEnum.class),
+            ExportColumn.text("userId"),
+            ExportColumn.timestamp("createdTimestamp"),
+            ExportColumn.timestamp("updatedTimestamp"));
+    private static final List<ExportColumn> TRANSACTION_COLUMNS = List.of(
+            ExportColumn.text("id"),
+            ExportColumn.text("accountNumber"),
+            ExportColumn.enumeration("type", TransactionResponse.TypeEnum.class),
+            ExportColumn.amount("amount"),
+            ExportColumn.enumeration("currency", TransactionResponse.CurrencyEnum.class),
+            ExportColumn.text("reference"),
+            ExportColumn.text("userId"),
+            ExportColumn.timestamp("createdTimestamp"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final ExportProperties properties;
+    private final Semaphore running;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public DataExporter(DataSource dataSource,
+                        PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        ExportProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.running = new Semaphore(properties.maxConcurrent());
+        this.meterRegistry = meterRegistry;
+        this.rejected = meterRegistry.counter("eaglebank.exports.rejected");
+    }
+
+    /**
+     * Opens the response once the export has its slot, so a rejected export has written nothing.
+     */
+    @FunctionalInterface
+    public interface Output {
+        OutputStream open(ExportFormat format) throws IOException;
+    }
+
+    /**
+     * Whether the caller may export. Without a principal, because authentication is disabled,
+     * only when {@code allow-without-authentication} says so.
+     */
+    public boolean isAllowed(AuthenticatedPrincipal principal) {
+        if (principal == null) {
+            return properties.allowWithoutAuthentication();
+        }
+        return properties.allowedUsers().contains(principal.userId());
+    }
+
+    /**
+     * Streams accounts with an account number above {@code after}. Returns false, having
+     * written nothing, when {@code max-concurrent} exports are already running.
+     */
+    public boolean exportAccounts(String format, String after, Output output) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format)
+                .orElseThrow(() -> new BadBankAccountRequestException("Validation failed: format must be csv or ndjson"));
+        if (after != null && !after.matches("^01\\d{6}$")) {
+            throw new BadBankAccountRequestException("Validation failed: after must be an account number");
+        }
+        return export("accounts", ACCOUNTS_SQL, ACCOUNT_COLUMNS, after == null ? "" : after, exportFormat, output);
+    }
+
+    /**
+     * Streams transactions with an id above {@code after}, in posting order. Returns false,
+     * having written nothing, when {@code max-concurrent} exports are already running.
+     */
+    public boolean exportTransactions(String format, String after, Output output) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format)
+                .orElseThrow(() -> new BadTransactionRequestException("Validation failed: format must be csv or ndjson"));
+        if (after != null && !after.matches("^tan-\\d{1,18}$")) {
+            throw new BadTransactionRequestException("Validation failed: after must be a transaction id");
+        }
+        return export("transactions", TRANSACTIONS_SQL, TRANSACTION_COLUMNS,
+                after == null ? 0L : Long.parseLong(after.substring(4)), exportFormat, output);
+    }
+
+    private boolean export(String dataset, String sql, List<ExportColumn> columns, Object after,
+                           ExportFormat format, Output output) throws IOException {
+        if (!running.tryAcquire()) {
+            rejected.increment();
+            return false;
+        }
+        Counter rows = meterRegistry.counter("eaglebank.exports.rows", "dataset", dataset);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (OutputStream out = output.open(format)) {
+            ExportEncoder encoder = ExportEncoder.create(format, columns, out, objectMapper);
+            encoder.begin();
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(sql, rs -> {
+                try {
+                    encoder.row(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows.increment();
+            }, after));
+            encoder.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            sample.stop(meterRegistry.timer("eaglebank.exports.duration", "dataset", dataset));
+            running.release();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * One output column, read straight from the cursor's current row by position.
+ *
+ * @param name   header in CSV, field name in NDJSON
+ * @param kind   how the value is read and written
+ * @param labels stored enum names to their API values, for enum columns
+ */
+record ExportColumn(String name, Kind kind, Map<String, String> labels) {
+
+    enum Kind {
+        TEXT,
+        /** A {@code long} of pennies, written as a decimal amount. */
+        MINOR_AMOUNT,
+        TIMESTAMP
+    }
+
+    static ExportColumn text(String name) {
+        return new ExportColumn(name, Kind.TEXT, Map.of());
+    }
+
+    static ExportColumn amount(String name) {
+        return new ExportColumn(name, Kind.MINOR_AMOUNT, Map.of());
+    }
+
+    static ExportColumn timestamp(String name) {
+        return new ExportColumn(name, Kind.TIMESTAMP, Map.of());
+    }
+
+    /**
+     * A column stored as the enum's name, written as its API value; the generated enums
+     * return that value from {@code toString}.
+     */
+    static <E extends Enum<E>> ExportColumn enumeration(String name, Class<E> type) {
+        return new ExportColumn(name, Kind.TEXT, Arrays.stream(type.getEnumConstants())
+                .collect(Collectors.toUnmodifiableMap(Enum::name, Object::toString)));
+    }
+
+    String text(ResultSet rs, int index) throws SQLException {
+        String value = rs.getString(index);
+        return value == null ? null : labels.getOrDefault(value, value);
+    }
+
+    BigDecimal amount(ResultSet rs, int index) throws SQLException {
+        long minor = rs.getLong(index);
+        return rs.wasNull() ? null : BigDecimal.valueOf(minor, 2);
+    }
+
+    String timestamp(ResultSet rs, int index) throws SQLException {
+        OffsetDateTime value = rs.getObject(index, OffsetDateTime.class);
+        return value == null ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value.withOffsetSameInstant(ZoneOffset.UTC));
+    }
+}
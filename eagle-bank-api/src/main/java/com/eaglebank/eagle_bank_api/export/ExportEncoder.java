@@ -0,0 +1,153 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Encodes the cursor's current row straight to the output. Nothing is kept between rows, so
+ * memory does not depend on the size of the export.
+ */
+abstract class ExportEncoder {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    final List<ExportColumn> columns;
+
+    ExportEncoder(List<ExportColumn> columns) {
+        this.columns = columns;
+    }
+
+    static ExportEncoder create(ExportFormat format, List<ExportColumn> columns, OutputStream out,
+                                ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(columns, new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE));
+            case NDJSON -> new Ndjson(columns, objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null));
+        };
+    }
+
+    abstract void begin() throws IOException;
+
+    abstract void row(ResultSet rs) throws SQLException, IOException;
+
+    /**
+     * Flushes what is buffered; the output itself is left open.
+     */
+    abstract void finish() throws IOException;
+
+    private static final class Csv extends ExportEncoder {
+
+        private final Writer out;
+
+        Csv(List<ExportColumn> columns, Writer out) {
+            super(columns);
+            this.out = out;
+        }
+
+        @Override
+        void begin() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(columns.get(i).name());
+            }
+            out.write('\n');
+        }
+
+        @Override
+        void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                ExportColumn column = columns.get(i);
+                switch (column.kind()) {
+                    case TEXT -> writeField(column.text(rs, i + 1));
+                    case MINOR_AMOUNT -> {
+                        BigDecimal amount = column.amount(rs, i + 1);
+                        if (amount != null) {
+                            out.write(amount.toPlainString());
+                        }
+                    }
+                    case TIMESTAMP -> writeField(column.timestamp(rs, i + 1));
+                }
+            }
+            out.write('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value != null) {
+                out.write(CsvFields.escape(value));
+            }
+        }
+    }
+
+    private static final class Ndjson extends ExportEncoder {
+
+        private final JsonGenerator out;
+
+        Ndjson(List<ExportColumn> columns, JsonGenerator out) {
+            super(columns);
+            this.out = out;
+        }
+
+        @Override
+        void begin() {
+        }
+
+        @Override
+        void row(ResultSet rs) throws SQLException, IOException {
+            out.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                ExportColumn column = columns.get(i);
+                out.writeFieldName(column.name());
+                switch (column.kind()) {
+                    case TEXT -> writeString(column.text(rs, i + 1));
+                    case MINOR_AMOUNT -> {
+                        BigDecimal amount = column.amount(rs, i + 1);
+                        if (amount == null) {
+                            out.writeNull();
+                        } else {
+                            out.writeNumber(amount);
+                        }
+                    }
+                    case TIMESTAMP -> writeString(column.timestamp(rs, i + 1));
+                }
+            }
+            out.writeEndObject();
+            // Each row ends its own line rather than Jackson's default space between root values.
+            out.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.close();
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeNull();
+            } else {
+                out.writeString(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import java.util.Optional;
+
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    static Optional<ExportFormat> fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
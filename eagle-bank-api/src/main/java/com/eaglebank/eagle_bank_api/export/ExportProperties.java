@@ -0,0 +1,26 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param enabled                    exposes the export endpoints
+ * @param fetchSize                  rows the JDBC driver fetches per round trip while streaming
+ * @param maxConcurrent              exports running at once; each holds a database connection for its whole duration
+ * @param allowWithoutAuthentication lets anyone export while authentication is disabled; off by default, so turning
+ *                                   authentication off does not also open a full data dump
+ * @param allowedUsers               user ids allowed to export when authentication is enabled
+ */
+@ConfigurationProperties(prefix = "eaglebank.exports")
+public record ExportProperties(@DefaultValue("false") boolean enabled,
+                               @DefaultValue("1000") int fetchSize,
+                               @DefaultValue("2") int maxConcurrent,
+                               @DefaultValue("false") boolean allowWithoutAuthentication,
+                               List<String> allowedUsers) {
+
+    public ExportProperties {
+        allowedUsers = allowedUsers == null ? List.of() : List.copyOf(allowedUsers);
+    }
+}
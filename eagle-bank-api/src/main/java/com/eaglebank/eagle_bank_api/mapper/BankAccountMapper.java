@@ -0,0 +1,58 @@
+package com.eaglebank.eagle_bank_api.mapper;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.CreateBankAccountRequest;
+import com.example.project.model.UpdateBankAccountRequest;
+
+/**
+ * Entity/DTO mapping for bank accounts. The entity stores the response enums directly,
+ * so they are copied by identity; request enums are mapped with exhaustive switches,
+ * which turn a new spec constant into a compile error instead of a runtime lookup failure.
+ */
+public final class BankAccountMapper {
+
+    private BankAccountMapper() {
+    }
+
+    public static BankAccountResponse toResponse(BankAccountEntity entity) {
+        BankAccountResponse response = new BankAccountResponse();
+        response.setAccountNumber(entity.getAccountNumber());
+        response.setSortCode(entity.getSortCode());
+        response.setName(entity.getName());
+        response.setAccountType(entity.getAccountType());
+        response.setBalance(entity.getBalance());
+        response.setCurrency(entity.getCurrency());
+        response.setCreatedTimestamp(entity.getCreatedTimestamp());
+        response.setUpdatedTimestamp(entity.getUpdatedTimestamp());
+        return response;
+    }
+
+    public static BankAccountEntity toEntity(CreateBankAccountRequest request) {
+        return BankAccountEntity.builder()
+                .name(request.getName())
+                .accountType(toAccountType(request.getAccountType()))
+                .sortCode(BankAccountResponse.SortCodeEnum._10_10_10)
+                .balance(0.0)
+                .currency(BankAccountResponse.CurrencyEnum.GBP)
+                .build();
+    }
+
+    public static BankAccountResponse.AccountTypeEnum toAccountType(CreateBankAccountRequest.AccountTypeEnum accountType) {
+        if (accountType == null) {
+            return null;
+        }
+        return switch (accountType) {
+            case PERSONAL -> BankAccountResponse.AccountTypeEnum.PERSONAL;
+        };
+    }
+
+    public static BankAccountResponse.AccountTypeEnum toAccountType(UpdateBankAccountRequest.AccountTypeEnum accountType) {
+        if (accountType == null) {
+            return null;
+        }
+        return switch (accountType) {
+            case PERSONAL -> BankAccountResponse.AccountTypeEnum.PERSONAL;
+        };
+    }
+}
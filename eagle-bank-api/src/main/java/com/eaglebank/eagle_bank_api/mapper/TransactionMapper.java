@@ -0,0 +1,85 @@
+package com.eaglebank.eagle_bank_api.mapper;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.TransactionEntity;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import com.example.project.model.TransactionResponse;
+
+/**
+ * Entity/DTO mapping for transactions. As with accounts, the entity stores the response
+ * enums and request enums are mapped with exhaustive switches.
+ */
+public final class TransactionMapper {
+
+    private TransactionMapper() {
+    }
+
+    public static TransactionResponse toResponse(TransactionEntity entity) {
+        TransactionResponse response = new TransactionResponse();
+        response.setId("tan-" + entity.getId());
+        response.setAmount(entity.getAmount());
+        response.setCurrency(entity.getCurrency());
+        response.setType(entity.getType());
+        response.setReference(entity.getReference());
+        response.setUserId(entity.getUserId() == null ? null : "usr-" + entity.getUserId());
+        response.setTransferId(entity.getTransferId());
+        response.setCreatedTimestamp(entity.getCreatedTimestamp());
+        return response;
+    }
+
+    public static TransactionEntity toEntity(CreateTransactionRequest request, BankAccountEntity account, Long userId) {
+        return TransactionEntity.builder()
+                .account(account)
+                .amount(request.getAmount())
+                .currency(toCurrency(request.getCurrency()))
+                .type(toType(request.getType()))
+                .reference(request.getReference())
+                .userId(userId)
+                .build();
+    }
+
+    /**
+     * One leg of a transfer: a withdrawal from the source or a deposit into the destination.
+     */
+    public static TransactionEntity toEntity(CreateTransferRequest request, BankAccountEntity account,
+                                             TransactionResponse.TypeEnum type, Long userId, String transferId) {
+        return TransactionEntity.builder()
+                .account(account)
+                .amount(request.getAmount())
+                .currency(toCurrency(request.getCurrency()))
+                .type(type)
+                .reference(request.getReference())
+                .userId(userId)
+                .transferId(transferId)
+                .build();
+    }
+
+    public static TransactionResponse.CurrencyEnum toCurrency(CreateTransactionRequest.CurrencyEnum currency) {
+        if (currency == null) {
+            return null;
+        }
+        return switch (currency) {
+            case GBP -> TransactionResponse.CurrencyEnum.GBP;
+        };
+    }
+
+    public static TransactionResponse.CurrencyEnum toCurrency(CreateTransferRequest.CurrencyEnum currency) {
+        if (currency == null) {
+            return null;
+        }
+        return switch (currency) {
+            case GBP -> TransactionResponse.CurrencyEnum.GBP;
+        };
+    }
+
+    public static TransactionResponse.TypeEnum toType(CreateTransactionRequest.TypeEnum type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case DEPOSIT -> TransactionResponse.TypeEnum.DEPOSIT;
+            case WITHDRAWAL -> TransactionResponse.TypeEnum.WITHDRAWAL;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.eaglebank.eagle_bank_api.mapper;
+
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.example.project.model.CreateUserRequest;
+import com.example.project.model.CreateUserRequestAddress;
+import com.example.project.model.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+
+/**
+ * Entity/DTO mapping for users. The address column holds JSON, so the reader and writer
+ * for the address type are resolved once and shared; both are immutable and thread-safe.
+ */
+public final class UserMapper {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectReader ADDRESS_READER = OBJECT_MAPPER.readerFor(CreateUserRequestAddress.class);
+    private static final ObjectWriter ADDRESS_WRITER = OBJECT_MAPPER.writerFor(CreateUserRequestAddress.class);
+
+    private UserMapper() {
+    }
+
+    public static UserResponse toResponse(UserEntity entity) {
+        UserResponse response = new UserResponse();
+        response.setId(String.valueOf(entity.getId()));
+        response.setName(entity.getName());
+        response.setEmail(entity.getEmail());
+        response.setPhoneNumber(entity.getPhoneNumber());
+        response.setAddress(deserializeAddress(entity.getAddress()));
+        response.setCreatedTimestamp(entity.getCreatedTimestamp());
+        response.setUpdatedTimestamp(entity.getUpdatedTimestamp());
+        return response;
+    }
+
+    public static UserEntity toEntity(CreateUserRequest request) {
+        return UserEntity.builder()
+                .name(request.getName())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .address(serializeAddress(request.getAddress()))
+                .build();
+    }
+
+    public static String serializeAddress(CreateUserRequestAddress address) {
+        try {
+            return ADDRESS_WRITER.writeValueAsString(address);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize address", e);
+        }
+    }
+
+    public static CreateUserRequestAddress deserializeAddress(String addressJson) {
+        if (addressJson == null) {
+            return null;
+        }
+        try {
+            return ADDRESS_READER.readValue(addressJson);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to deserialize address", e);
+        }
+    }
+}
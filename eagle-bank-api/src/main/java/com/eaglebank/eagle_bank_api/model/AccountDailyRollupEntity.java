@@ -0,0 +1,48 @@
+package com.eaglebank.eagle_bank_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * One account's credits and debits on one UTC day, in minor units. Transactions posted under
+ * the account row lock add to the row with slot -1. Deposits into a striped account add to
+ * the row of the stripe they landed in, so the rollup never becomes the hot row the stripes
+ * avoid. A day's totals are the sum over its slots.
+ */
+@Entity
+@Table(name = "account_daily_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "rollup_date", "slot"}))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountDailyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "rollup_date", nullable = false, updatable = false)
+    private LocalDate day;
+
+    @Column(name = "slot", nullable = false, updatable = false)
+    private int slot;
+
+    @Column(name = "credits_minor", nullable = false)
+    private long creditsMinor;
+
+    @Column(name = "debits_minor", nullable = false)
+    private long debitsMinor;
+
+    @Column(name = "credit_count", nullable = false)
+    private int creditCount;
+
+    @Column(name = "debit_count", nullable = false)
+    private int debitCount;
+}
@@ -0,0 +1,36 @@
+package com.eaglebank.eagle_bank_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One sub-balance slot of a striped account, in minor units. Deposits lock only the slot
+ * they land in, so concurrent deposits to one account no longer queue on its row.
+ */
+@Entity
+@Table(name = "balance_stripe", uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "slot"}))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceStripeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "slot", nullable = false, updatable = false)
+    private int slot;
+
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor;
+
+    @Column(name = "updated_timestamp")
+    private OffsetDateTime updatedTimestamp;
+}
@@ -3,13 +3,21 @@ package com.eaglebank.eagle_bank_api.model;
 import com.example.project.model.BankAccountResponse;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.OffsetDateTime;
 
 @Entity
 @Table
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bank-accounts")
+@NaturalIdCache(region = "bank-account-natural-ids")
 @Data
 @Builder
 @AllArgsConstructor
@@ -21,6 +29,7 @@ public class BankAccountEntity {
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
+    @NaturalId
     @Column(name = "account_number", unique = true)
     private String accountNumber;
 
@@ -38,6 +47,21 @@ public class BankAccountEntity {
     @Column(name = "balance")
     private Double balance = 0.0;
 
+    /**
+     * Number of sub-balance slots deposits are spread over, 0 for an ordinary account. When
+     * striped, {@link #balance} holds only the base and the slots hold the rest.
+     */
+    @Column(name = "balance_stripes", nullable = false)
+    private int balanceStripes;
+
+    /**
+     * Whether the daily rollups hold every transaction the account ever had. True from the
+     * start for accounts opened since rollups were kept, set by the rollup backfill for older
+     * ones. Balances worked back from the rollups are only right once it is set.
+     */
+    @Column(name = "rollups_complete", nullable = false)
+    private boolean rollupsComplete;
+
     @Column(name = "currency")
     @Enumerated(EnumType.STRING)
     private BankAccountResponse.CurrencyEnum currency;
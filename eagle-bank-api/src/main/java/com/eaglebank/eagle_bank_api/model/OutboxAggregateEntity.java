@@ -0,0 +1,30 @@
+package com.eaglebank.eagle_bank_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last outbox sequence number handed out for one aggregate. Only the outbox relay writes it,
+ * when it numbers events on delivery. Written with plain JDBC, like {@link OutboxEventEntity}.
+ */
+@Entity
+@Table(name = "outbox_aggregate",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"aggregate_type", "aggregate_id"}))
+@Data
+@NoArgsConstructor
+public class OutboxAggregateEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
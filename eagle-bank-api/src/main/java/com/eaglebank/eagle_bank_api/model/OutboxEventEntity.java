@@ -0,0 +1,40 @@
+package com.eaglebank.eagle_bank_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Pending change event. Mapped so the table is part of the schema; rows are written and
+ * read with plain JDBC, because Hibernate cannot batch inserts of IDENTITY-keyed entities.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Data
+@NoArgsConstructor
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    @Column(name = "aggregate_sequence")
+    private Long aggregateSequence;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, length = 16384)
+    private String payload;
+
+    @Column(name = "created_timestamp", nullable = false)
+    private OffsetDateTime createdTimestamp;
+}
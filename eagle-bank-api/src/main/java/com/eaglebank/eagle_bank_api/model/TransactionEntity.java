@@ -0,0 +1,58 @@
+package com.eaglebank.eagle_bank_api.model;
+
+import com.example.project.model.TransactionResponse;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "account_transaction", indexes = @Index(name = "idx_account_transaction_account", columnList = "account_id"))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private BankAccountEntity account;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private Double amount;
+
+    @Column(name = "currency", nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionResponse.CurrencyEnum currency;
+
+    @Column(name = "type", nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionResponse.TypeEnum type;
+
+    @Column(name = "reference", updatable = false)
+    private String reference;
+
+    @Column(name = "user_id", updatable = false)
+    private Long userId;
+
+    /**
+     * Shared by the debit and the credit of a transfer, null otherwise.
+     */
+    @Column(name = "transfer_id", length = 36, updatable = false)
+    private String transferId;
+
+    @Column(name = "created_timestamp", updatable = false)
+    @CreationTimestamp
+    private OffsetDateTime createdTimestamp;
+}
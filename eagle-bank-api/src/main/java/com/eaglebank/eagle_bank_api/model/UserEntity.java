@@ -2,6 +2,7 @@ package com.eaglebank.eagle_bank_api.model;
 
 import jakarta.persistence.*;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
 import lombok.*;
 import org.hibernate.annotations.*;
 
@@ -9,6 +10,8 @@ import java.time.OffsetDateTime;
 
 @Entity
 @Table
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Data
 @Builder
 @AllArgsConstructor
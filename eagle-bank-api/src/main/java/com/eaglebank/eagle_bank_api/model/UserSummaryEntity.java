@@ -0,0 +1,37 @@
+package com.eaglebank.eagle_bank_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Running totals over a user's accounts, kept current in the same transaction as every change
+ * to them, so reading them is a primary-key lookup rather than an aggregate. The total is of
+ * the accounts' base balances; deposits still sitting in the stripes of a striped account are
+ * added when the summary is read, which {@code stripedAccountCount} makes cheap to skip.
+ */
+@Entity
+@Table(name = "user_summary")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryEntity {
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "total_balance_minor", nullable = false)
+    private long totalBalanceMinor;
+
+    @Column(name = "account_count", nullable = false)
+    private int accountCount;
+
+    @Column(name = "striped_account_count", nullable = false)
+    private int stripedAccountCount;
+
+    @Column(name = "last_activity_timestamp")
+    private OffsetDateTime lastActivityTimestamp;
+}
@@ -0,0 +1,107 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records change events in the same database transaction as the change. Events are buffered
+ * for the transaction and written when it is about to commit, in a single batched insert. A
+ * rollback discards them.
+ * <p>
+ * Spring runs that hook before Hibernate's commit-time flush, so the entity changes are
+ * flushed first: every row lock the change takes is then held before its events get their
+ * ids. Two changes that lock the same row therefore also write their events in commit order.
+ * Writers that share no row, such as deposits into different stripes of one account, can
+ * commit out of id order. {@link OutboxRelay} numbers each aggregate's events as it delivers
+ * them, so writers never lock anything for the outbox.
+ */
+@Component
+public class Outbox {
+
+    static final String INSERT = "insert into outbox_event (aggregate_type, aggregate_id, event_type, payload, "
+            + "created_timestamp) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final WarmUpRequests warmUpRequests;
+
+    public Outbox(JdbcTemplate jdbcTemplate, EntityManager entityManager, ObjectMapper objectMapper,
+                  WarmUpRequests warmUpRequests) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    /**
+     * Serialises {@code payload} now, so later changes to it are not picked up. Changes made
+     * by the warm-up raise no events.
+     */
+    public void record(OutboxEventType type, String aggregateId, Object payload) {
+        if (warmUpRequests.isCurrentRequestWarmUp()) {
+            return;
+        }
+        OutboxEvent event = new OutboxEvent(null, type.aggregateType(), aggregateId, null, type.name(), toJson(payload),
+                OffsetDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(event));
+            return;
+        }
+
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    private void insert(List<OutboxEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.aggregateType());
+            statement.setString(2, event.aggregateId());
+            statement.setString(3, event.eventType());
+            statement.setString(4, event.payload());
+            statement.setTimestamp(5, Timestamp.from(event.occurredAt().toInstant()));
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload cannot be serialised: " + payload.getClass().getName(), e);
+        }
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<OutboxEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.flush();
+            }
+            insert(events);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(Outbox.this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.OffsetDateTime;
+
+/**
+ * An event as handed to a sink. {@code id} is unique and increases in write order; sinks
+ * and consumers use it to drop the duplicates at-least-once delivery can produce.
+ *
+ * @param sequence position among the events of the same aggregate, in the order the relay first
+ *                 offered them, without gaps and starting at 1; consumers that fan events out
+ *                 can use it to restore their order. Null until the relay has numbered the event
+ * @param payload  JSON document, written through as-is
+ */
+public record OutboxEvent(Long id,
+                          String aggregateType,
+                          String aggregateId,
+                          Long sequence,
+                          String eventType,
+                          @JsonRawValue String payload,
+                          OffsetDateTime occurredAt) {
+}
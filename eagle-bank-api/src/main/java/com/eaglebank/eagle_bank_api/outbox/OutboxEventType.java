@@ -0,0 +1,27 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+/**
+ * Change events and the aggregate each belongs to. Events of one aggregate are relayed in
+ * the order they were written, so transactions are account events, ordered with the
+ * account's own changes.
+ */
+public enum OutboxEventType {
+
+    ACCOUNT_CREATED("account"),
+    ACCOUNT_UPDATED("account"),
+    ACCOUNT_DELETED("account"),
+    TRANSACTION_CREATED("account"),
+    USER_CREATED("user"),
+    USER_UPDATED("user"),
+    USER_DELETED("user");
+
+    private final String aggregateType;
+
+    OutboxEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String aggregateType() {
+        return aggregateType;
+    }
+}
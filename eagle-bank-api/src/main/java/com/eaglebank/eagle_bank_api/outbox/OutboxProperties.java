@@ -0,0 +1,29 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param relayEnabled starts the background relay; turn off where another instance relays
+ * @param batchSize    events read, published and deleted per round
+ * @param pollInterval wait after a round that found fewer than {@code batchSize} events
+ * @param retryBackoff wait after a failed round before the same events are offered again
+ * @param sink         built-in sink used unless an {@link OutboxSink} bean is defined
+ * @param file         output of the {@code file} sink
+ */
+@ConfigurationProperties(prefix = "eaglebank.outbox")
+public record OutboxProperties(@DefaultValue("true") boolean relayEnabled,
+                               @DefaultValue("500") int batchSize,
+                               @DefaultValue("200ms") Duration pollInterval,
+                               @DefaultValue("1s") Duration retryBackoff,
+                               @DefaultValue("file") Sink sink,
+                               @DefaultValue("outbox/events.jsonl") Path file) {
+
+    public enum Sink {
+        FILE,
+        MEMORY
+    }
+}
@@ -0,0 +1,238 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to the sink in id order on a single background thread. Each round reads a
+ * batch under row locks, publishes it, and deletes it in one transaction. A failed publish or
+ * a crash before the delete commits leaves the batch in place to be offered again, so
+ * delivery is at least once. The row locks keep a second relay instance waiting rather than
+ * delivering the same events out of order.
+ * <p>
+ * Events get their {@link OutboxEvent#sequence()} here, the first time they are offered, from
+ * the aggregate's {@code outbox_aggregate} row. Only the relay writes those rows, so writers
+ * never wait for them. The numbers are kept even when the publish fails, so an event offered
+ * again carries the number it was first offered with.
+ * <p>
+ * Exposes {@code eaglebank.outbox.lag} (age of the oldest undelivered event, in seconds),
+ * {@code eaglebank.outbox.events} tagged by outcome and {@code eaglebank.outbox.publish}.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    static final String SELECT_BATCH = "select id, aggregate_type, aggregate_id, aggregate_sequence, event_type, payload, created_timestamp "
+            + "from outbox_event order by id fetch first ? rows only for update";
+    static final String DELETE = "delete from outbox_event where id = ?";
+    static final String SET_SEQUENCE = "update outbox_event set aggregate_sequence = ? where id = ?";
+    static final String ADVANCE_SEQUENCE = "update outbox_aggregate set last_sequence = last_sequence + ? "
+            + "where aggregate_type = ? and aggregate_id = ?";
+    static final String INSERT_SEQUENCE = "insert into outbox_aggregate (aggregate_type, aggregate_id, last_sequence) values (?, ?, ?)";
+    static final String LAST_SEQUENCE = "select last_sequence from outbox_aggregate where aggregate_type = ? and aggregate_id = ?";
+
+    private static final Comparator<OutboxEvent> AGGREGATE_ORDER =
+            Comparator.comparing(OutboxEvent::aggregateType).thenComparing(OutboxEvent::aggregateId);
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getString("aggregate_type"),
+            rs.getString("aggregate_id"),
+            rs.getObject("aggregate_sequence", Long.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getTimestamp("created_timestamp").toInstant().atOffset(ZoneOffset.UTC));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final Clock clock;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private final Timer publishTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       OutboxSink sink,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry,
+                       Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.properties = properties;
+        this.clock = clock;
+        this.published = meterRegistry.counter("eaglebank.outbox.events", "outcome", "published");
+        this.failed = meterRegistry.counter("eaglebank.outbox.events", "outcome", "failed");
+        this.publishTimer = meterRegistry.timer("eaglebank.outbox.publish");
+        Gauge.builder("eaglebank.outbox.lag", this, OutboxRelay::lagSeconds)
+                .description("Age of the oldest event not yet delivered")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays one batch; returns the number of events delivered.
+     */
+    int relayBatch() {
+        RuntimeException[] failure = new RuntimeException[1];
+        Integer delivered = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = jdbcTemplate.query(SELECT_BATCH, ROW_MAPPER, properties.batchSize());
+            if (batch.isEmpty()) {
+                oldestPendingMillis.set(0);
+                return 0;
+            }
+            oldestPendingMillis.set(batch.get(0).occurredAt().toInstant().toEpochMilli());
+            List<OutboxEvent> numbered = number(batch);
+
+            try {
+                publishTimer.recordCallable(() -> {
+                    sink.publish(numbered);
+                    return null;
+                });
+            } catch (Exception e) {
+                failed.increment(numbered.size());
+                failure[0] = new OutboxDeliveryException(e);
+                return 0;
+            }
+
+            jdbcTemplate.batchUpdate(DELETE, numbered, numbered.size(), (statement, event) -> statement.setLong(1, event.id()));
+            published.increment(numbered.size());
+            return numbered.size();
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return delivered == null ? 0 : delivered;
+    }
+
+    /**
+     * Gives every event of the batch that has no sequence yet the next ones of its aggregate,
+     * in id order, and stores them.
+     */
+    private List<OutboxEvent> number(List<OutboxEvent> batch) {
+        Map<OutboxEvent, Long> next = new TreeMap<>(AGGREGATE_ORDER);
+        for (OutboxEvent event : batch) {
+            if (event.sequence() == null) {
+                next.merge(event, 1L, Long::sum);
+            }
+        }
+        if (next.isEmpty()) {
+            return batch;
+        }
+        for (Map.Entry<OutboxEvent, Long> aggregate : next.entrySet()) {
+            aggregate.setValue(reserve(aggregate.getKey().aggregateType(), aggregate.getKey().aggregateId(), aggregate.getValue()));
+        }
+
+        List<OutboxEvent> numbered = new ArrayList<>(batch.size());
+        List<OutboxEvent> assigned = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            if (event.sequence() != null) {
+                numbered.add(event);
+                continue;
+            }
+            long sequence = next.put(event, next.get(event) + 1);
+            OutboxEvent sequenced = new OutboxEvent(event.id(), event.aggregateType(), event.aggregateId(), sequence,
+                    event.eventType(), event.payload(), event.occurredAt());
+            numbered.add(sequenced);
+            assigned.add(sequenced);
+        }
+        jdbcTemplate.batchUpdate(SET_SEQUENCE, assigned, assigned.size(), (statement, event) -> {
+            statement.setLong(1, event.sequence());
+            statement.setLong(2, event.id());
+        });
+        return numbered;
+    }
+
+    /**
+     * Takes {@code count} sequence numbers for the aggregate and returns the first.
+     */
+    private long reserve(String aggregateType, String aggregateId, long count) {
+        if (jdbcTemplate.update(ADVANCE_SEQUENCE, count, aggregateType, aggregateId) == 0) {
+            jdbcTemplate.update(INSERT_SEQUENCE, aggregateType, aggregateId, count);
+            return 1;
+        }
+        return jdbcTemplate.queryForObject(LAST_SEQUENCE, Long.class, aggregateType, aggregateId) - count + 1;
+    }
+
+    double lagSeconds() {
+        long oldest = oldestPendingMillis.get();
+        return oldest == 0 ? 0 : Math.max(0, clock.millis() - oldest) / 1000.0;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::relayLoop, "outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            Duration pause;
+            try {
+                pause = relayBatch() < properties.batchSize() ? properties.pollInterval() : Duration.ZERO;
+            } catch (RuntimeException e) {
+                pause = properties.retryBackoff();
+            }
+            if (!pause.isZero()) {
+                try {
+                    Thread.sleep(pause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    static final class OutboxDeliveryException extends RuntimeException {
+
+        OutboxDeliveryException(Throwable cause) {
+            super("Outbox sink rejected the batch", cause);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import java.util.List;
+
+/**
+ * Destination the relay hands events to, in id order. A batch counts as delivered only when
+ * this returns normally; if it throws, the whole batch is offered again later.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,49 @@
+package com.eaglebank.eagle_bank_api.ratelimit;
+
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import com.eaglebank.eagle_bank_api.web.ErrorResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over the caller's budget with 429 and a Retry-After in whole seconds.
+ * Authenticated callers are limited by user id, anonymous ones by remote address.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final byte[] TOO_MANY_REQUESTS_BODY = ErrorResponses.template("Too many requests, please retry later");
+
+    private final RateLimiter rateLimiter;
+    private final WarmUpRequests warmUpRequests;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, WarmUpRequests warmUpRequests) {
+        this.rateLimiter = rateLimiter;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null || warmUpRequests.isWarmUp(request)) {
+            return true;
+        }
+
+        long wait = rateLimiter.tryAcquire(request.getMethod(), pattern.toString(), AuthenticatedPrincipal.clientKey(request));
+        if (wait == 0) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+        ErrorResponses.write(response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY);
+        return false;
+    }
+}
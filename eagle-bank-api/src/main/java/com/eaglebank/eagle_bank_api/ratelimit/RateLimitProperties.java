@@ -0,0 +1,38 @@
+package com.eaglebank.eagle_bank_api.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled                turns the limiter off entirely when false
+ * @param idleEviction           buckets untouched for this long are dropped; an idle bucket is full anyway
+ * @param maxTrackedBuckets      upper bound on buckets held in memory
+ * @param defaultCapacity        burst size for endpoints without a rule
+ * @param defaultRefillPerSecond sustained rate for endpoints without a rule
+ * @param rules                  per-endpoint limits, matched on method and mapping pattern
+ */
+@ConfigurationProperties(prefix = "eaglebank.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("10m") Duration idleEviction,
+                                  @DefaultValue("100000") long maxTrackedBuckets,
+                                  @DefaultValue("200") long defaultCapacity,
+                                  @DefaultValue("100") double defaultRefillPerSecond,
+                                  List<Rule> rules) {
+
+    public RateLimitProperties {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    /**
+     * @param name            metric tag and bucket namespace
+     * @param method          HTTP method
+     * @param path            mapping pattern as declared on the controller, e.g. {@code /api/v1/accounts}
+     * @param capacity        burst size
+     * @param refillPerSecond sustained rate
+     */
+    public record Rule(String name, String method, String path, long capacity, double refillPerSecond) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.eaglebank.eagle_bank_api.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client, per-endpoint token buckets. Endpoints without a configured rule get the default
+ * limit, with a bucket per route pattern, so traffic to one endpoint cannot spend a caller's
+ * budget on another. Buckets are created on first use and evicted once idle.
+ * <p>
+ * Exposes {@code eaglebank.ratelimit.requests} tagged by rule and outcome
+ * ({@code admitted} or {@code rejected}) and {@code eaglebank.ratelimit.buckets}.
+ */
+@Component
+public class RateLimiter {
+
+    static final String DEFAULT_RULE = "default";
+
+    private final Map<String, Limit> limitsByEndpoint = new HashMap<>();
+    private final Limit defaultLimit;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final LongSupplier ticker;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier ticker) {
+        this.ticker = ticker;
+        this.defaultLimit = new Limit(DEFAULT_RULE, properties.defaultCapacity(), properties.defaultRefillPerSecond(), meterRegistry);
+        for (RateLimitProperties.Rule rule : properties.rules()) {
+            limitsByEndpoint.put(endpoint(rule.method(), rule.path()),
+                    new Limit(rule.name(), rule.capacity(), rule.refillPerSecond(), meterRegistry));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedBuckets())
+                .expireAfterAccess(properties.idleEviction())
+                .executor(Runnable::run)
+                .build();
+        Gauge.builder("eaglebank.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate limit buckets currently tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param method  HTTP method of the request
+     * @param pattern mapping pattern the request matched
+     * @param client  caller identity, the user id or the remote address
+     * @return 0 when the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(String method, String pattern, String client) {
+        String endpoint = endpoint(method, pattern);
+        Limit limit = limitsByEndpoint.getOrDefault(endpoint, defaultLimit);
+        long now = ticker.getAsLong();
+        TokenBucket bucket = buckets.get(new BucketKey(limit == defaultLimit ? endpoint : limit.name, client),
+                key -> new TokenBucket(limit.capacity, limit.refillPerSecond, now));
+
+        long wait = bucket.tryConsume(now);
+        (wait == 0 ? limit.admitted : limit.rejected).increment();
+        return wait;
+    }
+
+    private static String endpoint(String method, String pattern) {
+        return method + ' ' + pattern;
+    }
+
+    private static final class Limit {
+        private final String name;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final Counter admitted;
+        private final Counter rejected;
+
+        private Limit(String name, long capacity, double refillPerSecond, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.admitted = counter(meterRegistry, name, "admitted");
+            this.rejected = counter(meterRegistry, name, "rejected");
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String rule, String outcome) {
+            return Counter.builder("eaglebank.ratelimit.requests")
+                    .description("Requests seen by the rate limiter")
+                    .tag("rule", rule)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @param scope the rule name, or the endpoint for requests under the default limit
+     */
+    private record BucketKey(String scope, String client) {
+    }
+}
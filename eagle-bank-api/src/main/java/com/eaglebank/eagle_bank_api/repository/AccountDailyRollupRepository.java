@@ -0,0 +1,43 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.AccountDailyRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccountDailyRollupRepository extends JpaRepository<AccountDailyRollupEntity, Long> {
+
+    /**
+     * Adds to the day's row in place. Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("update AccountDailyRollupEntity r set r.creditsMinor = r.creditsMinor + :credits, "
+            + "r.debitsMinor = r.debitsMinor + :debits, "
+            + "r.creditCount = r.creditCount + :creditCount, "
+            + "r.debitCount = r.debitCount + :debitCount "
+            + "where r.accountId = :accountId and r.day = :day and r.slot = :slot")
+    int add(@Param("accountId") Long accountId, @Param("day") LocalDate day, @Param("slot") int slot,
+            @Param("credits") long credits, @Param("debits") long debits,
+            @Param("creditCount") int creditCount, @Param("debitCount") int debitCount);
+
+    @Query("select r.day as day, sum(r.creditsMinor) as creditsMinor, sum(r.debitsMinor) as debitsMinor, "
+            + "sum(r.creditCount) as creditCount, sum(r.debitCount) as debitCount "
+            + "from AccountDailyRollupEntity r where r.accountId = :accountId and r.day between :from and :to "
+            + "group by r.day order by r.day")
+    List<DailyTotalView> sumByDay(@Param("accountId") Long accountId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Net change of the account's balance on all days after {@code day}, in minor units.
+     */
+    @Query("select coalesce(sum(r.creditsMinor - r.debitsMinor), 0) from AccountDailyRollupEntity r "
+            + "where r.accountId = :accountId and r.day > :day")
+    long sumNetAfter(@Param("accountId") Long accountId, @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("delete from AccountDailyRollupEntity r where r.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,8 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+public interface AccountOwnerView {
+
+    String getAccountNumber();
+
+    Long getOwnerId();
+}
@@ -0,0 +1,10 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+public interface AccountStripingView {
+
+    Long getId();
+
+    int getBalanceStripes();
+
+    boolean isRollupsComplete();
+}
@@ -0,0 +1,46 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.BalanceStripeEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BalanceStripeRepository extends JpaRepository<BalanceStripeEntity, Long> {
+
+    /**
+     * Adds to one slot in place, locking only that row. Returns 0 when the slot no longer
+     * exists because striping was switched off in the meantime.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update BalanceStripeEntity s set s.amountMinor = s.amountMinor + :delta, s.updatedTimestamp = :now "
+            + "where s.accountId = :accountId and s.slot = :slot")
+    int addToSlot(@Param("accountId") Long accountId, @Param("slot") int slot,
+                  @Param("delta") long delta, @Param("now") OffsetDateTime now);
+
+    /**
+     * Locks every slot of the account in slot order, so two callers folding the same
+     * account cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceStripeEntity s where s.accountId = :accountId order by s.slot")
+    List<BalanceStripeEntity> lockByAccountId(@Param("accountId") Long accountId);
+
+    @Query("select s.accountId as accountId, sum(s.amountMinor) as amountMinor, max(s.updatedTimestamp) as updatedTimestamp "
+            + "from BalanceStripeEntity s where s.accountId in :accountIds group by s.accountId")
+    List<StripeTotalView> sumByAccountIdIn(@Param("accountIds") Collection<Long> accountIds);
+
+    @Query("select coalesce(sum(s.amountMinor), 0) from BalanceStripeEntity s, BankAccountEntity b "
+            + "where s.accountId = b.id and b.user.id = :userId")
+    long sumByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from BalanceStripeEntity s where s.accountId = :accountId")
+    void deleteByAccountId(@Param("accountId") Long accountId);
+}
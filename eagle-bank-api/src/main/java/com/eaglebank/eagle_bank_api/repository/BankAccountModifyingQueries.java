@@ -0,0 +1,27 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.example.project.model.BankAccountResponse;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Account changes that each run as one statement and return the row as written or removed,
+ * so the caller needs no read before or after. Empty means there was no such account. The
+ * returned entity is detached, with only the owner's id set.
+ */
+public interface BankAccountModifyingQueries {
+
+    /**
+     * Partial update. Null arguments leave the column untouched.
+     */
+    Optional<BankAccountEntity> updateAccountDetails(String accountNumber, String name,
+                                                     BankAccountResponse.AccountTypeEnum accountType,
+                                                     OffsetDateTime updatedTimestamp);
+
+    /**
+     * Deletes the account row only; its stripes and rollups are the caller's to remove.
+     */
+    Optional<BankAccountEntity> deleteByAccountNumber(String accountNumber);
+}
@@ -0,0 +1,97 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.example.project.model.BankAccountResponse;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Uses H2's data change delta tables, {@code final table} and {@code old table}, to read the
+ * changed row back from the statement that changed it; PostgreSQL's {@code returning} is the
+ * equivalent. They run as native selects, so Hibernate counts them but does not treat them as
+ * bulk changes that empty the cache.
+ */
+class BankAccountModifyingQueriesImpl implements BankAccountModifyingQueries {
+
+    private static final String COLUMNS = "select id, account_number, sort_code, name, account_type, balance, balance_stripes, "
+            + "rollups_complete, currency, created_timestamp, updated_timestamp, user_id ";
+    private static final String UPDATE_DETAILS = COLUMNS + "from final table (update bank_account_entity "
+            + "set name = coalesce(:name, name), account_type = coalesce(:accountType, account_type), "
+            + "updated_timestamp = :updatedTimestamp where account_number = :accountNumber)";
+    private static final String DELETE = COLUMNS + "from old table (delete from bank_account_entity where account_number = :accountNumber)";
+
+    private final EntityManager entityManager;
+
+    BankAccountModifyingQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<BankAccountEntity> updateAccountDetails(String accountNumber, String name,
+                                                            BankAccountResponse.AccountTypeEnum accountType,
+                                                            OffsetDateTime updatedTimestamp) {
+        NativeQuery<Object[]> query = query(UPDATE_DETAILS, accountNumber)
+                .setParameter("name", name, String.class)
+                .setParameter("accountType", accountType == null ? null : accountType.name(), String.class)
+                .setParameter("updatedTimestamp", updatedTimestamp, OffsetDateTime.class);
+        // The account number never changes, so its natural-id entry stays right.
+        return single(query).map(account -> evicted(account, null));
+    }
+
+    @Override
+    public Optional<BankAccountEntity> deleteByAccountNumber(String accountNumber) {
+        return single(query(DELETE, accountNumber)).map(account -> evicted(account, accountNumber));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> query(String sql, String accountNumber) {
+        return entityManager.unwrap(Session.class).createNativeQuery(sql)
+                .addScalar("id", Long.class)
+                .addScalar("account_number", String.class)
+                .addScalar("sort_code", String.class)
+                .addScalar("name", String.class)
+                .addScalar("account_type", String.class)
+                .addScalar("balance", Double.class)
+                .addScalar("balance_stripes", Integer.class)
+                .addScalar("rollups_complete", Boolean.class)
+                .addScalar("currency", String.class)
+                .addScalar("created_timestamp", OffsetDateTime.class)
+                .addScalar("updated_timestamp", OffsetDateTime.class)
+                .addScalar("user_id", Long.class)
+                .setParameter("accountNumber", accountNumber);
+    }
+
+    private BankAccountEntity evicted(BankAccountEntity account, String naturalId) {
+        SecondLevelCacheEntries.evict(entityManager, BankAccountEntity.class, account.getId(), naturalId);
+        return account;
+    }
+
+    private static Optional<BankAccountEntity> single(NativeQuery<Object[]> query) {
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        Long userId = (Long) row[11];
+        return Optional.of(BankAccountEntity.builder()
+                .id((Long) row[0])
+                .accountNumber((String) row[1])
+                .sortCode(row[2] == null ? null : BankAccountResponse.SortCodeEnum.valueOf((String) row[2]))
+                .name((String) row[3])
+                .accountType(row[4] == null ? null : BankAccountResponse.AccountTypeEnum.valueOf((String) row[4]))
+                .balance((Double) row[5])
+                .balanceStripes((Integer) row[6])
+                .rollupsComplete((Boolean) row[7])
+                .currency(row[8] == null ? null : BankAccountResponse.CurrencyEnum.valueOf((String) row[8]))
+                .createdTimestamp((OffsetDateTime) row[9])
+                .updatedTimestamp((OffsetDateTime) row[10])
+                .user(userId == null ? null : UserEntity.builder().id(userId).build())
+                .build());
+    }
+}
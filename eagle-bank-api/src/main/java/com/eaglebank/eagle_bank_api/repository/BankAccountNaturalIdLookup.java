@@ -0,0 +1,14 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+
+import java.util.Optional;
+
+/**
+ * Account lookup by natural id, implemented by hand so it goes through the persistence
+ * context and the second-level cache instead of a derived JPQL query.
+ */
+public interface BankAccountNaturalIdLookup {
+
+    Optional<BankAccountEntity> findByAccountNumber(String accountNumber);
+}
@@ -0,0 +1,23 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class BankAccountNaturalIdLookupImpl implements BankAccountNaturalIdLookup {
+
+    private final EntityManager entityManager;
+
+    BankAccountNaturalIdLookupImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<BankAccountEntity> findByAccountNumber(String accountNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(BankAccountEntity.class)
+                .loadOptional(accountNumber);
+    }
+}
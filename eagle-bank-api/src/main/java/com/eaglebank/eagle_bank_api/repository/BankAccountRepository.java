@@ -1,11 +1,84 @@
 package com.eaglebank.eagle_bank_api.repository;
 
 import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface BankAccountRepository extends JpaRepository<BankAccountEntity, Long> {
+public interface BankAccountRepository extends JpaRepository<BankAccountEntity, Long>, BankAccountNaturalIdLookup,
+        BankAccountModifyingQueries {
 
-    Optional<BankAccountEntity> findByAccountNumber(String accountNumber);
+    String SUM_BALANCES_BY_USER = "select b.user.id as userId, sum(b.balance) as totalBalance, count(b) as accountCount, "
+            + "sum(case when b.balanceStripes > 0 then 1 else 0 end) as stripedAccountCount from BankAccountEntity b ";
+
+    List<BankAccountEntity> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("select b.accountNumber from BankAccountEntity b")
+    List<String> findAllAccountNumbers();
+
+    @Query("select b.id from BankAccountEntity b order by b.id")
+    List<Long> findAllIds();
+
+    @Query("select min(b.id) as minId, max(b.id) as maxId from BankAccountEntity b")
+    IdRangeView findIdRange();
+
+    @Query("select b.id as id, b.accountNumber as accountNumber, b.balanceStripes as balanceStripes, "
+            + "b.rollupsComplete as rollupsComplete from BankAccountEntity b where b.id between :fromId and :toId order by b.id")
+    List<StatementAccountView> findStatementAccountsByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("select b.accountNumber as accountNumber, b.user.id as ownerId from BankAccountEntity b")
+    List<AccountOwnerView> findAllAccountOwners();
+
+    @Query("select b.accountNumber as accountNumber, b.user.id as ownerId from BankAccountEntity b where b.accountNumber = :accountNumber")
+    Optional<AccountOwnerView> findOwnerByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Last change to the account, including deposits that only touched its balance stripes.
+     */
+    @Query("select case when max(s.updatedTimestamp) > b.updatedTimestamp then max(s.updatedTimestamp) else b.updatedTimestamp end "
+            + "from BankAccountEntity b left join BalanceStripeEntity s on s.accountId = b.id "
+            + "where b.accountNumber = :accountNumber group by b.id, b.updatedTimestamp")
+    Optional<OffsetDateTime> findUpdatedTimestampByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select b.id as id, b.balanceStripes as balanceStripes, b.rollupsComplete as rollupsComplete "
+            + "from BankAccountEntity b where b.accountNumber = :accountNumber")
+    Optional<AccountStripingView> findStripingByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select b.balance from BankAccountEntity b where b.id = :id")
+    double findBalanceById(@Param("id") Long id);
+
+    /**
+     * Reads the row with a write lock, bypassing the second-level cache, for balance changes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from BankAccountEntity b where b.accountNumber = :accountNumber")
+    Optional<BankAccountEntity> findForUpdateByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from BankAccountEntity b where b.id = :id")
+    Optional<BankAccountEntity> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Bulk update, so the account's {@code updatedTimestamp} is left alone.
+     */
+    @Modifying
+    @Query("update BankAccountEntity b set b.rollupsComplete = true where b.id = :id")
+    void markRollupsComplete(@Param("id") Long id);
+
+    /**
+     * What the user's summary should hold, computed from the accounts themselves.
+     */
+    @Query(SUM_BALANCES_BY_USER + "where b.user.id = :userId group by b.user.id")
+    Optional<UserBalanceTotalView> sumBalancesByUserId(@Param("userId") Long userId);
+
+    @Query(SUM_BALANCES_BY_USER + "where b.user.id between :fromId and :toId group by b.user.id")
+    List<UserBalanceTotalView> sumBalancesByUserIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
@@ -0,0 +1,16 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import java.time.LocalDate;
+
+public interface DailyTotalView {
+
+    LocalDate getDay();
+
+    long getCreditsMinor();
+
+    long getDebitsMinor();
+
+    long getCreditCount();
+
+    long getDebitCount();
+}
@@ -0,0 +1,51 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the caches right after SQL that Hibernate does not track. A bulk JPQL update or delete
+ * would have Hibernate empty the entity's whole second-level cache region; this drops only the
+ * row that changed. The entry is evicted at once and again after commit, since a concurrent
+ * reader can cache the old row in between. A copy held by the current persistence context is
+ * detached, so it is neither served nor flushed over the new row.
+ */
+final class SecondLevelCacheEntries {
+
+    private SecondLevelCacheEntries() {
+    }
+
+    /**
+     * @param naturalId the row's natural id when it no longer resolves to {@code id}, otherwise null
+     */
+    static void evict(EntityManager entityManager, Class<?> entityClass, Object id, Object naturalId) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityClass);
+        Object managed = session.getPersistenceContextInternal().getEntity(session.generateEntityKey(id, persister));
+        if (managed != null) {
+            session.detach(managed);
+        }
+
+        NaturalIdDataAccess naturalIds = naturalId == null ? null : persister.getNaturalIdCacheAccessStrategy();
+        Object naturalIdKey = naturalIds == null ? null : naturalIds.generateCacheKey(naturalId, persister, session);
+        Runnable eviction = () -> {
+            session.getFactory().getCache().evictEntityData(entityClass, id);
+            if (naturalIdKey != null) {
+                naturalIds.evict(naturalIdKey);
+            }
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
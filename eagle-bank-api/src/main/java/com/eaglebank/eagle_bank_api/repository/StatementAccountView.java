@@ -0,0 +1,6 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+public interface StatementAccountView extends AccountStripingView {
+
+    String getAccountNumber();
+}
@@ -0,0 +1,18 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.example.project.model.TransactionResponse;
+
+import java.time.OffsetDateTime;
+
+public interface StatementLineView {
+
+    Long getId();
+
+    TransactionResponse.TypeEnum getType();
+
+    Double getAmount();
+
+    String getReference();
+
+    OffsetDateTime getCreatedTimestamp();
+}
@@ -0,0 +1,12 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import java.time.OffsetDateTime;
+
+public interface StripeTotalView {
+
+    Long getAccountId();
+
+    long getAmountMinor();
+
+    OffsetDateTime getUpdatedTimestamp();
+}
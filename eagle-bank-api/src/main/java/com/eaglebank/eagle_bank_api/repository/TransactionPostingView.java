@@ -0,0 +1,14 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.example.project.model.TransactionResponse;
+
+import java.time.OffsetDateTime;
+
+public interface TransactionPostingView {
+
+    TransactionResponse.TypeEnum getType();
+
+    Double getAmount();
+
+    OffsetDateTime getCreatedTimestamp();
+}
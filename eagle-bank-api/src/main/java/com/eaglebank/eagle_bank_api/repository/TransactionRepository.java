@@ -0,0 +1,43 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.TransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
+
+    @Query("select t from TransactionEntity t where t.account.id = :accountId order by t.id")
+    List<TransactionEntity> findByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Streams the account's postings with a cursor, so rebuilding its rollups holds per-day
+     * totals in memory rather than its whole history. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.type as type, t.amount as amount, t.createdTimestamp as createdTimestamp "
+            + "from TransactionEntity t where t.account.id = :accountId")
+    Stream<TransactionPostingView> streamPostingsByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * The account's transactions created in {@code [from, to)}, in posting order, read with a
+     * cursor. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.id as id, t.type as type, t.amount as amount, t.reference as reference, t.createdTimestamp as createdTimestamp "
+            + "from TransactionEntity t where t.account.id = :accountId "
+            + "and t.createdTimestamp >= :from and t.createdTimestamp < :to order by t.id")
+    Stream<StatementLineView> streamStatementLines(@Param("accountId") Long accountId,
+                                                   @Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    @Query("select t from TransactionEntity t where t.id = :id and t.account.id = :accountId")
+    Optional<TransactionEntity> findByIdAndAccountId(@Param("id") Long id, @Param("accountId") Long accountId);
+}
@@ -0,0 +1,12 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+public interface UserBalanceTotalView {
+
+    Long getUserId();
+
+    Double getTotalBalance();
+
+    Long getAccountCount();
+
+    Long getStripedAccountCount();
+}
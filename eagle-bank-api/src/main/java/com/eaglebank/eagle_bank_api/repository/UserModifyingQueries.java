@@ -0,0 +1,23 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * User changes that each run as one statement, see {@link BankAccountModifyingQueries}.
+ */
+public interface UserModifyingQueries {
+
+    /**
+     * @return the user as written, detached, or empty when the user does not exist
+     */
+    Optional<UserEntity> updateUserDetails(Long id, String name, String email, String phoneNumber, String address,
+                                           OffsetDateTime updatedTimestamp);
+
+    /**
+     * @return number of rows deleted, 0 when the user does not exist
+     */
+    int deleteUserById(Long id);
+}
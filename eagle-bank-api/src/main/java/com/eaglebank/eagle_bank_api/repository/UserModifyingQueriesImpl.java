@@ -0,0 +1,75 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the changed row back through H2's data change delta tables, as
+ * {@link BankAccountModifyingQueriesImpl} does.
+ */
+class UserModifyingQueriesImpl implements UserModifyingQueries {
+
+    private static final String UPDATE_DETAILS = "select id, name, email, phone_number, address, created_timestamp, updated_timestamp "
+            + "from final table (update user_entity set name = :name, email = :email, phone_number = :phoneNumber, "
+            + "address = :address, updated_timestamp = :updatedTimestamp where id = :id)";
+    private static final String DELETE = "select id from old table (delete from user_entity where id = :id)";
+
+    private final EntityManager entityManager;
+
+    UserModifyingQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<UserEntity> updateUserDetails(Long id, String name, String email, String phoneNumber, String address,
+                                                  OffsetDateTime updatedTimestamp) {
+        List<Object[]> rows = entityManager.unwrap(Session.class).createNativeQuery(UPDATE_DETAILS)
+                .addScalar("id", Long.class)
+                .addScalar("name", String.class)
+                .addScalar("email", String.class)
+                .addScalar("phone_number", String.class)
+                .addScalar("address", String.class)
+                .addScalar("created_timestamp", OffsetDateTime.class)
+                .addScalar("updated_timestamp", OffsetDateTime.class)
+                .setParameter("id", id)
+                .setParameter("name", name, String.class)
+                .setParameter("email", email, String.class)
+                .setParameter("phoneNumber", phoneNumber, String.class)
+                .setParameter("address", address, String.class)
+                .setParameter("updatedTimestamp", updatedTimestamp, OffsetDateTime.class)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        SecondLevelCacheEntries.evict(entityManager, UserEntity.class, id, null);
+        Object[] row = rows.get(0);
+        return Optional.of(UserEntity.builder()
+                .id((Long) row[0])
+                .name((String) row[1])
+                .email((String) row[2])
+                .phoneNumber((String) row[3])
+                .address((String) row[4])
+                .createdTimestamp((OffsetDateTime) row[5])
+                .updatedTimestamp((OffsetDateTime) row[6])
+                .build());
+    }
+
+    @Override
+    public int deleteUserById(Long id) {
+        int deleted = entityManager.unwrap(Session.class).createNativeQuery(DELETE)
+                .addScalar("id", Long.class)
+                .setParameter("id", id)
+                .getResultList()
+                .size();
+        if (deleted > 0) {
+            SecondLevelCacheEntries.evict(entityManager, UserEntity.class, id, null);
+        }
+        return deleted;
+    }
+}
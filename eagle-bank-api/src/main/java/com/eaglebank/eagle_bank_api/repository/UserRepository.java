@@ -2,7 +2,21 @@ package com.eaglebank.eagle_bank_api.repository;
 
 import com.eaglebank.eagle_bank_api.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
 
-}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserModifyingQueries {
+
+    @Query("select u.id from UserEntity u")
+    List<Long> findAllIds();
+
+    @Query("select min(u.id) as minId, max(u.id) as maxId from UserEntity u")
+    IdRangeView findIdRange();
+
+    @Query("select u.updatedTimestamp from UserEntity u where u.id = :id")
+    Optional<OffsetDateTime> findUpdatedTimestampById(@Param("id") Long id);
+}
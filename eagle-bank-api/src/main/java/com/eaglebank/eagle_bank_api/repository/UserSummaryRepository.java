@@ -0,0 +1,40 @@
+package com.eaglebank.eagle_bank_api.repository;
+
+import com.eaglebank.eagle_bank_api.model.UserSummaryEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserSummaryRepository extends JpaRepository<UserSummaryEntity, Long> {
+
+    /**
+     * Applies deltas in place, so concurrent changes to different accounts of one user only
+     * queue on the row lock instead of overwriting each other. Returns 0 when the user has no
+     * summary.
+     */
+    @Modifying
+    @Query("update UserSummaryEntity s set s.totalBalanceMinor = s.totalBalanceMinor + :balanceDelta, "
+            + "s.accountCount = s.accountCount + :accountDelta, "
+            + "s.stripedAccountCount = s.stripedAccountCount + :stripedDelta, "
+            + "s.lastActivityTimestamp = :now "
+            + "where s.userId = :userId")
+    int adjust(@Param("userId") Long userId, @Param("balanceDelta") long balanceDelta, @Param("accountDelta") int accountDelta,
+               @Param("stripedDelta") int stripedDelta, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("delete from UserSummaryEntity s where s.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    List<UserSummaryEntity> findByUserIdBetween(Long fromId, Long toId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserSummaryEntity s where s.userId = :userId")
+    Optional<UserSummaryEntity> findForUpdateById(@Param("userId") Long userId);
+}
@@ -0,0 +1,101 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.eaglebank.eagle_bank_api.repository.AccountOwnerView;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory accountNumber → owner id map, loaded once before the web server starts and
+ * kept current by BankAccountService, so ownership checks never join against users.
+ * Accounts created without an authenticated owner are recorded as unowned and are not
+ * accessible to any principal. An account this node has not seen, such as one created on
+ * another node, is looked up in the database and cached; one that is not there either is
+ * not accessible.
+ */
+@Component
+public class AccountOwnershipRegistry implements InitializingBean {
+
+    private static final long UNOWNED = -1L;
+
+    private final ConcurrentHashMap<String, Long> owners = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> accountsByOwner = new ConcurrentHashMap<>();
+    private final BankAccountRepository bankAccountRepository;
+
+    public AccountOwnershipRegistry(BankAccountRepository bankAccountRepository) {
+        this.bankAccountRepository = bankAccountRepository;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        for (AccountOwnerView account : bankAccountRepository.findAllAccountOwners()) {
+            register(account.getAccountNumber(), account.getOwnerId());
+        }
+    }
+
+    public void register(String accountNumber, Long ownerId) {
+        long owner = ownerId == null ? UNOWNED : ownerId;
+        Long previous = owners.put(accountNumber, owner);
+        if (previous != null && previous != owner) {
+            unindex(previous, accountNumber);
+        }
+        if (owner != UNOWNED) {
+            accountsByOwner.compute(owner, (key, accounts) -> {
+                Set<String> updated = accounts == null ? ConcurrentHashMap.newKeySet() : accounts;
+                updated.add(accountNumber);
+                return updated;
+            });
+        }
+    }
+
+    public void remove(String accountNumber) {
+        Long owner = owners.remove(accountNumber);
+        if (owner != null) {
+            unindex(owner, accountNumber);
+        }
+    }
+
+    /**
+     * Account numbers owned by the user, as a snapshot.
+     */
+    public Set<String> accountsOwnedBy(long userKey) {
+        Set<String> accounts = accountsByOwner.get(userKey);
+        return accounts == null ? Set.of() : Set.copyOf(accounts);
+    }
+
+    public boolean isOwnedBy(String accountNumber, long userKey) {
+        Long owner = ownerOf(accountNumber);
+        return owner != null && owner == userKey;
+    }
+
+    public int size() {
+        return owners.size();
+    }
+
+    /**
+     * Owner id, {@link #UNOWNED}, or null when the account does not exist.
+     */
+    private Long ownerOf(String accountNumber) {
+        Long owner = owners.get(accountNumber);
+        if (owner != null) {
+            return owner;
+        }
+        Optional<AccountOwnerView> stored = bankAccountRepository.findOwnerByAccountNumber(accountNumber);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        register(accountNumber, stored.get().getOwnerId());
+        return stored.get().getOwnerId() == null ? UNOWNED : stored.get().getOwnerId();
+    }
+
+    private void unindex(long owner, String accountNumber) {
+        accountsByOwner.computeIfPresent(owner, (key, accounts) -> {
+            accounts.remove(accountNumber);
+            return accounts.isEmpty() ? null : accounts;
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * The user a verified bearer token was issued to.
+ *
+ * @param userId    public user id, e.g. {@code usr-42}
+ * @param userKey   numeric primary key behind {@code userId}
+ * @param expiresAt token expiry
+ */
+public record AuthenticatedPrincipal(String userId, long userKey, Instant expiresAt) {
+
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedPrincipal.class.getName();
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Principal of the request bound to the current thread, empty outside a request or when
+     * authentication is disabled.
+     */
+    public static Optional<AuthenticatedPrincipal> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((AuthenticatedPrincipal) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    /**
+     * {@link #userKey} of the current request's principal, or 0 when there is none. Unlike
+     * {@link #current()} this allocates nothing.
+     */
+    public static long currentUserKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof AuthenticatedPrincipal principal) {
+            return principal.userKey();
+        }
+        return 0;
+    }
+
+    /**
+     * Identity used for per-caller state: the user id when authenticated, otherwise the remote address.
+     */
+    public static String clientKey(HttpServletRequest request) {
+        if (request.getAttribute(REQUEST_ATTRIBUTE) instanceof AuthenticatedPrincipal principal) {
+            return principal.userId();
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * {@link #clientKey} of the request bound to the current thread, empty outside a request.
+     */
+    public static Optional<String> currentClientKey() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return Optional.of(clientKey(attributes.getRequest()));
+        }
+        return Optional.empty();
+    }
+}
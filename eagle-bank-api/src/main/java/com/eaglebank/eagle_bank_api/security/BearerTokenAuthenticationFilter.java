@@ -0,0 +1,83 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import com.eaglebank.eagle_bank_api.web.ErrorResponses;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates account, user and export operations with a bearer JWT. User creation stays open,
+ * as in the spec. The verified principal is exposed as a request attribute for the
+ * ownership checks and the services.
+ *
+ * <p>Whether a request is protected is decided on the path the way the dispatcher routes it:
+ * decoded, with {@code ;} path parameters and repeated slashes removed. Matching the raw request
+ * URI would let {@code /api/v1;x=y/accounts/...} reach a protected handler unauthenticated.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Pattern PROTECTED_PATH = Pattern.compile("^(/api)?/v1/(accounts|users/|exports/).*");
+    private static final Pattern REPEATED_SLASHES = Pattern.compile("/{2,}");
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final byte[] UNAUTHORIZED_BODY = ErrorResponses.template("Access token is missing or invalid");
+
+    private final JwtVerifier jwtVerifier;
+    private final VerifiedTokenCache tokenCache;
+    private final Clock clock;
+    private final WarmUpRequests warmUpRequests;
+
+    public BearerTokenAuthenticationFilter(JwtVerifier jwtVerifier, VerifiedTokenCache tokenCache, Clock clock,
+                                           WarmUpRequests warmUpRequests) {
+        this.jwtVerifier = jwtVerifier;
+        this.tokenCache = tokenCache;
+        this.clock = clock;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = REPEATED_SLASHES.matcher(PATH_HELPER.getPathWithinApplication(request)).replaceAll("/");
+        return !PROTECTED_PATH.matcher(path).matches() || warmUpRequests.isWarmUp(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            unauthorized(response);
+            return;
+        }
+
+        AuthenticatedPrincipal principal;
+        try {
+            principal = tokenCache.authenticate(authorization.substring(BEARER_PREFIX.length()).trim(), jwtVerifier::verify);
+        } catch (InvalidTokenException e) {
+            unauthorized(response);
+            return;
+        }
+        if (principal.isExpired(clock.instant())) {
+            unauthorized(response);
+            return;
+        }
+
+        request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal);
+        filterChain.doFilter(request, response);
+    }
+
+    private void unauthorized(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        ErrorResponses.write(response, HttpStatus.UNAUTHORIZED, UNAUTHORIZED_BODY);
+    }
+}
@@ -0,0 +1,8 @@
+package com.eaglebank.eagle_bank_api.security;
+
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
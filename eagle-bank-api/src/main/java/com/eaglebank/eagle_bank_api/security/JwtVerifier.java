@@ -0,0 +1,101 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verifies compact RS256 JWS tokens against a single public key. The subject must be a
+ * user id ({@code usr-<number>}) and {@code exp} is mandatory; {@code nbf} is honoured
+ * when present. Both time checks allow for the configured clock skew.
+ */
+public class JwtVerifier {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final PublicKey publicKey;
+    private final Clock clock;
+    private final Duration clockSkew;
+
+    public JwtVerifier(PublicKey publicKey, Clock clock, Duration clockSkew) {
+        this.publicKey = publicKey;
+        this.clock = clock;
+        this.clockSkew = clockSkew;
+    }
+
+    public AuthenticatedPrincipal verify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        JsonNode header = readJson(token.substring(0, firstDot));
+        if (!"RS256".equals(header.path("alg").asText())) {
+            throw new InvalidTokenException("Unsupported token algorithm");
+        }
+        verifySignature(token, secondDot);
+
+        JsonNode claims = readJson(token.substring(firstDot + 1, secondDot));
+        Instant now = clock.instant();
+
+        JsonNode exp = claims.get("exp");
+        if (exp == null || !exp.canConvertToLong()) {
+            throw new InvalidTokenException("Token has no expiry");
+        }
+        Instant expiresAt = Instant.ofEpochSecond(exp.asLong());
+        if (!now.minus(clockSkew).isBefore(expiresAt)) {
+            throw new InvalidTokenException("Token has expired");
+        }
+
+        JsonNode nbf = claims.get("nbf");
+        if (nbf != null && now.plus(clockSkew).isBefore(Instant.ofEpochSecond(nbf.asLong()))) {
+            throw new InvalidTokenException("Token is not valid yet");
+        }
+
+        String subject = claims.path("sub").asText("");
+        return new AuthenticatedPrincipal(subject, parseUserKey(subject), expiresAt.plus(clockSkew));
+    }
+
+    private void verifySignature(String token, int secondDot) {
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(publicKey);
+            signature.update(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(DECODER.decode(token.substring(secondDot + 1)))) {
+                throw new InvalidTokenException("Invalid token signature");
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+    }
+
+    private JsonNode readJson(String base64Url) {
+        try {
+            return OBJECT_MAPPER.readTree(DECODER.decode(base64Url));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token");
+        }
+    }
+
+    private long parseUserKey(String subject) {
+        if (!subject.startsWith("usr-")) {
+            throw new InvalidTokenException("Token subject is not a user");
+        }
+        try {
+            return Long.parseLong(subject.substring(4));
+        } catch (NumberFormatException e) {
+            throw new InvalidTokenException("Token subject is not a user");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.eaglebank.eagle_bank_api.web.ErrorResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Answers 403 when the authenticated principal addresses an account it does not own or a
+ * user other than itself. Registered after the rate-limit and concurrency interceptors, which
+ * bound the owner lookups it makes and reveal nothing about the resource, and before the
+ * read-your-writes and conditional-GET interceptors, so nothing about a foreign resource,
+ * including whether it changed, is revealed.
+ */
+public class OwnershipInterceptor implements HandlerInterceptor {
+
+    private static final byte[] ACCOUNT_FORBIDDEN_BODY = ErrorResponses.template("The user is not allowed to access the bank account details");
+    private static final byte[] USER_FORBIDDEN_BODY = ErrorResponses.template("The user is not allowed to access the user details");
+
+    private final AccountOwnershipRegistry accountOwnershipRegistry;
+
+    public OwnershipInterceptor(AccountOwnershipRegistry accountOwnershipRegistry) {
+        this.accountOwnershipRegistry = accountOwnershipRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) request.getAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE);
+        if (principal == null) {
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null) {
+            return true;
+        }
+
+        String accountNumber = pathVariables.get("accountNumber");
+        if (accountNumber != null && !accountOwnershipRegistry.isOwnedBy(accountNumber, principal.userKey())) {
+            ErrorResponses.write(response, HttpStatus.FORBIDDEN, ACCOUNT_FORBIDDEN_BODY);
+            return false;
+        }
+
+        String userId = pathVariables.get("userId");
+        if (userId != null && !userId.equals(principal.userId())) {
+            ErrorResponses.write(response, HttpStatus.FORBIDDEN, USER_FORBIDDEN_BODY);
+            return false;
+        }
+        return true;
+    }
+}
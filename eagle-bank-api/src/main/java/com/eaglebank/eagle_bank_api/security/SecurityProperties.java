@@ -0,0 +1,24 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+
+/**
+ * @param keystore         keystore holding the token signing certificate
+ * @param keystoreType     keystore format
+ * @param keystorePassword keystore password, may be empty for certificate-only stores
+ * @param keyAlias         alias of the signing certificate
+ * @param tokenCacheSize   maximum number of verified tokens kept in memory
+ * @param clockSkew        tolerance applied to exp and nbf
+ */
+@ConfigurationProperties(prefix = "eaglebank.security")
+public record SecurityProperties(Resource keystore,
+                                 @DefaultValue("PKCS12") String keystoreType,
+                                 String keystorePassword,
+                                 String keyAlias,
+                                 @DefaultValue("100000") long tokenCacheSize,
+                                 @DefaultValue("30s") Duration clockSkew) {
+}
@@ -0,0 +1,58 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified, so a repeat request
+ * with the same token costs a hash lookup instead of an RSA verification. Each entry
+ * expires with its token; failed verifications are never cached.
+ */
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final long MAX_ENTRY_LIFETIME_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    private final Cache<String, AuthenticatedPrincipal> cache;
+
+    public VerifiedTokenCache(long maximumSize, Clock clock) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, AuthenticatedPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String token, AuthenticatedPrincipal principal, long currentTime) {
+                        long seconds = Duration.between(clock.instant(), principal.expiresAt()).getSeconds();
+                        return seconds <= 0 ? 0 : TimeUnit.SECONDS.toNanos(Math.min(seconds, MAX_ENTRY_LIFETIME_SECONDS));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, AuthenticatedPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, AuthenticatedPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public AuthenticatedPrincipal authenticate(String token, Function<String, AuthenticatedPrincipal> verifier) {
+        return cache.get(token, verifier);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verified-tokens");
+    }
+}
@@ -0,0 +1,92 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.AuthenticationRequiredException;
+import com.eaglebank.eagle_bank_api.exception.BadBankAccountRequestException;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import com.eaglebank.eagle_bank_api.security.AccountOwnershipRegistry;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.eaglebank.eagle_bank_api.security.JwtVerifier;
+import com.eaglebank.eagle_bank_api.subscription.AccountEventHub;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Service
+public class AccountSubscriptionService {
+
+    static final int MAX_ACCOUNTS_PER_SUBSCRIPTION = 100;
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^01\\d{6}$");
+
+    private final AccountEventHub accountEventHub;
+    private final AccountOwnershipRegistry accountOwnershipRegistry;
+    private final boolean authenticationRequired;
+
+    /**
+     * {@code jwtVerifier} is only available when security is enabled; subscriptions then need
+     * a principal.
+     */
+    public AccountSubscriptionService(AccountEventHub accountEventHub, AccountOwnershipRegistry accountOwnershipRegistry,
+                                      ObjectProvider<JwtVerifier> jwtVerifier) {
+        this.accountEventHub = accountEventHub;
+        this.accountOwnershipRegistry = accountOwnershipRegistry;
+        this.authenticationRequired = jwtVerifier.getIfAvailable() != null;
+    }
+
+    /**
+     * Opens an event stream for the requested accounts, or for all of the caller's accounts
+     * when none are named. Accounts the caller does not own are left out, as in batch fetch;
+     * if that leaves nothing the subscription is answered as not found. With security enabled,
+     * a caller without a principal is rejected rather than trusted with every account, in case
+     * the path ever escapes the authentication filter. Empty when the server is at its
+     * subscriber limit.
+     */
+    public Optional<SseEmitter> subscribe(List<String> accountNumbers) {
+        Optional<AuthenticatedPrincipal> principal = AuthenticatedPrincipal.current();
+        if (principal.isEmpty() && authenticationRequired) {
+            throw new AuthenticationRequiredException("Access token is missing or invalid");
+        }
+        Set<String> requested = accountNumbers == null ? Set.of() : new LinkedHashSet<>(accountNumbers);
+
+        if (requested.isEmpty()) {
+            if (principal.isEmpty()) {
+                throw new BadBankAccountRequestException("Bad request: at least one account number is required");
+            }
+            requested = accountOwnershipRegistry.accountsOwnedBy(principal.get().userKey());
+            if (requested.isEmpty()) {
+                throw new BankAccountNotFoundException("No bank accounts found for user: ", principal.get().userId());
+            }
+        }
+        if (requested.size() > MAX_ACCOUNTS_PER_SUBSCRIPTION) {
+            throw new BadBankAccountRequestException("Bad request: at most " + MAX_ACCOUNTS_PER_SUBSCRIPTION + " accounts can be subscribed to at once");
+        }
+
+        List<String> invalid = new ArrayList<>();
+        for (String accountNumber : requested) {
+            if (accountNumber == null || !ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches()) {
+                invalid.add(accountNumber);
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new BadBankAccountRequestException("Validation failed: invalid account numbers " + invalid);
+        }
+
+        List<String> visible = new ArrayList<>(requested.size());
+        for (String accountNumber : requested) {
+            if (principal.isEmpty() || accountOwnershipRegistry.isOwnedBy(accountNumber, principal.get().userKey())) {
+                visible.add(accountNumber);
+            }
+        }
+        if (visible.isEmpty()) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", requested.iterator().next());
+        }
+
+        return accountEventHub.subscribe(visible);
+    }
+}
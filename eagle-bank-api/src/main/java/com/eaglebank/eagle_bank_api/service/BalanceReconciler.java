@@ -0,0 +1,294 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies that every account's balance, including pending hot-account stripes, equals its
+ * deposits minus its withdrawals. Accounts always open at zero, so there is no opening
+ * balance to allow for.
+ *
+ * <p>Accounts are verified {@code partition-size} at a time by one aggregate query that sums
+ * the stripes and the transactions of the whole partition in a single statement, so the
+ * balance and the transactions come from the same snapshot. {@code threads} partitions run at
+ * once.
+ *
+ * <p>A full run verifies every account, by id range. Later runs only verify accounts changed
+ * since the previous run started: accounts and stripes updated since then, accounts with a
+ * transaction above the previous run's highest transaction id, and accounts that mismatched
+ * last time. Every balance change updates the account row or a stripe, so the timestamps
+ * catch transactions that were still uncommitted, with ids below the mark, when the previous
+ * run started, as long as none takes longer than {@code lookback}. A full run is repeated
+ * every {@code full-run-interval}, which also catches changes made behind the application's
+ * back. The checkpoint only moves forward when every partition was verified.
+ *
+ * <p>Mismatches are written to {@code report-<time>.csv} and published as the
+ * {@code eaglebank.reconciliation.mismatches} gauge. Partitions that failed are listed with
+ * the cause in {@code failures-<time>.csv}. Both files are forced to disk before the
+ * checkpoint is replaced.
+ */
+@Component
+public class BalanceReconciler {
+
+    static final String CHECKPOINT_FILE = "checkpoint.properties";
+
+    private static final String VERIFY_SQL = "select a.id, a.account_number, round(a.balance * 100) + coalesce(s.amount_minor, 0), "
+            + "coalesce(t.net_minor, 0) "
+            + "from bank_account_entity a "
+            + "left join (select account_id, sum(amount_minor) as amount_minor from balance_stripe "
+            + "where account_id between :fromId and :toId%1$s group by account_id) s on s.account_id = a.id "
+            + "left join (select account_id, "
+            + "sum(case when type = 'DEPOSIT' then round(amount * 100) else -round(amount * 100) end) as net_minor "
+            + "from account_transaction where account_id between :fromId and :toId%1$s group by account_id) t "
+            + "on t.account_id = a.id "
+            + "where a.id between :fromId and :toId%2$s";
+    static final String VERIFY_RANGE_SQL = String.format(VERIFY_SQL, "", "");
+    static final String VERIFY_ACCOUNTS_SQL = String.format(VERIFY_SQL, " and account_id in (:ids)", " and a.id in (:ids)");
+    static final String CHANGED_ACCOUNTS_SQL = "select id from bank_account_entity where updated_timestamp >= :since "
+            + "union select account_id from balance_stripe where updated_timestamp >= :since "
+            + "union select account_id from account_transaction where id > :transactionId";
+    static final String ID_RANGE_SQL = "select min(id), max(id) from bank_account_entity";
+    static final String MAX_TRANSACTION_ID_SQL = "select coalesce(max(id), 0) from account_transaction";
+
+    private static final DateTimeFormatter REPORT_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+    private final BalanceReconciliationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Counter accounts;
+    private final Counter partitionsVerified;
+    private final Counter partitionsFailed;
+    private final AtomicLong lastMismatches = new AtomicLong();
+
+    public BalanceReconciler(NamedParameterJdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             BalanceReconciliationProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.accounts = meterRegistry.counter("eaglebank.reconciliation.accounts");
+        this.partitionsVerified = meterRegistry.counter("eaglebank.reconciliation.partitions", "outcome", "verified");
+        this.partitionsFailed = meterRegistry.counter("eaglebank.reconciliation.partitions", "outcome", "failed");
+        Gauge.builder("eaglebank.reconciliation.mismatches", lastMismatches, AtomicLong::get)
+                .description("Accounts whose balance did not match their transactions in the last run")
+                .register(meterRegistry);
+    }
+
+    public synchronized Result run() throws InterruptedException {
+        OffsetDateTime started = OffsetDateTime.now(ZoneOffset.UTC);
+        Checkpoint previous = readCheckpoint();
+        boolean full = previous == null || !previous.fullRunAt().plus(properties.fullRunInterval()).isAfter(started);
+        long transactionMark = jdbcTemplate.queryForObject(MAX_TRANSACTION_ID_SQL, Map.of(), Long.class);
+        List<Partition> partitions = full ? rangePartitions() : changedPartitions(previous);
+
+        Queue<Mismatch> mismatches = new ConcurrentLinkedQueue<>();
+        AtomicLong verified = new AtomicLong();
+        Queue<PartitionFailure> failures = new ConcurrentLinkedQueue<>();
+        long startNanos = System.nanoTime();
+        PartitionRunner.run("Balance reconciliation", partitions, properties.threads(), partition -> {
+            try {
+                verify(partition, verified, mismatches);
+                partitionsVerified.increment();
+            } catch (RuntimeException e) {
+                failures.add(PartitionFailure.of(partition.fromId(), partition.toId(), e));
+                partitionsFailed.increment();
+            }
+        });
+
+        List<Mismatch> found = mismatches.stream().sorted(Comparator.comparingLong(Mismatch::accountId)).toList();
+        List<PartitionFailure> failed = failures.stream().sorted(Comparator.comparingLong(PartitionFailure::fromId)).toList();
+        Path report = properties.directory().resolve("report-" + REPORT_TIME.format(started) + ".csv");
+        writeReport(report, found, failed);
+        if (failed.isEmpty()) {
+            writeCheckpoint(new Checkpoint(started, transactionMark, full ? started : previous.fullRunAt(),
+                    found.stream().map(Mismatch::accountId).toList()));
+        }
+        lastMismatches.set(found.size());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        meterRegistry.timer("eaglebank.reconciliation.run", "mode", full ? "full" : "incremental").record(elapsed);
+        return new Result(full, partitions.size(), failed, verified.get(), found, report, elapsed);
+    }
+
+    private List<Partition> rangePartitions() {
+        Long[] range = jdbcTemplate.queryForObject(ID_RANGE_SQL, Map.of(), (rs, rowNum) ->
+                new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        int size = properties.partitionSize();
+        return PartitionRunner.alignedRanges(range[0], range[1], size).stream()
+                .map(fromId -> new Partition(fromId, fromId + size - 1, null))
+                .toList();
+    }
+
+    private List<Partition> changedPartitions(Checkpoint previous) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("since", previous.startedAt().minus(properties.lookback()))
+                .addValue("transactionId", previous.transactionId());
+        TreeSet<Long> changed = new TreeSet<>(jdbcTemplate.queryForList(CHANGED_ACCOUNTS_SQL, parameters, Long.class));
+        changed.addAll(previous.mismatchedAccountIds());
+
+        List<Partition> partitions = new ArrayList<>();
+        List<Long> chunk = new ArrayList<>(properties.partitionSize());
+        for (Long accountId : changed) {
+            chunk.add(accountId);
+            if (chunk.size() == properties.partitionSize()) {
+                partitions.add(new Partition(chunk.get(0), accountId, chunk));
+                chunk = new ArrayList<>(properties.partitionSize());
+            }
+        }
+        if (!chunk.isEmpty()) {
+            partitions.add(new Partition(chunk.get(0), chunk.get(chunk.size() - 1), chunk));
+        }
+        return partitions;
+    }
+
+    private void verify(Partition partition, AtomicLong verified, Queue<Mismatch> mismatches) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("fromId", partition.fromId())
+                .addValue("toId", partition.toId());
+        String sql = VERIFY_RANGE_SQL;
+        if (partition.accountIds() != null) {
+            parameters.addValue("ids", partition.accountIds());
+            sql = VERIFY_ACCOUNTS_SQL;
+        }
+        String query = sql;
+        readOnly.executeWithoutResult(status -> jdbcTemplate.query(query, parameters, rs -> {
+            long balanceMinor = rs.getLong(3);
+            long transactionTotalMinor = rs.getLong(4);
+            if (balanceMinor != transactionTotalMinor) {
+                mismatches.add(new Mismatch(rs.getLong(1), rs.getString(2), balanceMinor, transactionTotalMinor));
+            }
+            verified.incrementAndGet();
+            accounts.increment();
+        }));
+    }
+
+    /**
+     * Writes the mismatches and, when some partitions failed, a {@code failures-<time>.csv}
+     * beside the report naming them and the cause, both durably before the checkpoint moves.
+     */
+    private void writeReport(Path report, List<Mismatch> mismatches, List<PartitionFailure> failures) {
+        try {
+            Files.createDirectories(report.getParent());
+            DurableFiles.replace(report, out -> {
+                out.write("accountNumber,balance,transactionTotal,difference\n");
+                for (Mismatch mismatch : mismatches) {
+                    out.write(mismatch.accountNumber() + "," + amount(mismatch.balanceMinor()) + ","
+                            + amount(mismatch.transactionTotalMinor()) + "," + amount(mismatch.differenceMinor()) + "\n");
+                }
+            });
+            if (!failures.isEmpty()) {
+                DurableFiles.replace(report.resolveSibling(report.getFileName().toString().replace("report-", "failures-")),
+                        out -> PartitionFailure.writeCsv(out, failures));
+            }
+            DurableFiles.syncDirectory(report.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Checkpoint readCheckpoint() {
+        Path file = properties.directory().resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties values = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            values.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String mismatched = values.getProperty("mismatchedAccountIds", "");
+        return new Checkpoint(OffsetDateTime.parse(values.getProperty("startedAt")),
+                Long.parseLong(values.getProperty("transactionId")),
+                OffsetDateTime.parse(values.getProperty("fullRunAt")),
+                mismatched.isEmpty() ? List.of() : Arrays.stream(mismatched.split(",")).map(Long::valueOf).toList());
+    }
+
+    private void writeCheckpoint(Checkpoint checkpoint) {
+        Properties values = new Properties();
+        values.setProperty("startedAt", checkpoint.startedAt().toString());
+        values.setProperty("transactionId", Long.toString(checkpoint.transactionId()));
+        values.setProperty("fullRunAt", checkpoint.fullRunAt().toString());
+        values.setProperty("mismatchedAccountIds", checkpoint.mismatchedAccountIds().stream()
+                .map(String::valueOf).collect(Collectors.joining(",")));
+        try {
+            DurableFiles.replace(properties.directory().resolve(CHECKPOINT_FILE), out -> values.store(out, null));
+            DurableFiles.syncDirectory(properties.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String amount(long minor) {
+        return BigDecimal.valueOf(minor, 2).toPlainString();
+    }
+
+    /**
+     * @param accountIds the accounts to verify within {@code [fromId, toId]}, or null for all of them
+     */
+    private record Partition(long fromId, long toId, List<Long> accountIds) {
+    }
+
+    /**
+     * @param startedAt            when the run started; the next run verifies changes from then on
+     * @param transactionId        highest transaction id when the run started
+     * @param fullRunAt            start of the last run that verified every account
+     * @param mismatchedAccountIds accounts to verify again whether or not they change
+     */
+    private record Checkpoint(OffsetDateTime startedAt, long transactionId, OffsetDateTime fullRunAt,
+                              List<Long> mismatchedAccountIds) {
+    }
+
+    public record Mismatch(long accountId, String accountNumber, long balanceMinor, long transactionTotalMinor) {
+
+        public long differenceMinor() {
+            return balanceMinor - transactionTotalMinor;
+        }
+    }
+
+    /**
+     * @param full       whether every account was verified, rather than only changed ones
+     * @param partitions partitions verified or failed
+     * @param failures   partitions that could not be verified, with the cause; the checkpoint was kept so the next
+     *                   run covers them
+     * @param accounts   accounts verified
+     */
+    public record Result(boolean full, int partitions, List<PartitionFailure> failures, long accounts,
+                         List<Mismatch> mismatches, Path report, Duration elapsed) {
+
+        public int failed() {
+            return failures.size();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param directory       holds the checkpoint and one {@code report-<time>.csv} per run
+ * @param partitionSize   accounts verified per aggregate query
+ * @param threads         partitions verified at once
+ * @param scheduleEnabled runs the reconciliation every {@code interval}
+ * @param interval        wait between runs
+ * @param fullRunInterval longest time between runs that verify every account rather than only changed ones
+ * @param lookback        overlap with the previous run's start, longer than any balance-changing transaction
+ */
+@ConfigurationProperties(prefix = "eaglebank.reconciliation")
+public record BalanceReconciliationProperties(@DefaultValue("reconciliation") Path directory,
+                                              @DefaultValue("1000") int partitionSize,
+                                              @DefaultValue("4") int threads,
+                                              @DefaultValue("true") boolean scheduleEnabled,
+                                              @DefaultValue("1h") Duration interval,
+                                              @DefaultValue("7d") Duration fullRunInterval,
+                                              @DefaultValue("5m") Duration lookback) {
+}
@@ -1,69 +1,233 @@
 package com.eaglebank.eagle_bank_api.service;
 
+import com.eaglebank.eagle_bank_api.audit.AuditAction;
+import com.eaglebank.eagle_bank_api.audit.AuditLog;
+import com.eaglebank.eagle_bank_api.audit.AuditSubject;
 import com.eaglebank.eagle_bank_api.exception.BadBankAccountRequestException;
 import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import com.eaglebank.eagle_bank_api.mapper.BankAccountMapper;
 import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.eaglebank.eagle_bank_api.outbox.Outbox;
+import com.eaglebank.eagle_bank_api.outbox.OutboxEventType;
 import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.security.AccountOwnershipRegistry;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
 import com.example.project.model.BankAccountResponse;
+import com.example.project.model.BatchFetchAccountsResponse;
 import com.example.project.model.CreateBankAccountRequest;
 import com.example.project.model.UpdateBankAccountRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service
 public class BankAccountService {
-    private final BankAccountRepository bankAccountRepository;
+    static final int MAX_BATCH_FETCH_SIZE = 500;
+    static final String ACCOUNT_READS = "account";
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^01\\d{6}$");
 
-    public BankAccountService(BankAccountRepository bankAccountRepository) {
+    private final BankAccountRepository bankAccountRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final AccountOwnershipRegistry accountOwnershipRegistry;
+    private final ExistenceFilter accountExistenceFilter;
+    private final StripedBalances stripedBalances;
+    private final Outbox outbox;
+    private final AuditLog auditLog;
+    private final UserSummaries userSummaries;
+    private final DailyRollups dailyRollups;
+
+    public BankAccountService(BankAccountRepository bankAccountRepository,
+                              RequestCoalescer requestCoalescer,
+                              AccountOwnershipRegistry accountOwnershipRegistry,
+                              @Qualifier("accountExistenceFilter") ExistenceFilter accountExistenceFilter,
+                              StripedBalances stripedBalances,
+                              Outbox outbox,
+                              AuditLog auditLog,
+                              UserSummaries userSummaries,
+                              DailyRollups dailyRollups) {
         this.bankAccountRepository = bankAccountRepository;
+        this.requestCoalescer = requestCoalescer;
+        this.accountOwnershipRegistry = accountOwnershipRegistry;
+        this.accountExistenceFilter = accountExistenceFilter;
+        this.stripedBalances = stripedBalances;
+        this.outbox = outbox;
+        this.auditLog = auditLog;
+        this.userSummaries = userSummaries;
+        this.dailyRollups = dailyRollups;
     }
 
+    @Transactional
     public BankAccountResponse createBankAccount(CreateBankAccountRequest createBankAccountRequest) {
         if (createBankAccountRequest == null) {
             throw new BadBankAccountRequestException("Bad request: create bank account request must be valid");
         }
         validateCreateBankAccountRequest(createBankAccountRequest);
 
-        BankAccountEntity bankAccount = convertToEntity(createBankAccountRequest);
+        BankAccountEntity bankAccount = BankAccountMapper.toEntity(createBankAccountRequest);
         bankAccount.setAccountNumber(generateAccountNumber());
+        // Every transaction of a new account is rolled up as it posts.
+        bankAccount.setRollupsComplete(true);
+
+        // Only the owner's id is needed for the foreign key, so a detached stub avoids loading the user.
+        Long ownerId = AuthenticatedPrincipal.current().map(AuthenticatedPrincipal::userKey).orElse(null);
+        if (ownerId != null) {
+            bankAccount.setUser(UserEntity.builder().id(ownerId).build());
+        }
 
         BankAccountEntity savedAccount = bankAccountRepository.save(bankAccount);
-        return convertToResponse(savedAccount);
+        userSummaries.accountOpened(savedAccount);
+        accountOwnershipRegistry.register(savedAccount.getAccountNumber(), ownerId);
+        accountExistenceFilter.add(savedAccount.getAccountNumber());
+        auditLog.record(AuditSubject.ACCOUNT, AuditAction.CREATE, Long.parseLong(savedAccount.getAccountNumber()),
+                AuthenticatedPrincipal.currentUserKey());
+        BankAccountResponse response = BankAccountMapper.toResponse(savedAccount);
+        outbox.record(OutboxEventType.ACCOUNT_CREATED, savedAccount.getAccountNumber(), response);
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public BankAccountResponse fetchByAccountNumber(String accountNumber) {
         validateAccountNumber(accountNumber);
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+        }
+
+        // Joiners share the response, never the entity, which belongs to the loader's persistence context.
+        return requestCoalescer
+                .coalesce(ACCOUNT_READS, accountNumber, () -> bankAccountRepository.findByAccountNumber(accountNumber)
+                        .map(account -> {
+                            BankAccountResponse response = BankAccountMapper.toResponse(account);
+                            stripedBalances.addStripes(account, response);
+                            return response;
+                        }))
+                .orElseThrow(() -> {
+                    accountExistenceFilter.recordFalsePositive();
+                    return new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+                });
+    }
 
-        BankAccountEntity account = bankAccountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with account number: " + accountNumber));
+    @Transactional(readOnly = true)
+    public BatchFetchAccountsResponse fetchByAccountNumbers(List<String> accountNumbers) {
+        if (accountNumbers == null || accountNumbers.isEmpty()) {
+            throw new BadBankAccountRequestException("Bad request: at least one account number is required");
+        }
+        if (accountNumbers.size() > MAX_BATCH_FETCH_SIZE) {
+            throw new BadBankAccountRequestException("Bad request: at most " + MAX_BATCH_FETCH_SIZE + " account numbers can be fetched at once");
+        }
+
+        Set<String> requested = new LinkedHashSet<>(accountNumbers);
+        Optional<AuthenticatedPrincipal> principal = AuthenticatedPrincipal.current();
+        List<String> invalid = new ArrayList<>();
+        for (String accountNumber : requested) {
+            if (accountNumber == null || !ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches()) {
+                invalid.add(accountNumber);
+            }
+        }
+        if (!invalid.isEmpty()) {
+            throw new BadBankAccountRequestException("Validation failed: invalid account numbers " + invalid);
+        }
+
+        // Accounts the caller does not own are reported as not found rather than forbidden.
+        List<String> visible = new ArrayList<>(requested.size());
+        for (String accountNumber : requested) {
+            if ((principal.isEmpty() || accountOwnershipRegistry.isOwnedBy(accountNumber, principal.get().userKey()))
+                    && accountExistenceFilter.mightContain(accountNumber)) {
+                visible.add(accountNumber);
+            }
+        }
+
+        Map<String, BankAccountEntity> found = new HashMap<>();
+        if (!visible.isEmpty()) {
+            for (BankAccountEntity account : bankAccountRepository.findByAccountNumberIn(visible)) {
+                found.put(account.getAccountNumber(), account);
+            }
+        }
 
-        return convertToResponse(account);
+        BatchFetchAccountsResponse response = new BatchFetchAccountsResponse();
+        for (String accountNumber : requested) {
+            BankAccountEntity account = found.get(accountNumber);
+            if (account != null) {
+                BankAccountResponse accountResponse = BankAccountMapper.toResponse(account);
+                stripedBalances.addStripes(account, accountResponse);
+                response.addAccountsItem(accountResponse);
+            } else {
+                response.addNotFoundItem(accountNumber);
+            }
+        }
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OffsetDateTime> fetchLastModified(String accountNumber) {
+        validateAccountNumber(accountNumber);
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            return Optional.empty();
+        }
+
+        return bankAccountRepository.findUpdatedTimestampByAccountNumber(accountNumber);
     }
 
+    @Transactional
     public void deleteBankAccount(String accountNumber) {
         validateAccountNumber(accountNumber);
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found while attempting deletion. Account number: ", accountNumber);
+        }
 
-        BankAccountEntity account = bankAccountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found while attempting deletion. Account number: " + accountNumber));
+        // The row comes back as deleted, so the balance leaving the owner's summary is the one actually removed.
+        BankAccountEntity account = bankAccountRepository.deleteByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            accountExistenceFilter.recordFalsePositive();
+            throw new BankAccountNotFoundException("Bank account not found while attempting deletion. Account number: ", accountNumber);
+        }
 
-        bankAccountRepository.delete(account);
+        userSummaries.accountClosed(account);
+        stripedBalances.removeAll(account);
+        dailyRollups.removeAll(account.getId());
+        auditLog.record(AuditSubject.ACCOUNT, AuditAction.DELETE, Long.parseLong(accountNumber), AuthenticatedPrincipal.currentUserKey());
+        outbox.record(OutboxEventType.ACCOUNT_DELETED, accountNumber, Map.of("accountNumber", accountNumber));
+        requestCoalescer.invalidate(ACCOUNT_READS, accountNumber);
+        AfterCommit.run(() -> {
+            accountOwnershipRegistry.remove(accountNumber);
+            accountExistenceFilter.remove(accountNumber);
+        });
     }
 
+    @Transactional
     public BankAccountResponse updateBankAccount(String accountNumber, UpdateBankAccountRequest updateRequest) {
         validateAccountNumber(accountNumber);
         validateUpdateBankAccountRequest(updateRequest);
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+        }
 
-        BankAccountEntity existingAccount = bankAccountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new BankAccountNotFoundException("Bank account not found with account number: " + accountNumber));
+        // One statement that also returns the updated row; only that account's cache entry is evicted.
+        BankAccountEntity account = bankAccountRepository.updateAccountDetails(accountNumber, updateRequest.getName(),
+                        BankAccountMapper.toAccountType(updateRequest.getAccountType()), OffsetDateTime.now())
+                .orElseThrow(() -> {
+                    accountExistenceFilter.recordFalsePositive();
+                    return new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+                });
 
-        existingAccount.setName(updateRequest.getName());
-        existingAccount.setAccountType(BankAccountResponse.AccountTypeEnum.fromValue(updateRequest.getAccountType().getValue()));
+        requestCoalescer.invalidate(ACCOUNT_READS, accountNumber);
+        auditLog.record(AuditSubject.ACCOUNT, AuditAction.UPDATE, Long.parseLong(accountNumber), AuthenticatedPrincipal.currentUserKey());
 
-        BankAccountEntity updatedAccount = bankAccountRepository.save(existingAccount);
-        return convertToResponse(updatedAccount);
+        BankAccountResponse response = BankAccountMapper.toResponse(account);
+        stripedBalances.addStripes(account, response);
+        outbox.record(OutboxEventType.ACCOUNT_UPDATED, accountNumber, response);
+        return response;
     }
 
 
@@ -116,34 +280,16 @@ public class BankAccountService {
             throw new IllegalArgumentException("Account number is required");
         }
 
-        if (!accountNumber.matches("^01\\d{6}$")) {
+        if (!ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches()) {
             throw new IllegalArgumentException("Invalid account number format. Expected format: 01XXXXXX (8 digits starting with 01)");
         }
     }
 
-    private BankAccountEntity convertToEntity(CreateBankAccountRequest createRequest) {
-        return BankAccountEntity.builder()
-                .name(createRequest.getName())
-                .accountType(BankAccountResponse.AccountTypeEnum.fromValue(createRequest.getAccountType().getValue()))
-                .sortCode(BankAccountResponse.SortCodeEnum._10_10_10)
-                .balance(0.0)
-                .currency(BankAccountResponse.CurrencyEnum.GBP)
-                .build();
-    }
-
-    private BankAccountResponse convertToResponse(BankAccountEntity entity) {
-        BankAccountResponse response = new BankAccountResponse();
-        response.setAccountNumber(entity.getAccountNumber());
-        response.setSortCode(BankAccountResponse.SortCodeEnum.fromValue(entity.getSortCode().toString()));
-        response.setName(entity.getName());
-        response.setAccountType(BankAccountResponse.AccountTypeEnum.fromValue(entity.getAccountType().getValue()));
-        response.setBalance(entity.getBalance());
-        response.setCurrency(BankAccountResponse.CurrencyEnum.fromValue(entity.getCurrency().toString()));
-        response.setCreatedTimestamp(entity.getCreatedTimestamp());
-        response.setUpdatedTimestamp(entity.getUpdatedTimestamp());
-        return response;
-    }
-
+    /**
+     * Always asks the database: the existence filter only knows this instance's accounts. Two
+     * concurrent creates drawing the same number still collide on the unique column, which
+     * fails one of them rather than sharing the number.
+     */
     private String generateAccountNumber() {
 
         Random random = new Random();
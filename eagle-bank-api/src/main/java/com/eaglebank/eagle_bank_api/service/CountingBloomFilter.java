@@ -0,0 +1,132 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter with 4-bit counters instead of bits, so keys can be removed. Sixteen counters
+ * share a long and are updated with CAS. A counter that reaches 15 is never decremented again,
+ * which keeps removal from ever producing a false negative.
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long SATURATED = 0xFL;
+
+    private final AtomicLongArray words;
+    private final long counterCount;
+    private final int hashCount;
+
+    CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs at least one expected insertion and a false-positive rate in (0, 1)");
+        }
+        double ln2 = Math.log(2);
+        long counters = Math.max(COUNTERS_PER_WORD, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        long wordCount = (counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedInsertions + " insertions");
+        }
+
+        this.words = new AtomicLongArray((int) wordCount);
+        this.counterCount = wordCount * COUNTERS_PER_WORD;
+        this.hashCount = Math.max(1, (int) Math.round((double) counterCount / expectedInsertions * ln2));
+    }
+
+    void add(String key) {
+        long h1 = hash(key);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            increment(index(h1, h2, i));
+        }
+    }
+
+    void remove(String key) {
+        long h1 = hash(key);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            decrement(index(h1, h2, i));
+        }
+    }
+
+    boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = index(h1, h2, i);
+            if (counter(words.get(word(index)), shift(index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long counterCount() {
+        return counterCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private void increment(long index) {
+        int word = word(index);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            if (counter(current, shift) == SATURATED || words.compareAndSet(word, current, current + (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private void decrement(long index) {
+        int word = word(index);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long counter = counter(current, shift);
+            if (counter == 0 || counter == SATURATED || words.compareAndSet(word, current, current - (1L << shift))) {
+                return;
+            }
+        }
+    }
+
+    private long index(long h1, long h2, int i) {
+        return Math.floorMod(h1 + i * h2, counterCount);
+    }
+
+    private static int word(long index) {
+        return (int) (index / COUNTERS_PER_WORD);
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    private static long counter(long word, int shift) {
+        return (word >>> shift) & SATURATED;
+    }
+
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long secondHash(long h1) {
+        return mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53d3d1bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
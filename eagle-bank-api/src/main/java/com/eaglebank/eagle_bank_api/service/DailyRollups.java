@@ -0,0 +1,106 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.model.AccountDailyRollupEntity;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.AccountStripingView;
+import com.eaglebank.eagle_bank_api.repository.DailyTotalView;
+import com.example.project.model.TransactionResponse;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Per-account, per-day totals kept current as transactions post, so statements and analytics
+ * read one row per day instead of every transaction.
+ *
+ * <p>Each rollup row has exactly one kind of writer, which already holds a lock that
+ * serialises it: the account row lock for slot {@link #LOCKED_SLOT}, the stripe's row lock
+ * for the slot a striped deposit landed in. Updating in place and inserting when nothing was
+ * updated is therefore race-free.
+ */
+@Service
+public class DailyRollups {
+
+    static final int LOCKED_SLOT = -1;
+
+    private final AccountDailyRollupRepository rollupRepository;
+
+    public DailyRollups(AccountDailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Adds a posted transaction to its day.
+     *
+     * @param postedAt the transaction's creation time; days are UTC days
+     */
+    void posted(long accountId, int slot, OffsetDateTime postedAt, TransactionResponse.TypeEnum type, long amountMinor) {
+        LocalDate day = dayOf(postedAt == null ? OffsetDateTime.now() : postedAt);
+        boolean credit = type == TransactionResponse.TypeEnum.DEPOSIT;
+        long credits = credit ? amountMinor : 0;
+        long debits = credit ? 0 : amountMinor;
+        int creditCount = credit ? 1 : 0;
+        int debitCount = credit ? 0 : 1;
+
+        if (rollupRepository.add(accountId, day, slot, credits, debits, creditCount, debitCount) == 0) {
+            rollupRepository.save(AccountDailyRollupEntity.builder()
+                    .accountId(accountId)
+                    .day(day)
+                    .slot(slot)
+                    .creditsMinor(credits)
+                    .debitsMinor(debits)
+                    .creditCount(creditCount)
+                    .debitCount(debitCount)
+                    .build());
+        }
+    }
+
+    /**
+     * The account's days with transactions in {@code [from, to]}, with closing balances.
+     * Rollups store flows only, because a deposit into one stripe cannot know the account's
+     * balance. Closing balances are therefore worked back from {@code currentBalanceMinor},
+     * which must be read in the same snapshot as the rollups. That only works once the rollups
+     * hold the account's full history, so accounts the backfill has not covered yet are refused.
+     */
+    Range range(AccountStripingView account, long currentBalanceMinor, LocalDate from, LocalDate to) {
+        if (!account.isRollupsComplete()) {
+            throw new BadTransactionRequestException(
+                    "Daily rollups are not available until the rollup backfill has covered the account");
+        }
+        long accountId = account.getId();
+        long closing = currentBalanceMinor - rollupRepository.sumNetAfter(accountId, to);
+        List<DailyTotalView> totals = rollupRepository.sumByDay(accountId, from, to);
+
+        Day[] days = new Day[totals.size()];
+        long balance = closing;
+        long credits = 0;
+        long debits = 0;
+        for (int i = totals.size() - 1; i >= 0; i--) {
+            DailyTotalView total = totals.get(i);
+            days[i] = new Day(total.getDay(), total.getCreditsMinor(), total.getDebitsMinor(),
+                    (int) total.getCreditCount(), (int) total.getDebitCount(), balance);
+            balance -= total.getCreditsMinor() - total.getDebitsMinor();
+            credits += total.getCreditsMinor();
+            debits += total.getDebitsMinor();
+        }
+        return new Range(balance, closing, credits, debits, List.of(days));
+    }
+
+    void removeAll(long accountId) {
+        rollupRepository.deleteByAccountId(accountId);
+    }
+
+    static LocalDate dayOf(OffsetDateTime timestamp) {
+        return timestamp.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate();
+    }
+
+    record Day(LocalDate date, long creditsMinor, long debitsMinor, int creditCount, int debitCount, long closingBalanceMinor) {
+    }
+
+    record Range(long openingBalanceMinor, long closingBalanceMinor, long creditsMinor, long debitsMinor, List<Day> days) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Negative lookup cache for one kind of key. A "no" from {@link #mightContain} is definite
+ * and lets the caller answer not-found without touching the database; a "yes" still has to
+ * be checked. Until {@link #load} has run every key might exist.
+ * <p>
+ * Keys are added after the row is saved and removed after it is deleted, so the filter can
+ * over-report but never hides a committed row.
+ * <p>
+ * Exposes {@code eaglebank.existence_filter.lookups} tagged by filter and outcome
+ * ({@code absent} or {@code maybe_present}), {@code eaglebank.existence_filter.false_positives}
+ * and the {@code eaglebank.existence_filter.keys} / {@code .capacity} gauges.
+ */
+public class ExistenceFilter {
+
+    private final String name;
+    private final long expectedKeys;
+    private final CountingBloomFilter filter;
+    private final AtomicLong keys = new AtomicLong();
+    private final Counter absent;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+    private volatile boolean loaded;
+
+    public ExistenceFilter(String name, long expectedKeys, double falsePositiveRate, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.expectedKeys = expectedKeys;
+        this.filter = new CountingBloomFilter(expectedKeys, falsePositiveRate);
+        this.absent = lookups(meterRegistry, "absent");
+        this.maybePresent = lookups(meterRegistry, "maybe_present");
+        this.falsePositives = Counter.builder("eaglebank.existence_filter.false_positives")
+                .description("Keys the filter reported as possibly present that were not found")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.existence_filter.keys", keys, AtomicLong::get)
+                .description("Keys currently in the existence filter")
+                .tag("filter", name)
+                .register(meterRegistry);
+        Gauge.builder("eaglebank.existence_filter.capacity", this, ExistenceFilter::expectedKeys)
+                .description("Keys the filter was sized for at the configured false-positive rate")
+                .tag("filter", name)
+                .register(meterRegistry);
+    }
+
+    public void load(Collection<?> existingKeys) {
+        for (Object key : existingKeys) {
+            add(key);
+        }
+        loaded = true;
+    }
+
+    public boolean mightContain(Object key) {
+        if (!loaded) {
+            return true;
+        }
+        boolean result = filter.mightContain(key.toString());
+        (result ? maybePresent : absent).increment();
+        return result;
+    }
+
+    public void add(Object key) {
+        filter.add(key.toString());
+        keys.incrementAndGet();
+    }
+
+    public void remove(Object key) {
+        filter.remove(key.toString());
+        keys.decrementAndGet();
+    }
+
+    public void recordFalsePositive() {
+        if (loaded) {
+            falsePositives.increment();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    private double expectedKeys() {
+        return expectedKeys;
+    }
+
+    private Counter lookups(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("eaglebank.existence_filter.lookups")
+                .description("Existence filter lookups")
+                .tag("filter", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled           answer definite not-founds from memory. The filters only learn of keys created on this
+ *                          instance, so turn them off when more than one instance writes to the same database, or
+ *                          rows created elsewhere would answer 404 here
+ * @param expectedAccounts  account numbers the filter is sized for; beyond this the false-positive rate climbs
+ * @param expectedUsers     user ids the filter is sized for
+ * @param falsePositiveRate target rate of "maybe" answers for keys that do not exist
+ */
+@ConfigurationProperties(prefix = "eaglebank.existence-filter")
+public record ExistenceFilterProperties(@DefaultValue("true") boolean enabled,
+                                        @DefaultValue("1000000") long expectedAccounts,
+                                        @DefaultValue("1000000") long expectedUsers,
+                                        @DefaultValue("0.01") double falsePositiveRate) {
+}
@@ -0,0 +1,47 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint {@code hotaccounts} that switches an account to striped balances, or back,
+ * while the application runs. The startup list only covers accounts that already exist when
+ * the application starts, which an in-memory database never has. Not exposed by default:
+ * actuator endpoints are not authenticated, so expose it only where clients cannot reach it.
+ */
+@Endpoint(id = "hotaccounts")
+public class HotAccountEndpoint {
+
+    private final StripedBalances stripedBalances;
+    private final HotAccountProperties properties;
+
+    public HotAccountEndpoint(StripedBalances stripedBalances, HotAccountProperties properties) {
+        this.stripedBalances = stripedBalances;
+        this.properties = properties;
+    }
+
+    /**
+     * Stripes the account over {@code stripes} slots, or the configured number when omitted.
+     * Answers 404 when the account does not exist.
+     */
+    @WriteOperation
+    public HotAccount enable(@Selector String accountNumber, @Nullable Integer stripes) {
+        int count = stripes == null ? properties.stripes() : stripes;
+        if (count < 1) {
+            throw new InvalidEndpointRequestException("At least one balance stripe is required", "stripes must be positive");
+        }
+        return stripedBalances.enable(accountNumber, count) ? new HotAccount(accountNumber, count) : null;
+    }
+
+    @DeleteOperation
+    public HotAccount disable(@Selector String accountNumber) {
+        return stripedBalances.disable(accountNumber) ? new HotAccount(accountNumber, 0) : null;
+    }
+
+    public record HotAccount(String accountNumber, int stripes) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * @param stripes        sub-balance slots per hot account; roughly the number of deposits expected to run at once
+ * @param accountNumbers accounts switched to striped balances at startup, when they already exist
+ */
+@ConfigurationProperties(prefix = "eaglebank.hot-accounts")
+public record HotAccountProperties(@DefaultValue("16") int stripes,
+                                   List<String> accountNumbers) {
+
+    public HotAccountProperties {
+        accountNumbers = accountNumbers == null ? List.of() : List.copyOf(accountNumbers);
+    }
+}
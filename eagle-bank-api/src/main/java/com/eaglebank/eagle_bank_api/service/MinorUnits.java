@@ -0,0 +1,26 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between the API's double amounts and whole pence. Balance arithmetic is done
+ * in pence so sums of many deposits and the insufficient-funds check are exact.
+ */
+final class MinorUnits {
+
+    private MinorUnits() {
+    }
+
+    static long of(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    static double toAmount(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, 2).doubleValue();
+    }
+
+    static boolean hasAtMostTwoDecimals(double amount) {
+        return BigDecimal.valueOf(amount).stripTrailingZeros().scale() <= 2;
+    }
+}
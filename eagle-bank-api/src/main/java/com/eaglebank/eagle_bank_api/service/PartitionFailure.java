@@ -0,0 +1,28 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.export.CsvFields;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * A partition a batch job could not finish, and why.
+ *
+ * @param fromId first account id of the partition
+ * @param toId   last account id of the partition
+ * @param cause  the exception type and message
+ */
+public record PartitionFailure(long fromId, long toId, String cause) {
+
+    static PartitionFailure of(long fromId, long toId, Exception e) {
+        return new PartitionFailure(fromId, toId, e.getClass().getSimpleName() + ": " + e.getMessage());
+    }
+
+    static void writeCsv(Writer out, List<PartitionFailure> failures) throws IOException {
+        out.write("fromId,toId,cause\n");
+        for (PartitionFailure failure : failures) {
+            out.write(failure.fromId() + "," + failure.toId() + "," + CsvFields.escape(failure.cause()) + "\n");
+        }
+    }
+}
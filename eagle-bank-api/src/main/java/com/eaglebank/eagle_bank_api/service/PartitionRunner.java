@@ -0,0 +1,64 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the partitions of a batch job on a pool of {@code threads} workers that take them off a
+ * shared counter, so a slow partition does not hold up the ones behind it. Every worker holds a
+ * database connection while it works, which is why the jobs' thread counts must stay below the
+ * connection pool size.
+ *
+ * <p>The work is expected to handle its own failures; anything that escapes it stops the run
+ * and is rethrown as an {@link IllegalStateException}.
+ */
+final class PartitionRunner {
+
+    private PartitionRunner() {
+    }
+
+    static <T> void run(String job, List<T> partitions, int threads, Consumer<T> work) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        int workerCount = Math.max(1, Math.min(threads, partitions.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            List<Future<?>> workers = new ArrayList<>(workerCount);
+            for (int t = 0; t < workerCount; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < partitions.size(); i = next.getAndIncrement()) {
+                        work.accept(partitions.get(i));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(job + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the first id of every range of {@code size} ids covering {@code [minId, maxId]}.
+     * Ranges are aligned to multiples of the size, so their boundaries stay the same between
+     * runs. Returns nothing when there are no ids.
+     */
+    static List<Long> alignedRanges(Long minId, Long maxId, int size) {
+        List<Long> starts = new ArrayList<>();
+        if (minId == null || maxId == null) {
+            return starts;
+        }
+        for (long fromId = minId / size * size; fromId <= maxId; fromId += size) {
+            starts.add(fromId);
+        }
+        return starts;
+    }
+}
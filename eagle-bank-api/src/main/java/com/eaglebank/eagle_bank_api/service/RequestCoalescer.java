@@ -0,0 +1,123 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for reads: concurrent callers asking for the same key share one load.
+ * Every caller gets the very object the loader returned, so loaders should return response
+ * DTOs rather than entities; an entity stays managed by the loading caller's persistence
+ * context and must not be used from the joiners' threads.
+ * <p>
+ * Writers call {@link #invalidate} after their change; inside a transaction the flight is
+ * removed again once the commit has happened. That unlists any load still in flight, so a
+ * read that starts after the write always begins a fresh load instead of joining one that
+ * may have seen the old row. The unlisted load still completes for the
+ * callers already waiting on it, which overlapped the write anyway.
+ * <p>
+ * With a read replica configured, flights are also keyed by the route the caller's
+ * transaction reads from, so a caller that must read its own writes from the primary never
+ * joins a load served by a replica that may still be behind.
+ * <p>
+ * Exposes {@code eaglebank.coalescing.requests} tagged by namespace and outcome
+ * ({@code loaded} or {@code joined}); the coalescing ratio is joined / (loaded + joined).
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentHashMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> loadedCounters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> joinedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    public RequestCoalescer(MeterRegistry meterRegistry, ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        this(meterRegistry, readYourWritesTracker.getIfAvailable());
+    }
+
+    RequestCoalescer(MeterRegistry meterRegistry) {
+        this(meterRegistry, (ReadYourWritesTracker) null);
+    }
+
+    RequestCoalescer(MeterRegistry meterRegistry, ReadYourWritesTracker readYourWritesTracker) {
+        this.meterRegistry = meterRegistry;
+        this.readYourWritesTracker = readYourWritesTracker;
+        Gauge.builder("eaglebank.coalescing.in_flight", inFlight, Map::size)
+                .description("Distinct reads currently being loaded")
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String namespace, Object key, Supplier<T> loader) {
+        boolean replica = readYourWritesTracker != null && readYourWritesTracker.readsFromReplica();
+        FlightKey flightKey = new FlightKey(namespace, key, replica);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(joinedCounters, namespace, "joined").increment();
+            return (T) await(existing);
+        }
+
+        counter(loadedCounters, namespace, "loaded").increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    public void invalidate(String namespace, Object key) {
+        FlightKey primary = new FlightKey(namespace, key, false);
+        FlightKey replica = new FlightKey(namespace, key, true);
+        inFlight.remove(primary);
+        inFlight.remove(replica);
+        AfterCommit.run(() -> {
+            inFlight.remove(primary);
+            inFlight.remove(replica);
+        });
+    }
+
+    private Counter counter(Map<String, Counter> counters, String namespace, String outcome) {
+        return counters.computeIfAbsent(namespace, ns -> Counter.builder("eaglebank.coalescing.requests")
+                .description("Reads served by the request coalescer")
+                .tag("namespace", ns)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record FlightKey(String namespace, Object key, boolean replica) {
+    }
+}
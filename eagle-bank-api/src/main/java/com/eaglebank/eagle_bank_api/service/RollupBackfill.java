@@ -0,0 +1,123 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.model.AccountDailyRollupEntity;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionPostingView;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.TransactionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds daily rollups from the transaction history, for data posted before rollups were
+ * kept. Accounts are rebuilt in parallel, one transaction each. An account's row is locked for
+ * update and then its stripes, the order documented on {@link StripedBalances}. Every posting
+ * updates its rollup while holding the account row or one of its stripes, so none lands while
+ * its rollups are replaced and the backfill can run against live traffic. A striped deposit
+ * that inserted its transaction before the stripe lock was taken has not committed it yet.
+ * The backfill does not see that row, and the deposit adds its own rollup afterwards.
+ */
+@Component
+public class RollupBackfill {
+
+    private final BankAccountRepository bankAccountRepository;
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountDailyRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RollupProperties properties;
+    private final Counter accounts;
+    private final Timer duration;
+
+    public RollupBackfill(BankAccountRepository bankAccountRepository,
+                          BalanceStripeRepository balanceStripeRepository,
+                          TransactionRepository transactionRepository,
+                          AccountDailyRollupRepository rollupRepository,
+                          PlatformTransactionManager transactionManager,
+                          RollupProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.balanceStripeRepository = balanceStripeRepository;
+        this.transactionRepository = transactionRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.accounts = meterRegistry.counter("eaglebank.rollups.backfill.accounts");
+        this.duration = meterRegistry.timer("eaglebank.rollups.backfill");
+    }
+
+    /**
+     * Returns the number of accounts rebuilt.
+     */
+    public int backfill() throws InterruptedException {
+        List<Long> accountIds = bankAccountRepository.findAllIds();
+        AtomicInteger rebuilt = new AtomicInteger();
+
+        Timer.Sample sample = Timer.start();
+        try {
+            PartitionRunner.run("Rollup backfill", accountIds, properties.backfillThreads(), accountId -> {
+                if (rebuild(accountId)) {
+                    rebuilt.incrementAndGet();
+                    accounts.increment();
+                }
+            });
+        } finally {
+            sample.stop(duration);
+        }
+        return rebuilt.get();
+    }
+
+    /**
+     * Replaces the account's rollups with totals computed from its transactions. Returns false
+     * when the account was deleted meanwhile.
+     */
+    boolean rebuild(long accountId) {
+        Boolean rebuilt = transactionTemplate.execute(status -> {
+            if (bankAccountRepository.findForUpdateById(accountId).isEmpty()) {
+                return false;
+            }
+            balanceStripeRepository.lockByAccountId(accountId);
+
+            Map<LocalDate, AccountDailyRollupEntity> days = new TreeMap<>();
+            try (Stream<TransactionPostingView> postings = transactionRepository.streamPostingsByAccountId(accountId)) {
+                postings.forEach(posting -> add(days, accountId, posting));
+            }
+
+            rollupRepository.deleteByAccountId(accountId);
+            rollupRepository.saveAll(days.values());
+            bankAccountRepository.markRollupsComplete(accountId);
+            return true;
+        });
+        return Boolean.TRUE.equals(rebuilt);
+    }
+
+    private static void add(Map<LocalDate, AccountDailyRollupEntity> days, long accountId, TransactionPostingView posting) {
+        LocalDate day = DailyRollups.dayOf(posting.getCreatedTimestamp());
+        AccountDailyRollupEntity rollup = days.computeIfAbsent(day, d -> AccountDailyRollupEntity.builder()
+                .accountId(accountId)
+                .day(d)
+                .slot(DailyRollups.LOCKED_SLOT)
+                .build());
+        long amountMinor = MinorUnits.of(posting.getAmount());
+        if (posting.getType() == TransactionResponse.TypeEnum.DEPOSIT) {
+            rollup.setCreditsMinor(rollup.getCreditsMinor() + amountMinor);
+            rollup.setCreditCount(rollup.getCreditCount() + 1);
+        } else {
+            rollup.setDebitsMinor(rollup.getDebitsMinor() + amountMinor);
+            rollup.setDebitCount(rollup.getDebitCount() + 1);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param backfillOnStartup rebuild every account's daily rollups from its transactions at startup
+ * @param backfillThreads   accounts rebuilt at once
+ */
+@ConfigurationProperties(prefix = "eaglebank.rollups")
+public record RollupProperties(@DefaultValue("false") boolean backfillOnStartup,
+                               @DefaultValue("4") int backfillThreads) {
+}
@@ -0,0 +1,254 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.export.CsvFields;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.IdRangeView;
+import com.eaglebank.eagle_bank_api.repository.StatementAccountView;
+import com.eaglebank.eagle_bank_api.repository.StatementLineView;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.TransactionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Writes a CSV statement for every account for one calendar month (UTC).
+ *
+ * <p>Accounts are split into partitions of {@code partition-size} consecutive ids, aligned to
+ * multiples of the size so the boundaries stay the same between runs, and {@code threads}
+ * of them are written at once by a {@link PartitionRunner}. A finished partition leaves a checkpoint file, and a rerun for
+ * the same month skips it, so a job that died halfway resumes where it stopped. Each
+ * statement is written to a temporary file, forced to disk and moved into place, so a redone
+ * partition simply replaces what it had written before, and the directory is forced before the
+ * checkpoint is created. Partitions that failed are listed with the cause in the result and in
+ * {@code .failures.csv} in the month's directory.
+ *
+ * <p>Each account is read in its own repeatable-read transaction: the current balance, the
+ * daily rollups the opening balance is worked back from, and the transactions, streamed with
+ * a cursor, all come from one snapshot.
+ */
+@Component
+public class StatementJob {
+
+    static final String CHECKPOINT_DIRECTORY = ".checkpoints";
+    static final String FAILURES_FILE = ".failures.csv";
+    private static final String HEADER = "date,transactionId,type,amount,balance,reference\n";
+
+    private final BankAccountRepository bankAccountRepository;
+    private final TransactionRepository transactionRepository;
+    private final StripedBalances stripedBalances;
+    private final DailyRollups dailyRollups;
+    private final TransactionTemplate snapshot;
+    private final StatementProperties properties;
+    private final Counter accounts;
+    private final Counter transactions;
+    private final Counter partitionsWritten;
+    private final Counter partitionsSkipped;
+    private final Counter partitionsFailed;
+    private final Timer duration;
+    private final AtomicLong partitionsDone = new AtomicLong();
+    private final AtomicLong partitionsTotal = new AtomicLong();
+
+    public StatementJob(BankAccountRepository bankAccountRepository,
+                        TransactionRepository transactionRepository,
+                        StripedBalances stripedBalances,
+                        DailyRollups dailyRollups,
+                        PlatformTransactionManager transactionManager,
+                        StatementProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.bankAccountRepository = bankAccountRepository;
+        this.transactionRepository = transactionRepository;
+        this.stripedBalances = stripedBalances;
+        this.dailyRollups = dailyRollups;
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = properties;
+        this.accounts = meterRegistry.counter("eaglebank.statements.accounts");
+        this.transactions = meterRegistry.counter("eaglebank.statements.transactions");
+        this.partitionsWritten = meterRegistry.counter("eaglebank.statements.partitions", "outcome", "written");
+        this.partitionsSkipped = meterRegistry.counter("eaglebank.statements.partitions", "outcome", "skipped");
+        this.partitionsFailed = meterRegistry.counter("eaglebank.statements.partitions", "outcome", "failed");
+        this.duration = meterRegistry.timer("eaglebank.statements.run");
+        Gauge.builder("eaglebank.statements.progress", this, job -> job.progress())
+                .description("Share of the running job's partitions that are done")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Writes the month's statements, skipping partitions checkpointed by an earlier run. A
+     * failed partition does not stop the others; it is reported in the result and redone by
+     * the next run.
+     */
+    public synchronized Result run(YearMonth month) throws InterruptedException {
+        Path directory = properties.directory().resolve(month.toString());
+        try {
+            Files.createDirectories(directory.resolve(CHECKPOINT_DIRECTORY));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        OffsetDateTime from = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        IdRangeView range = bankAccountRepository.findIdRange();
+        List<Long> partitions = range == null ? List.of()
+                : PartitionRunner.alignedRanges(range.getMinId(), range.getMaxId(), properties.partitionSize());
+        partitionsDone.set(0);
+        partitionsTotal.set(partitions.size());
+        AtomicInteger skipped = new AtomicInteger();
+        Queue<PartitionFailure> failures = new ConcurrentLinkedQueue<>();
+        AtomicLong accountCount = new AtomicLong();
+        AtomicLong transactionCount = new AtomicLong();
+
+        long started = System.nanoTime();
+        PartitionRunner.run("Statement job", partitions, properties.threads(), fromId -> {
+            Path checkpoint = directory.resolve(CHECKPOINT_DIRECTORY).resolve(fromId + "-" + lastId(fromId));
+            if (Files.exists(checkpoint)) {
+                skipped.incrementAndGet();
+                partitionsSkipped.increment();
+            } else {
+                try {
+                    writePartition(fromId, directory, from, to, accountCount, transactionCount);
+                    DurableFiles.syncDirectory(directory);
+                    Files.createFile(checkpoint);
+                    partitionsWritten.increment();
+                } catch (IOException | RuntimeException e) {
+                    failures.add(PartitionFailure.of(fromId, lastId(fromId), e));
+                    partitionsFailed.increment();
+                }
+            }
+            partitionsDone.incrementAndGet();
+        });
+
+        List<PartitionFailure> failed = failures.stream().sorted(Comparator.comparingLong(PartitionFailure::fromId)).toList();
+        writeFailures(directory.resolve(FAILURES_FILE), failed);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        duration.record(elapsed);
+        return new Result(partitions.size(), skipped.get(), failed, accountCount.get(), transactionCount.get(), elapsed);
+    }
+
+    private long lastId(long fromId) {
+        return fromId + properties.partitionSize() - 1;
+    }
+
+    private void writePartition(long fromId, Path directory, OffsetDateTime from, OffsetDateTime to,
+                                AtomicLong accountCount, AtomicLong transactionCount) {
+        for (StatementAccountView account : bankAccountRepository.findStatementAccountsByIdBetween(fromId, lastId(fromId))) {
+            Long lines = snapshot.execute(status -> writeStatement(account, directory, from, to));
+            accountCount.incrementAndGet();
+            accounts.increment();
+            transactionCount.addAndGet(lines);
+            transactions.increment(lines);
+        }
+    }
+
+    private long writeStatement(StatementAccountView account, Path directory, OffsetDateTime from, OffsetDateTime to) {
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate lastDay = to.toLocalDate().minusDays(1);
+        long current = stripedBalances.currentBalance(account.getId(), account.getBalanceStripes());
+        long opening = dailyRollups.range(account, current, firstDay, lastDay).openingBalanceMinor();
+
+        AtomicLong count = new AtomicLong();
+        try (Stream<StatementLineView> lines = transactionRepository.streamStatementLines(account.getId(), from, to)) {
+            DurableFiles.replace(directory.resolve(account.getAccountNumber() + ".csv"), out -> {
+                long balance = opening;
+                out.write(HEADER);
+                writeRow(out, firstDay, "", "opening", "", balance, null);
+                for (StatementLineView line : (Iterable<StatementLineView>) lines::iterator) {
+                    long amountMinor = MinorUnits.of(line.getAmount());
+                    balance += line.getType() == TransactionResponse.TypeEnum.DEPOSIT ? amountMinor : -amountMinor;
+                    writeRow(out, DailyRollups.dayOf(line.getCreatedTimestamp()), "tan-" + line.getId(),
+                            line.getType().getValue(), format(amountMinor), balance, line.getReference());
+                    count.incrementAndGet();
+                }
+                writeRow(out, lastDay, "", "closing", "", balance, null);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count.get();
+    }
+
+    /**
+     * Replaces the month's failure list, or removes it once a run finishes every partition.
+     */
+    private static void writeFailures(Path file, List<PartitionFailure> failures) {
+        try {
+            if (failures.isEmpty()) {
+                Files.deleteIfExists(file);
+            } else {
+                DurableFiles.replace(file, out -> PartitionFailure.writeCsv(out, failures));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(Writer out, LocalDate date, String transactionId, String type, String amount,
+                                 long balanceMinor, String reference) throws IOException {
+        out.write(date.toString());
+        out.write(',');
+        out.write(transactionId);
+        out.write(',');
+        out.write(type);
+        out.write(',');
+        out.write(amount);
+        out.write(',');
+        out.write(format(balanceMinor));
+        out.write(',');
+        if (reference != null) {
+            out.write(CsvFields.escape(reference));
+        }
+        out.write('\n');
+    }
+
+    private static String format(long amountMinor) {
+        return BigDecimal.valueOf(amountMinor, 2).toPlainString();
+    }
+
+    private double progress() {
+        long total = partitionsTotal.get();
+        return total == 0 ? 0 : (double) partitionsDone.get() / total;
+    }
+
+    /**
+     * @param partitions every partition of the run, including skipped ones
+     * @param skipped    partitions already checkpointed by an earlier run
+     * @param failures   partitions left for the next run, with the reason each failed
+     */
+    public record Result(int partitions, int skipped, List<PartitionFailure> failures, long accounts, long transactions,
+                         Duration elapsed) {
+
+        public int failed() {
+            return failures.size();
+        }
+
+        public double accountsPerSecond() {
+            return elapsed.isZero() ? 0 : accounts * 1_000_000_000.0 / elapsed.toNanos();
+        }
+    }
+}
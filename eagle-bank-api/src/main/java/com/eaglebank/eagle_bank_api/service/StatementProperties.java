@@ -0,0 +1,21 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * @param directory       statements are written to {@code <directory>/<yyyy-MM>/<accountNumber>.csv}
+ * @param partitionSize   account ids per partition; a partition is the unit of checkpointing
+ * @param threads         partitions processed at once
+ * @param scheduleEnabled generate the previous month's statements on {@code schedule}
+ * @param schedule        cron expression, evaluated in UTC
+ */
+@ConfigurationProperties(prefix = "eaglebank.statements")
+public record StatementProperties(@DefaultValue("statements") Path directory,
+                                  @DefaultValue("1000") int partitionSize,
+                                  @DefaultValue("4") int threads,
+                                  @DefaultValue("true") boolean scheduleEnabled,
+                                  @DefaultValue("0 0 2 1 * *") String schedule) {
+}
@@ -0,0 +1,49 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * In-memory half of balance striping: chooses the slot a deposit lands in. Much as LongAdder
+ * spreads threads over cells, each striped account tracks the deposits in flight per slot, and
+ * a deposit takes the less busy of two random slots. Concurrent depositors therefore rarely
+ * wait on the same row lock, even when threads outnumber slots.
+ */
+@Component
+public class StripeSelector {
+
+    private final ConcurrentHashMap<Long, AtomicIntegerArray> inFlight = new ConcurrentHashMap<>();
+
+    Lease acquire(long accountId, int stripes) {
+        AtomicIntegerArray counts = inFlight.get(accountId);
+        if (counts == null || counts.length() != stripes) {
+            counts = inFlight.compute(accountId,
+                    (id, existing) -> existing != null && existing.length() == stripes ? existing : new AtomicIntegerArray(stripes));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(stripes);
+        if (stripes > 1) {
+            int other = (slot + 1 + random.nextInt(stripes - 1)) % stripes;
+            if (counts.get(other) < counts.get(slot)) {
+                slot = other;
+            }
+        }
+        counts.incrementAndGet(slot);
+        return new Lease(counts, slot);
+    }
+
+    void forget(long accountId) {
+        inFlight.remove(accountId);
+    }
+
+    record Lease(AtomicIntegerArray counts, int slot) {
+
+        void release() {
+            counts.decrementAndGet(slot);
+        }
+    }
+}
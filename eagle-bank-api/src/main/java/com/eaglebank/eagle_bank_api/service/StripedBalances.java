@@ -0,0 +1,203 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.model.BalanceStripeEntity;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.StripeTotalView;
+import com.example.project.model.BankAccountResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.OptionalInt;
+
+/**
+ * Opt-in striped balances for accounts that take far more deposits than one row lock can
+ * serialise. A striped account's balance is its base balance plus the sum of its slots.
+ * Deposits add to one slot without locking the account row, so they run in parallel with each
+ * other. Anything that needs the exact balance under lock (withdrawals, transfers, switching
+ * striping on or off, the rollup backfill) locks the account row for update and then every
+ * slot, and folds the slots into the base.
+ * <p>
+ * A deposit reads the stripe count without a lock; the slot row is what guards it. Changing
+ * the count locks every slot, so it waits for deposits already in a slot and they commit first.
+ * A deposit that arrives later and picks a slot that no longer exists updates no row and falls
+ * back to the locked path. A shared lock on the account row would do no better: H2 takes
+ * {@code PESSIMISTIC_READ} as {@code for update}, which would serialise the deposits again.
+ * <p>
+ * Every writer takes its locks in one order: the account row, then its stripes, then its daily
+ * rollup and user summary rows. Deposits skip the first, apart from whatever lock the database
+ * takes on it for the transaction row's foreign key, which they take before the stripe.
+ */
+@Service
+public class StripedBalances {
+
+    private final BalanceStripeRepository balanceStripeRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final StripeSelector stripeSelector;
+    private final UserSummaries userSummaries;
+
+    public StripedBalances(BalanceStripeRepository balanceStripeRepository,
+                           BankAccountRepository bankAccountRepository,
+                           StripeSelector stripeSelector,
+                           UserSummaries userSummaries) {
+        this.balanceStripeRepository = balanceStripeRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.stripeSelector = stripeSelector;
+        this.userSummaries = userSummaries;
+    }
+
+    /**
+     * Switches the account to {@code stripes} slots, folding any existing ones first. Slots the
+     * account keeps are reused in place and only the surplus is deleted, so no slot is ever
+     * inserted while a row for it is still queued for deletion. Returns false when the account
+     * does not exist.
+     */
+    @Transactional
+    public boolean enable(String accountNumber, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least one balance stripe is required");
+        }
+
+        BankAccountEntity account = bankAccountRepository.findForUpdateByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return false;
+        }
+        if (account.getBalanceStripes() == stripes) {
+            return true;
+        }
+
+        long before = MinorUnits.of(account.getBalance());
+        boolean wasStriped = account.getBalanceStripes() > 0;
+        Set<Integer> kept = new HashSet<>();
+        List<BalanceStripeEntity> surplus = new ArrayList<>();
+        for (BalanceStripeEntity stripe : drain(account)) {
+            if (stripe.getSlot() < stripes) {
+                kept.add(stripe.getSlot());
+            } else {
+                surplus.add(stripe);
+            }
+        }
+        balanceStripeRepository.deleteAll(surplus);
+        userSummaries.balanceChanged(account, MinorUnits.of(account.getBalance()) - before, wasStriped ? 0 : 1);
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int slot = 0; slot < stripes; slot++) {
+            if (kept.contains(slot)) {
+                continue;
+            }
+            balanceStripeRepository.save(BalanceStripeEntity.builder()
+                    .accountId(account.getId())
+                    .slot(slot)
+                    .amountMinor(0)
+                    .updatedTimestamp(now)
+                    .build());
+        }
+        account.setBalanceStripes(stripes);
+        forgetAfterCommit(account.getId());
+        return true;
+    }
+
+    /**
+     * Folds the slots back into the base balance and returns the account to a single row.
+     */
+    @Transactional
+    public boolean disable(String accountNumber) {
+        BankAccountEntity account = bankAccountRepository.findForUpdateByAccountNumber(accountNumber).orElse(null);
+        if (account == null) {
+            return false;
+        }
+        if (account.getBalanceStripes() > 0) {
+            long before = MinorUnits.of(account.getBalance());
+            balanceStripeRepository.deleteAll(drain(account));
+            userSummaries.balanceChanged(account, MinorUnits.of(account.getBalance()) - before, -1);
+            account.setBalanceStripes(0);
+            forgetAfterCommit(account.getId());
+        }
+        return true;
+    }
+
+    /**
+     * Adds a deposit to one of {@code stripes} slots, as last read without a lock, and returns
+     * the slot, whose row stays locked until the caller commits. Empty when that slot no longer
+     * exists because striping was switched off or narrowed, in which case the caller falls back
+     * to the locked path.
+     */
+    OptionalInt deposit(long accountId, int stripes, long amountMinor) {
+        StripeSelector.Lease lease = stripeSelector.acquire(accountId, stripes);
+        AfterCommit.runAfterCompletion(lease::release);
+        return balanceStripeRepository.addToSlot(accountId, lease.slot(), amountMinor, OffsetDateTime.now()) > 0
+                ? OptionalInt.of(lease.slot())
+                : OptionalInt.empty();
+    }
+
+    /**
+     * Exact balance of an account whose row the caller has locked, in minor units. Any slots
+     * are folded into the base balance on the way, so the caller can simply set the new base.
+     */
+    long lockedBalance(BankAccountEntity lockedAccount) {
+        drain(lockedAccount);
+        return MinorUnits.of(lockedAccount.getBalance());
+    }
+
+    /**
+     * Balance of an account read from the database without locking it, in minor units.
+     */
+    long currentBalance(long accountId, int stripes) {
+        long balance = MinorUnits.of(bankAccountRepository.findBalanceById(accountId));
+        if (stripes > 0) {
+            for (StripeTotalView total : balanceStripeRepository.sumByAccountIdIn(List.of(accountId))) {
+                balance = Math.addExact(balance, total.getAmountMinor());
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Adds the slots of a striped account to its response. Deposits only touch the slots, so
+     * the latest slot change also counts as the account's last modification.
+     */
+    void addStripes(BankAccountEntity account, BankAccountResponse response) {
+        if (account.getBalanceStripes() == 0) {
+            return;
+        }
+
+        for (StripeTotalView total : balanceStripeRepository.sumByAccountIdIn(List.of(account.getId()))) {
+            response.setBalance(MinorUnits.toAmount(MinorUnits.of(account.getBalance()) + total.getAmountMinor()));
+            if (total.getUpdatedTimestamp() != null
+                    && (response.getUpdatedTimestamp() == null || total.getUpdatedTimestamp().isAfter(response.getUpdatedTimestamp()))) {
+                response.setUpdatedTimestamp(total.getUpdatedTimestamp());
+            }
+        }
+    }
+
+    void removeAll(BankAccountEntity account) {
+        if (account.getBalanceStripes() > 0) {
+            balanceStripeRepository.deleteByAccountId(account.getId());
+            forgetAfterCommit(account.getId());
+        }
+    }
+
+    private List<BalanceStripeEntity> drain(BankAccountEntity lockedAccount) {
+        if (lockedAccount.getBalanceStripes() == 0) {
+            return List.of();
+        }
+
+        List<BalanceStripeEntity> stripes = balanceStripeRepository.lockByAccountId(lockedAccount.getId());
+        long total = MinorUnits.of(lockedAccount.getBalance());
+        for (BalanceStripeEntity stripe : stripes) {
+            total = Math.addExact(total, stripe.getAmountMinor());
+            stripe.setAmountMinor(0);
+        }
+        lockedAccount.setBalance(MinorUnits.toAmount(total));
+        return stripes;
+    }
+
+    private void forgetAfterCommit(long accountId) {
+        AfterCommit.run(() -> stripeSelector.forget(accountId));
+    }
+}
@@ -0,0 +1,418 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import com.eaglebank.eagle_bank_api.exception.InsufficientFundsException;
+import com.eaglebank.eagle_bank_api.exception.TransactionNotFoundException;
+import com.eaglebank.eagle_bank_api.mapper.TransactionMapper;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.TransactionEntity;
+import com.eaglebank.eagle_bank_api.outbox.Outbox;
+import com.eaglebank.eagle_bank_api.outbox.OutboxEventType;
+import com.eaglebank.eagle_bank_api.repository.AccountStripingView;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.eaglebank.eagle_bank_api.subscription.AccountEventHub;
+import com.eaglebank.eagle_bank_api.subscription.BalanceUpdate;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import com.example.project.model.DailyRollup;
+import com.example.project.model.DailyRollupsResponse;
+import com.example.project.model.ListTransactionsResponse;
+import com.example.project.model.TransactionResponse;
+import com.example.project.model.TransferResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+@Service
+public class TransactionService {
+
+    static final double MAX_AMOUNT = 10_000.00;
+    static final String TRANSACTION_EVENT = "transaction";
+    static final String BALANCE_EVENT = "balance";
+    static final int MAX_ROLLUP_DAYS = 366;
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^01\\d{6}$");
+
+    private final TransactionRepository transactionRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final StripedBalances stripedBalances;
+    private final RequestCoalescer requestCoalescer;
+    private final ExistenceFilter accountExistenceFilter;
+    private final Outbox outbox;
+    private final AccountEventHub accountEventHub;
+    private final UserSummaries userSummaries;
+    private final DailyRollups dailyRollups;
+
+    public TransactionService(TransactionRepository transactionRepository,
+                              BankAccountRepository bankAccountRepository,
+                              StripedBalances stripedBalances,
+                              RequestCoalescer requestCoalescer,
+                              @Qualifier("accountExistenceFilter") ExistenceFilter accountExistenceFilter,
+                              Outbox outbox,
+                              AccountEventHub accountEventHub,
+                              UserSummaries userSummaries,
+                              DailyRollups dailyRollups) {
+        this.transactionRepository = transactionRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.stripedBalances = stripedBalances;
+        this.requestCoalescer = requestCoalescer;
+        this.accountExistenceFilter = accountExistenceFilter;
+        this.outbox = outbox;
+        this.accountEventHub = accountEventHub;
+        this.userSummaries = userSummaries;
+        this.dailyRollups = dailyRollups;
+    }
+
+    /**
+     * Applies a deposit or withdrawal and records it. Deposits to striped accounts take no lock
+     * on the account row and land in one balance slot; everything else locks the account row for
+     * update, so the insufficient-funds check always sees the exact balance.
+     */
+    @Transactional
+    public TransactionResponse createTransaction(String accountNumber, CreateTransactionRequest request) {
+        validateAccountNumber(accountNumber);
+        if (request == null) {
+            throw new BadTransactionRequestException("Bad request: create transaction request must be valid");
+        }
+        validateCreateTransactionRequest(request);
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+        }
+
+        long amountMinor = MinorUnits.of(request.getAmount());
+        boolean deposit = request.getType() == CreateTransactionRequest.TypeEnum.DEPOSIT;
+
+        if (deposit) {
+            AccountStripingView striping = bankAccountRepository.findStripingByAccountNumber(accountNumber)
+                    .orElseThrow(() -> accountNotFound(accountNumber));
+            if (striping.getBalanceStripes() > 0) {
+                // The transaction row goes in before the stripe is locked: a foreign key check
+                // that locks the account row then comes first, in the order every writer uses.
+                TransactionEntity saved = save(bankAccountRepository.getReferenceById(striping.getId()), request);
+                OptionalInt slot = stripedBalances.deposit(striping.getId(), striping.getBalanceStripes(), amountMinor);
+                if (slot.isPresent()) {
+                    return record(saved, null, accountNumber, amountMinor, slot.getAsInt());
+                }
+                BankAccountEntity account = lockAccount(accountNumber);
+                applyToLockedBalance(account, accountNumber, amountMinor);
+                return record(saved, account, accountNumber, amountMinor, DailyRollups.LOCKED_SLOT);
+            }
+        }
+
+        BankAccountEntity account = lockAccount(accountNumber);
+        applyToLockedBalance(account, accountNumber, deposit ? amountMinor : -amountMinor);
+        return record(save(account, request), account, accountNumber, amountMinor, DailyRollups.LOCKED_SLOT);
+    }
+
+    private BankAccountEntity lockAccount(String accountNumber) {
+        return bankAccountRepository.findForUpdateByAccountNumber(accountNumber)
+                .orElseThrow(() -> accountNotFound(accountNumber));
+    }
+
+    /**
+     * Adds {@code deltaMinor} to the exact balance of a locked account, folding any slots.
+     */
+    private void applyToLockedBalance(BankAccountEntity account, String accountNumber, long deltaMinor) {
+        long before = MinorUnits.of(account.getBalance());
+        long updated = Math.addExact(stripedBalances.lockedBalance(account), deltaMinor);
+        if (updated < 0) {
+            throw new InsufficientFundsException("Insufficient funds in account ", accountNumber);
+        }
+        account.setBalance(MinorUnits.toAmount(updated));
+        userSummaries.balanceChanged(account, updated - before, 0);
+    }
+
+    /**
+     * Moves money between two accounts in one database transaction and records a linked
+     * withdrawal and deposit. Both account rows are locked in ascending id order, whichever way
+     * the money flows, so two transfers between the same pair of accounts cannot deadlock.
+     * Stripes of a striped account are folded while its row lock is held, which keeps the
+     * order global: an account's row, then its stripes, then the next account.
+     */
+    @Transactional
+    public TransferResponse createTransfer(String accountNumber, CreateTransferRequest request) {
+        validateAccountNumber(accountNumber);
+        if (request == null) {
+            throw new BadTransactionRequestException("Bad request: create transfer request must be valid");
+        }
+        validateCreateTransferRequest(accountNumber, request);
+        String toAccountNumber = request.getToAccountNumber();
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+        }
+        if (!accountExistenceFilter.mightContain(toAccountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", toAccountNumber);
+        }
+
+        Long sourceId = bankAccountRepository.findStripingByAccountNumber(accountNumber)
+                .map(AccountStripingView::getId)
+                .orElseThrow(() -> accountNotFound(accountNumber));
+        Long destinationId = bankAccountRepository.findStripingByAccountNumber(toAccountNumber)
+                .map(AccountStripingView::getId)
+                .orElseThrow(() -> accountNotFound(toAccountNumber));
+
+        boolean sourceFirst = sourceId < destinationId;
+        BankAccountEntity first = lockForTransfer(sourceFirst ? sourceId : destinationId, sourceFirst ? accountNumber : toAccountNumber);
+        long firstBefore = MinorUnits.of(first.getBalance());
+        long firstBalance = stripedBalances.lockedBalance(first);
+        BankAccountEntity second = lockForTransfer(sourceFirst ? destinationId : sourceId, sourceFirst ? toAccountNumber : accountNumber);
+        long secondBefore = MinorUnits.of(second.getBalance());
+        long secondBalance = stripedBalances.lockedBalance(second);
+
+        BankAccountEntity source = sourceFirst ? first : second;
+        BankAccountEntity destination = sourceFirst ? second : first;
+        long sourceBalance = sourceFirst ? firstBalance : secondBalance;
+        long destinationBalance = sourceFirst ? secondBalance : firstBalance;
+        long sourceBefore = sourceFirst ? firstBefore : secondBefore;
+        long destinationBefore = sourceFirst ? secondBefore : firstBefore;
+
+        long amountMinor = MinorUnits.of(request.getAmount());
+        if (sourceBalance < amountMinor) {
+            throw new InsufficientFundsException("Insufficient funds in account ", accountNumber);
+        }
+        source.setBalance(MinorUnits.toAmount(sourceBalance - amountMinor));
+        destination.setBalance(MinorUnits.toAmount(Math.addExact(destinationBalance, amountMinor)));
+        userSummaries.transferred(source, sourceBalance - amountMinor - sourceBefore,
+                destination, destinationBalance + amountMinor - destinationBefore);
+
+        Long userId = AuthenticatedPrincipal.current().map(AuthenticatedPrincipal::userKey).orElse(null);
+        String transferId = UUID.randomUUID().toString();
+        TransactionEntity debit = transactionRepository.save(
+                TransactionMapper.toEntity(request, source, TransactionResponse.TypeEnum.WITHDRAWAL, userId, transferId));
+        TransactionEntity credit = transactionRepository.save(
+                TransactionMapper.toEntity(request, destination, TransactionResponse.TypeEnum.DEPOSIT, userId, transferId));
+        dailyRollups.posted(source.getId(), DailyRollups.LOCKED_SLOT, debit.getCreatedTimestamp(), debit.getType(), amountMinor);
+        dailyRollups.posted(destination.getId(), DailyRollups.LOCKED_SLOT, credit.getCreatedTimestamp(), credit.getType(), amountMinor);
+        requestCoalescer.invalidate(BankAccountService.ACCOUNT_READS, accountNumber);
+        requestCoalescer.invalidate(BankAccountService.ACCOUNT_READS, toAccountNumber);
+
+        TransferResponse response = new TransferResponse();
+        response.setTransferId(transferId);
+        response.setDebit(TransactionMapper.toResponse(debit));
+        response.setCredit(TransactionMapper.toResponse(credit));
+        outbox.record(OutboxEventType.TRANSACTION_CREATED, accountNumber, response.getDebit());
+        outbox.record(OutboxEventType.TRANSACTION_CREATED, toAccountNumber, response.getCredit());
+        notifySubscribers(accountNumber, response.getDebit(), debit.getId(), source);
+        notifySubscribers(toAccountNumber, response.getCredit(), credit.getId(), destination);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public ListTransactionsResponse listTransactions(String accountNumber) {
+        Long accountId = findAccountId(accountNumber);
+
+        List<TransactionResponse> transactions = new ArrayList<>();
+        for (TransactionEntity transaction : transactionRepository.findByAccountId(accountId)) {
+            transactions.add(TransactionMapper.toResponse(transaction));
+        }
+        ListTransactionsResponse response = new ListTransactionsResponse();
+        response.setTransactions(transactions);
+        return response;
+    }
+
+    /**
+     * Serves any range of up to {@link #MAX_ROLLUP_DAYS} days from the daily rollups. The
+     * snapshot isolation keeps the current balance and the rollups the closing balances are
+     * worked back from consistent with each other.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public DailyRollupsResponse listDailyRollups(String accountNumber, LocalDate from, LocalDate to) {
+        validateAccountNumber(accountNumber);
+        if (from == null || to == null) {
+            throw new BadTransactionRequestException("Validation failed: from and to dates are required");
+        }
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= MAX_ROLLUP_DAYS) {
+            throw new BadTransactionRequestException(
+                    "Validation failed: to must not be before from, and the range must not exceed " + MAX_ROLLUP_DAYS + " days");
+        }
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+        }
+
+        AccountStripingView account = bankAccountRepository.findStripingByAccountNumber(accountNumber)
+                .orElseThrow(() -> accountNotFound(accountNumber));
+        long balance = stripedBalances.currentBalance(account.getId(), account.getBalanceStripes());
+        DailyRollups.Range range = dailyRollups.range(account, balance, from, to);
+
+        DailyRollupsResponse response = new DailyRollupsResponse();
+        response.setAccountNumber(accountNumber);
+        response.setCurrency(DailyRollupsResponse.CurrencyEnum.GBP);
+        response.setOpeningBalance(MinorUnits.toAmount(range.openingBalanceMinor()));
+        response.setClosingBalance(MinorUnits.toAmount(range.closingBalanceMinor()));
+        response.setTotalCredits(MinorUnits.toAmount(range.creditsMinor()));
+        response.setTotalDebits(MinorUnits.toAmount(range.debitsMinor()));
+        List<DailyRollup> days = new ArrayList<>(range.days().size());
+        for (DailyRollups.Day day : range.days()) {
+            DailyRollup rollup = new DailyRollup();
+            rollup.setDate(day.date());
+            rollup.setCredits(MinorUnits.toAmount(day.creditsMinor()));
+            rollup.setDebits(MinorUnits.toAmount(day.debitsMinor()));
+            rollup.setCreditCount(day.creditCount());
+            rollup.setDebitCount(day.debitCount());
+            rollup.setClosingBalance(MinorUnits.toAmount(day.closingBalanceMinor()));
+            days.add(rollup);
+        }
+        response.setDays(days);
+        return response;
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionResponse fetchTransaction(String accountNumber, String transactionId) {
+        Long id = parseTransactionId(transactionId);
+        Long accountId = findAccountId(accountNumber);
+
+        return transactionRepository.findByIdAndAccountId(id, accountId)
+                .map(TransactionMapper::toResponse)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with ID: ", transactionId));
+    }
+
+    /**
+     * @param slot the stripe a deposit into a striped account landed in, or
+     *             {@link DailyRollups#LOCKED_SLOT} when {@code account} is locked and holds the
+     *             exact new balance
+     */
+    private TransactionEntity save(BankAccountEntity account, CreateTransactionRequest request) {
+        Long userId = AuthenticatedPrincipal.current().map(AuthenticatedPrincipal::userKey).orElse(null);
+        return transactionRepository.save(TransactionMapper.toEntity(request, account, userId));
+    }
+
+    /**
+     * Posts a saved transaction to its rollup slot and announces it. {@code lockedAccount} is
+     * the account when its row is held for update, and null for a striped deposit, whose
+     * resulting balance is not known.
+     */
+    private TransactionResponse record(TransactionEntity saved, BankAccountEntity lockedAccount, String accountNumber,
+                                       long amountMinor, int slot) {
+        dailyRollups.posted(saved.getAccount().getId(), slot, saved.getCreatedTimestamp(), saved.getType(), amountMinor);
+        requestCoalescer.invalidate(BankAccountService.ACCOUNT_READS, accountNumber);
+        TransactionResponse response = TransactionMapper.toResponse(saved);
+        outbox.record(OutboxEventType.TRANSACTION_CREATED, accountNumber, response);
+        notifySubscribers(accountNumber, response, saved.getId(), lockedAccount);
+        return response;
+    }
+
+    /**
+     * Streams the transaction, and the new balance when {@code lockedAccount} is given, to the
+     * account's subscribers once the change has committed. The balance is versioned by
+     * {@code transactionId}.
+     */
+    private void notifySubscribers(String accountNumber, TransactionResponse transaction, long transactionId,
+                                   BankAccountEntity lockedAccount) {
+        if (!accountEventHub.hasSubscribers(accountNumber)) {
+            return;
+        }
+        BalanceUpdate balance = lockedAccount == null
+                ? null
+                : new BalanceUpdate(accountNumber, lockedAccount.getBalance(), lockedAccount.getCurrency(), transactionId);
+        AfterCommit.run(() -> {
+            accountEventHub.publish(accountNumber, TRANSACTION_EVENT, transaction);
+            if (balance != null) {
+                accountEventHub.publish(accountNumber, BALANCE_EVENT, Long.toString(balance.version()), balance);
+            }
+        });
+    }
+
+    private BankAccountEntity lockForTransfer(Long accountId, String accountNumber) {
+        return bankAccountRepository.findForUpdateById(accountId).orElseThrow(() -> accountNotFound(accountNumber));
+    }
+
+    private Long findAccountId(String accountNumber) {
+        validateAccountNumber(accountNumber);
+        if (!accountExistenceFilter.mightContain(accountNumber)) {
+            throw new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+        }
+
+        return bankAccountRepository.findByAccountNumber(accountNumber)
+                .map(BankAccountEntity::getId)
+                .orElseThrow(() -> accountNotFound(accountNumber));
+    }
+
+    private BankAccountNotFoundException accountNotFound(String accountNumber) {
+        accountExistenceFilter.recordFalsePositive();
+        return new BankAccountNotFoundException("Bank account not found with account number: ", accountNumber);
+    }
+
+    private void validateCreateTransactionRequest(CreateTransactionRequest request) {
+        List<String> errors = new ArrayList<>();
+
+        validateAmount(request.getAmount(), errors);
+
+        if (request.getCurrency() == null) {
+            errors.add("Currency is required");
+        }
+
+        if (request.getType() == null) {
+            errors.add("Transaction type is required");
+        }
+
+        if (!errors.isEmpty()) {
+            throw new BadTransactionRequestException("Validation failed: " + String.join(", ", errors));
+        }
+    }
+
+    private void validateCreateTransferRequest(String accountNumber, CreateTransferRequest request) {
+        List<String> errors = new ArrayList<>();
+
+        String toAccountNumber = request.getToAccountNumber();
+        if (toAccountNumber == null || !ACCOUNT_NUMBER_PATTERN.matcher(toAccountNumber).matches()) {
+            errors.add("Destination account number must match 01XXXXXX");
+        } else if (toAccountNumber.equals(accountNumber)) {
+            errors.add("Destination account must differ from the source account");
+        }
+
+        validateAmount(request.getAmount(), errors);
+
+        if (request.getCurrency() == null) {
+            errors.add("Currency is required");
+        }
+
+        if (!errors.isEmpty()) {
+            throw new BadTransactionRequestException("Validation failed: " + String.join(", ", errors));
+        }
+    }
+
+    private void validateAmount(Double amount, List<String> errors) {
+        if (amount == null) {
+            errors.add("Amount is required");
+        } else if (amount.isNaN() || amount <= 0 || amount > MAX_AMOUNT) {
+            errors.add("Amount must be greater than 0.00 and at most 10000.00");
+        } else if (!MinorUnits.hasAtMostTwoDecimals(amount)) {
+            errors.add("Amount cannot have more than two decimal places");
+        }
+    }
+
+    private void validateAccountNumber(String accountNumber) {
+        if (accountNumber == null || accountNumber.trim().isEmpty()) {
+            throw new IllegalArgumentException("Account number is required");
+        }
+
+        if (!ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches()) {
+            throw new IllegalArgumentException("Invalid account number format. Expected format: 01XXXXXX (8 digits starting with 01)");
+        }
+    }
+
+    private Long parseTransactionId(String transactionId) {
+        if (transactionId == null || !transactionId.startsWith("tan-")) {
+            throw new IllegalArgumentException("Invalid transaction ID format. Expected format: tan-<number>");
+        }
+
+        String numericPart = transactionId.substring(4);
+
+        try {
+            return Long.parseLong(numericPart);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid numeric part of transaction ID: " + transactionId, e);
+        }
+    }
+}
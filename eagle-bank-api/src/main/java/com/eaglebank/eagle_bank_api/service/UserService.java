@@ -1,31 +1,58 @@
 package com.eaglebank.eagle_bank_api.service;
 
+import com.eaglebank.eagle_bank_api.audit.AuditAction;
+import com.eaglebank.eagle_bank_api.audit.AuditLog;
+import com.eaglebank.eagle_bank_api.audit.AuditSubject;
 import com.eaglebank.eagle_bank_api.exception.BadUserRequestException;
 import com.eaglebank.eagle_bank_api.exception.UserNotFoundException;
+import com.eaglebank.eagle_bank_api.mapper.UserMapper;
 import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.eaglebank.eagle_bank_api.outbox.Outbox;
+import com.eaglebank.eagle_bank_api.outbox.OutboxEventType;
 import com.eaglebank.eagle_bank_api.repository.UserRepository;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
 import com.example.project.model.CreateUserRequest;
 import com.example.project.model.CreateUserRequestAddress;
 import com.example.project.model.UpdateUserRequest;
 import com.example.project.model.UserResponse;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.project.model.UserSummaryResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class UserService {
 
-    private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
+    static final String USER_READS = "user";
 
-    public UserService(UserRepository userRepository) {
+    private final UserRepository userRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final ExistenceFilter userExistenceFilter;
+    private final Outbox outbox;
+    private final AuditLog auditLog;
+    private final UserSummaries userSummaries;
+
+    public UserService(UserRepository userRepository,
+                       RequestCoalescer requestCoalescer,
+                       @Qualifier("userExistenceFilter") ExistenceFilter userExistenceFilter,
+                       Outbox outbox,
+                       AuditLog auditLog,
+                       UserSummaries userSummaries) {
         this.userRepository = userRepository;
-        this.objectMapper = new ObjectMapper(); // Ideally, inject via constructor
+        this.requestCoalescer = requestCoalescer;
+        this.userExistenceFilter = userExistenceFilter;
+        this.outbox = outbox;
+        this.auditLog = auditLog;
+        this.userSummaries = userSummaries;
     }
 
+    @Transactional
     public UserResponse createUser(CreateUserRequest createUserRequest) {
         if (createUserRequest == null) {
             throw new BadUserRequestException("Bad request: create user request must be valid");
@@ -33,45 +60,108 @@ public class UserService {
 
         validateCreateUserRequest(createUserRequest);
 
-        UserEntity savedEntity = userRepository.save(convertToEntity(createUserRequest));
-        return convertToDTOResponse(savedEntity);
+        UserEntity savedEntity = userRepository.save(UserMapper.toEntity(createUserRequest));
+        userSummaries.userCreated(savedEntity.getId());
+        userExistenceFilter.add(savedEntity.getId());
+        auditLog.record(AuditSubject.USER, AuditAction.CREATE, savedEntity.getId(), AuthenticatedPrincipal.currentUserKey());
+        UserResponse response = UserMapper.toResponse(savedEntity);
+        outbox.record(OutboxEventType.USER_CREATED, "usr-" + savedEntity.getId(), response);
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public UserResponse fetchUserById(String userId) {
         Long id = parseUserId(userId);
+        if (!userExistenceFilter.mightContain(id)) {
+            throw new UserNotFoundException("User not found with ID: ", userId);
+        }
 
-        UserEntity userEntity = userRepository
-                .findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        return requestCoalescer
+                .coalesce(USER_READS, id, () -> userRepository.findById(id).map(UserMapper::toResponse))
+                .orElseThrow(() -> {
+                    userExistenceFilter.recordFalsePositive();
+                    return new UserNotFoundException("User not found with ID: ", userId);
+                });
+    }
 
-        return convertToDTOResponse(userEntity);
+    /**
+     * Reads the running totals kept alongside the user's accounts instead of aggregating them.
+     */
+    @Transactional(readOnly = true)
+    public UserSummaryResponse fetchUserSummary(String userId) {
+        Long id = parseUserId(userId);
+        if (!userExistenceFilter.mightContain(id)) {
+            throw new UserNotFoundException("User not found with ID: ", userId);
+        }
+
+        UserSummaries.Summary summary = userSummaries.find(id)
+                .orElseThrow(() -> {
+                    userExistenceFilter.recordFalsePositive();
+                    return new UserNotFoundException("User not found with ID: ", userId);
+                });
+
+        UserSummaryResponse response = new UserSummaryResponse();
+        response.setUserId(userId);
+        response.setTotalBalance(MinorUnits.toAmount(summary.totalBalanceMinor()));
+        response.setCurrency(UserSummaryResponse.CurrencyEnum.GBP);
+        response.setAccountCount(summary.accountCount());
+        response.setLastActivityTimestamp(summary.lastActivityTimestamp());
+        return response;
     }
 
+    @Transactional(readOnly = true)
+    public Optional<OffsetDateTime> fetchLastModified(String userId) {
+        Long id = parseUserId(userId);
+        if (!userExistenceFilter.mightContain(id)) {
+            return Optional.empty();
+        }
+
+        return userRepository.findUpdatedTimestampById(id);
+    }
+
+    @Transactional
     public void deleteUser(String userId) {
         Long id = parseUserId(userId);
+        if (!userExistenceFilter.mightContain(id)) {
+            throw new UserNotFoundException("User not found while attempting deletion. User ID: ", userId);
+        }
 
-        UserEntity userEntity = userRepository
-                .findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found while attempting deletion. User ID: " + userId));
+        if (userRepository.deleteUserById(id) == 0) {
+            userExistenceFilter.recordFalsePositive();
+            throw new UserNotFoundException("User not found while attempting deletion. User ID: ", userId);
+        }
 
-        userRepository.delete(userEntity);
+        userSummaries.userDeleted(id);
+        auditLog.record(AuditSubject.USER, AuditAction.DELETE, id, AuthenticatedPrincipal.currentUserKey());
+        outbox.record(OutboxEventType.USER_DELETED, userId, Map.of("id", userId));
+        requestCoalescer.invalidate(USER_READS, id);
+        AfterCommit.run(() -> userExistenceFilter.remove(id));
     }
 
+    @Transactional
     public UserResponse updateUserDetails(String userId, UpdateUserRequest updateRequest) {
         Long id = parseUserId(userId);
         validateUpdateUserRequest(updateRequest);
+        if (!userExistenceFilter.mightContain(id)) {
+            throw new UserNotFoundException("User not found with ID: ", userId);
+        }
 
-        UserEntity existingUser = userRepository
-                .findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
-
-        existingUser.setName(updateRequest.getName());
-        existingUser.setEmail(updateRequest.getEmail());
-        existingUser.setPhoneNumber(updateRequest.getPhoneNumber());
-        existingUser.setAddress(serializeAddress(updateRequest.getAddress()));
-
-        UserEntity updatedUser = userRepository.save(existingUser);
-        return convertToDTOResponse(updatedUser);
+        UserEntity user = userRepository.updateUserDetails(id,
+                        updateRequest.getName(),
+                        updateRequest.getEmail(),
+                        updateRequest.getPhoneNumber(),
+                        UserMapper.serializeAddress(updateRequest.getAddress()),
+                        OffsetDateTime.now())
+                .orElseThrow(() -> {
+                    userExistenceFilter.recordFalsePositive();
+                    return new UserNotFoundException("User not found with ID: ", userId);
+                });
+        requestCoalescer.invalidate(USER_READS, id);
+        auditLog.record(AuditSubject.USER, AuditAction.UPDATE, id, AuthenticatedPrincipal.currentUserKey());
+
+        UserResponse response = UserMapper.toResponse(user);
+        outbox.record(OutboxEventType.USER_UPDATED, userId, response);
+        return response;
     }
 
     private Long parseUserId(String userId) {
@@ -88,43 +178,6 @@ public class UserService {
         }
     }
 
-    private UserEntity convertToEntity(CreateUserRequest request) {
-        return UserEntity.builder()
-                .name(request.getName())
-                .email(request.getEmail())
-                .phoneNumber(request.getPhoneNumber())
-                .address(serializeAddress(request.getAddress()))
-                .build();
-    }
-
-    private UserResponse convertToDTOResponse(UserEntity entity) {
-        UserResponse response = new UserResponse();
-        response.setId(String.valueOf(entity.getId()));
-        response.setName(entity.getName());
-        response.setEmail(entity.getEmail());
-        response.setPhoneNumber(entity.getPhoneNumber());
-        response.setAddress(deserializeAddress(entity.getAddress()));
-        response.setCreatedTimestamp(entity.getCreatedTimestamp());
-        response.setUpdatedTimestamp(entity.getUpdatedTimestamp());
-        return response;
-    }
-
-    private String serializeAddress(CreateUserRequestAddress address) {
-        try {
-            return objectMapper.writeValueAsString(address);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to serialize address", e);
-        }
-    }
-
-    private CreateUserRequestAddress deserializeAddress(String addressJson) {
-        try {
-            return objectMapper.readValue(addressJson, CreateUserRequestAddress.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to deserialize address", e);
-        }
-    }
-
     private void validateCreateUserRequest(CreateUserRequest request) {
         List<String> errors = new ArrayList<>();
 
@@ -0,0 +1,115 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.UserSummaryEntity;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.UserSummaryRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * Keeps each user's summary row in step with their accounts. Every method runs inside the
+ * caller's transaction, after the caller has locked or written the account rows involved, so
+ * locks are always taken account first, then summary.
+ */
+@Service
+public class UserSummaries {
+
+    private final UserSummaryRepository userSummaryRepository;
+    private final BalanceStripeRepository balanceStripeRepository;
+
+    public UserSummaries(UserSummaryRepository userSummaryRepository, BalanceStripeRepository balanceStripeRepository) {
+        this.userSummaryRepository = userSummaryRepository;
+        this.balanceStripeRepository = balanceStripeRepository;
+    }
+
+    void userCreated(long userId) {
+        userSummaryRepository.save(UserSummaryEntity.builder().userId(userId).build());
+    }
+
+    void userDeleted(long userId) {
+        userSummaryRepository.deleteByUserId(userId);
+    }
+
+    void accountOpened(BankAccountEntity account) {
+        Long ownerId = ownerId(account);
+        if (ownerId != null) {
+            userSummaryRepository.adjust(ownerId, MinorUnits.of(account.getBalance()), 1, 0, OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Call before the account is deleted. Any stripes go with it, so only the base balance
+     * leaves the total.
+     */
+    void accountClosed(BankAccountEntity account) {
+        Long ownerId = ownerId(account);
+        if (ownerId != null) {
+            userSummaryRepository.adjust(ownerId, -MinorUnits.of(account.getBalance()), -1,
+                    account.getBalanceStripes() > 0 ? -1 : 0, OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * @param baseDeltaMinor change to the account's base balance, including stripes folded into it
+     * @param stripedDelta   1 when the account just became striped, -1 when it stopped being
+     */
+    void balanceChanged(BankAccountEntity account, long baseDeltaMinor, int stripedDelta) {
+        Long ownerId = ownerId(account);
+        if (ownerId != null) {
+            userSummaryRepository.adjust(ownerId, baseDeltaMinor, 0, stripedDelta, OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Applies a transfer's two balance changes in ascending user id order, the same rule the
+     * account locks follow, so two transfers between the same users cannot deadlock on their
+     * summaries. A transfer between two accounts of one user only touches its last activity.
+     */
+    void transferred(BankAccountEntity source, long sourceDeltaMinor, BankAccountEntity destination, long destinationDeltaMinor) {
+        Long sourceOwner = ownerId(source);
+        Long destinationOwner = ownerId(destination);
+        OffsetDateTime now = OffsetDateTime.now();
+        if (sourceOwner != null && sourceOwner.equals(destinationOwner)) {
+            userSummaryRepository.adjust(sourceOwner, sourceDeltaMinor + destinationDeltaMinor, 0, 0, now);
+            return;
+        }
+
+        boolean sourceFirst = destinationOwner == null || (sourceOwner != null && sourceOwner < destinationOwner);
+        if (sourceFirst) {
+            adjust(sourceOwner, sourceDeltaMinor, now);
+            adjust(destinationOwner, destinationDeltaMinor, now);
+        } else {
+            adjust(destinationOwner, destinationDeltaMinor, now);
+            adjust(sourceOwner, sourceDeltaMinor, now);
+        }
+    }
+
+    /**
+     * The user's summary with deposits still held in stripes added to the total; empty when
+     * the user has none. Only users with a striped account pay for more than the key lookup.
+     */
+    Optional<Summary> find(long userId) {
+        return userSummaryRepository.findById(userId).map(summary -> new Summary(
+                summary.getStripedAccountCount() > 0
+                        ? Math.addExact(summary.getTotalBalanceMinor(), balanceStripeRepository.sumByUserId(userId))
+                        : summary.getTotalBalanceMinor(),
+                summary.getAccountCount(),
+                summary.getLastActivityTimestamp()));
+    }
+
+    private void adjust(Long ownerId, long deltaMinor, OffsetDateTime now) {
+        if (ownerId != null) {
+            userSummaryRepository.adjust(ownerId, deltaMinor, 0, 0, now);
+        }
+    }
+
+    private static Long ownerId(BankAccountEntity account) {
+        return account.getUser() == null ? null : account.getUser().getId();
+    }
+
+    record Summary(long totalBalanceMinor, int accountCount, OffsetDateTime lastActivityTimestamp) {
+    }
+}
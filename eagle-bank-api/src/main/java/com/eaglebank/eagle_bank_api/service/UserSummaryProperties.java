@@ -0,0 +1,17 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param reconcileEnabled  whether the summaries are checked against the accounts in the background
+ * @param reconcileInterval pause between two checks, and before the first
+ * @param partitionSize     user ids checked per pair of queries, so a check never loads every summary at once
+ */
+@ConfigurationProperties(prefix = "eaglebank.user-summary")
+public record UserSummaryProperties(@DefaultValue("true") boolean reconcileEnabled,
+                                    @DefaultValue("1h") Duration reconcileInterval,
+                                    @DefaultValue("1000") int partitionSize) {
+}
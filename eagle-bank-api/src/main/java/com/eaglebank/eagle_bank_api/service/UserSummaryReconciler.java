@@ -0,0 +1,112 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.model.UserSummaryEntity;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.IdRangeView;
+import com.eaglebank.eagle_bank_api.repository.UserBalanceTotalView;
+import com.eaglebank.eagle_bank_api.repository.UserRepository;
+import com.eaglebank.eagle_bank_api.repository.UserSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Recomputes every user summary from the accounts and repairs any that have
+ * drifted. Users are checked {@code partition-size} ids at a time, aligned like the balance
+ * reconciler's partitions, so memory does not grow with the number of users. A mismatch seen in the first pass may just be a change in flight, so each one is
+ * re-checked with the summary row locked, which waits out any transaction that is updating
+ * it, before anything is written. Repairs are counted in {@code eaglebank.user-summary.repairs}.
+ */
+@Component
+public class UserSummaryReconciler {
+
+    private final UserSummaryRepository userSummaryRepository;
+    private final BankAccountRepository bankAccountRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSummaryProperties properties;
+    private final Counter repairs;
+
+    public UserSummaryReconciler(UserSummaryRepository userSummaryRepository,
+                                 BankAccountRepository bankAccountRepository,
+                                 UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 UserSummaryProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.userSummaryRepository = userSummaryRepository;
+        this.bankAccountRepository = bankAccountRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.repairs = meterRegistry.counter("eaglebank.user-summary.repairs");
+    }
+
+    /**
+     * Returns the number of summaries repaired.
+     */
+    public int reconcile() {
+        IdRangeView range = userRepository.findIdRange();
+        int size = properties.partitionSize();
+        int repaired = 0;
+        for (long fromId : PartitionRunner.alignedRanges(range.getMinId(), range.getMaxId(), size)) {
+            repaired += reconcile(fromId, fromId + size - 1);
+        }
+        repairs.increment(repaired);
+        return repaired;
+    }
+
+    private int reconcile(long fromId, long toId) {
+        Map<Long, UserBalanceTotalView> expected = new HashMap<>();
+        for (UserBalanceTotalView totals : bankAccountRepository.sumBalancesByUserIdBetween(fromId, toId)) {
+            expected.put(totals.getUserId(), totals);
+        }
+
+        int repaired = 0;
+        for (UserSummaryEntity summary : userSummaryRepository.findByUserIdBetween(fromId, toId)) {
+            UserBalanceTotalView totals = expected.remove(summary.getUserId());
+            if (!matches(summary, totals) && repair(summary.getUserId())) {
+                repaired++;
+            }
+        }
+        // Users who own accounts but have no summary at all.
+        for (Long userId : expected.keySet()) {
+            if (repair(userId)) {
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private boolean repair(long userId) {
+        Boolean repaired = transactionTemplate.execute(status -> {
+            Optional<UserSummaryEntity> locked = userSummaryRepository.findForUpdateById(userId);
+            UserBalanceTotalView totals = bankAccountRepository.sumBalancesByUserId(userId).orElse(null);
+            if (locked.isPresent() && matches(locked.get(), totals)) {
+                return false;
+            }
+
+            UserSummaryEntity summary = locked.orElseGet(() -> UserSummaryEntity.builder().userId(userId).build());
+            summary.setTotalBalanceMinor(totals == null ? 0 : MinorUnits.of(totals.getTotalBalance()));
+            summary.setAccountCount(totals == null ? 0 : totals.getAccountCount().intValue());
+            summary.setStripedAccountCount(totals == null ? 0 : totals.getStripedAccountCount().intValue());
+            userSummaryRepository.save(summary);
+            return true;
+        });
+        return Boolean.TRUE.equals(repaired);
+    }
+
+    private static boolean matches(UserSummaryEntity summary, UserBalanceTotalView totals) {
+        if (totals == null) {
+            return summary.getTotalBalanceMinor() == 0 && summary.getAccountCount() == 0 && summary.getStripedAccountCount() == 0;
+        }
+        return summary.getTotalBalanceMinor() == MinorUnits.of(totals.getTotalBalance())
+                && summary.getAccountCount() == totals.getAccountCount()
+                && summary.getStripedAccountCount() == totals.getStripedAccountCount();
+    }
+}
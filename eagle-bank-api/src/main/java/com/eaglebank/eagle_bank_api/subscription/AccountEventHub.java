@@ -0,0 +1,223 @@
+package com.eaglebank.eagle_bank_api.subscription;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans account events out to Server-Sent Event streams. Streams are async servlet requests, so
+ * an idle subscriber holds a connection but no thread. Each event is serialised once, then
+ * queued on every stream subscribed to its account; a small pool of sender threads drains the
+ * queues. A stream whose queue is full is closed rather than allowed to hold events back, and
+ * the client is expected to reconnect and re-read the account.
+ * <p>
+ * The hub is node-local: it only sees changes made on this instance. Behind a load balancer,
+ * a subscriber misses changes made through other instances, so run subscriptions on a single
+ * node, or have every instance's hub fed from the outbox instead of from its own writes.
+ * <p>
+ * Exposes {@code eaglebank.subscriptions.active}, {@code eaglebank.subscriptions.events} and
+ * {@code eaglebank.subscriptions.closed} tagged by reason.
+ */
+public class AccountEventHub implements DisposableBean {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+    private static final Set<DataWithMediaType> SUBSCRIBED = SseEmitter.event().comment("subscribed").build();
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribersByAccount = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger active = new AtomicInteger();
+    private final SubscriptionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter events;
+    private final Counter closedSlow;
+    private final Counter closedDisconnected;
+
+    public AccountEventHub(SubscriptionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.senders = Executors.newFixedThreadPool(properties.senderThreads(), new CustomizableThreadFactory("sse-sender-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("sse-heartbeat-"));
+        long heartbeatMillis = properties.heartbeatInterval().toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        this.events = meterRegistry.counter("eaglebank.subscriptions.events");
+        this.closedSlow = meterRegistry.counter("eaglebank.subscriptions.closed", "reason", "slow");
+        this.closedDisconnected = meterRegistry.counter("eaglebank.subscriptions.closed", "reason", "disconnected");
+        Gauge.builder("eaglebank.subscriptions.active", active, AtomicInteger::get)
+                .description("Open event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of events for the given accounts, or returns empty when the subscriber
+     * limit has been reached.
+     */
+    public Optional<SseEmitter> subscribe(Collection<String> accountNumbers) {
+        if (active.incrementAndGet() > properties.maxSubscribers()) {
+            active.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.streamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(accountNumbers), properties.queueCapacity());
+        subscribers.add(subscriber);
+        for (String accountNumber : subscriber.accountNumbers) {
+            subscribersByAccount.compute(accountNumber, (key, accountSubscribers) -> {
+                Set<Subscriber> updated = accountSubscribers == null ? ConcurrentHashMap.newKeySet() : accountSubscribers;
+                updated.add(subscriber);
+                return updated;
+            });
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        enqueue(subscriber, SUBSCRIBED);
+        return Optional.of(emitter);
+    }
+
+    public boolean hasSubscribers(String accountNumber) {
+        return subscribersByAccount.containsKey(accountNumber);
+    }
+
+    /**
+     * Queues an event for every stream subscribed to the account. Never blocks the caller.
+     */
+    public void publish(String accountNumber, String eventName, Object payload) {
+        publish(accountNumber, eventName, null, payload);
+    }
+
+    /**
+     * @param eventId sent as the event's SSE id, or null for none
+     */
+    public void publish(String accountNumber, String eventName, String eventId, Object payload) {
+        Set<Subscriber> targets = subscribersByAccount.get(accountNumber);
+        if (targets == null) {
+            return;
+        }
+
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(eventName);
+        if (eventId != null) {
+            builder.id(eventId);
+        }
+        Set<DataWithMediaType> event = builder.data(toJson(payload), MediaType.APPLICATION_JSON).build();
+        for (Subscriber subscriber : targets) {
+            enqueue(subscriber, event);
+        }
+        events.increment();
+    }
+
+    int activeSubscribers() {
+        return active.get();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Set<DataWithMediaType> event) {
+        if (!subscriber.queue.offer(event)) {
+            if (remove(subscriber)) {
+                closedSlow.increment();
+                // Completing waits for any send in progress, so leave it to a sender thread.
+                senders.execute(subscriber.emitter::complete);
+            }
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away, or the stream was already completed.
+                    subscriber.queue.clear();
+                    if (remove(subscriber)) {
+                        closedDisconnected.increment();
+                    }
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll but before the flag was cleared found the
+            // flag still set and did not schedule a drain; pick it up here.
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, HEARTBEAT);
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return false;
+        }
+        subscribers.remove(subscriber);
+        for (String accountNumber : subscriber.accountNumbers) {
+            subscribersByAccount.computeIfPresent(accountNumber, (key, accountSubscribers) -> {
+                accountSubscribers.remove(subscriber);
+                return accountSubscribers.isEmpty() ? null : accountSubscribers;
+            });
+        }
+        active.decrementAndGet();
+        return true;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event payload cannot be serialised: " + payload.getClass().getName(), e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<String> accountNumbers;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<String> accountNumbers, int queueCapacity) {
+            this.emitter = emitter;
+            this.accountNumbers = accountNumbers;
+            // Linked rather than array-backed, so an idle stream does not hold a full-size array.
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.eaglebank.eagle_bank_api.subscription;
+
+import com.example.project.model.BankAccountResponse;
+
+/**
+ * Payload of a {@code balance} event: the account's balance once the change committed.
+ * Events are published after commit from the committing thread, so two updates of one account
+ * can reach a stream in either order; subscribers keep the one with the higher version.
+ *
+ * @param version id of the transaction that produced the balance. Balance changes hold the
+ *                account row lock, so a later balance always has a higher version. Also sent
+ *                as the event's SSE id.
+ */
+public record BalanceUpdate(String accountNumber, double balance, BankAccountResponse.CurrencyEnum currency, long version) {
+}
@@ -0,0 +1,21 @@
+package com.eaglebank.eagle_bank_api.subscription;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxSubscribers    open streams allowed at once; further subscriptions get 503
+ * @param queueCapacity     events buffered per stream; a stream that falls further behind is closed
+ * @param senderThreads     threads writing events to streams
+ * @param heartbeatInterval gap between keep-alive comments, which also expose dead connections
+ * @param streamTimeout     lifetime of one stream before the client has to reconnect
+ */
+@ConfigurationProperties(prefix = "eaglebank.subscriptions")
+public record SubscriptionProperties(@DefaultValue("100000") int maxSubscribers,
+                                     @DefaultValue("32") int queueCapacity,
+                                     @DefaultValue("8") int senderThreads,
+                                     @DefaultValue("25s") Duration heartbeatInterval,
+                                     @DefaultValue("30m") Duration streamTimeout) {
+}
@@ -0,0 +1,17 @@
+package com.eaglebank.eagle_bank_api.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled     runs the warm-up before readiness is reported when true
+ * @param iterations  create/fetch/update/delete cycles to run
+ * @param maxDuration stops early once this much time has passed, whatever the iteration count
+ */
+@ConfigurationProperties(prefix = "eaglebank.warm-up")
+public record WarmUpProperties(@DefaultValue("false") boolean enabled,
+                               @DefaultValue("300") int iterations,
+                               @DefaultValue("60s") Duration maxDuration) {
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.eagle_bank_api.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Recognises the warm-up's own requests by a secret header that exists only while the
+ * warm-up runs. They skip authentication and the limiters, so they neither need a token
+ * nor spend loopback budgets and skew the latency baseline. Their writes also skip the outbox
+ * and the audit trail: the warm-up undoes every change it makes, and consumers of either
+ * should never see synthetic users and accounts.
+ */
+@Component
+public class WarmUpRequests {
+
+    public static final String HEADER = "X-Eaglebank-Warm-Up";
+
+    private final SecureRandom random = new SecureRandom();
+    private volatile byte[] secret;
+
+    public boolean isWarmUp(HttpServletRequest request) {
+        byte[] current = secret;
+        String presented = request.getHeader(HEADER);
+        return current != null && presented != null
+                && MessageDigest.isEqual(current, presented.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Whether the thread is serving a warm-up request.
+     */
+    public boolean isCurrentRequestWarmUp() {
+        return secret != null
+                && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && isWarmUp(attributes.getRequest());
+    }
+
+    String open() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        String value = HexFormat.of().formatHex(bytes);
+        secret = value.getBytes(StandardCharsets.US_ASCII);
+        return value;
+    }
+
+    void close() {
+        secret = null;
+    }
+}
@@ -0,0 +1,175 @@
+package com.eaglebank.eagle_bank_api.warmup;
+
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.BatchFetchAccountsRequest;
+import com.example.project.model.CreateBankAccountRequest;
+import com.example.project.model.CreateUserRequest;
+import com.example.project.model.CreateUserRequestAddress;
+import com.example.project.model.UpdateBankAccountRequest;
+import com.example.project.model.UpdateUserRequest;
+import com.example.project.model.UserResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives synthetic create/fetch/update/delete cycles through the running server before the
+ * application reports ready, so Jackson, validation, Hibernate and the hot service paths are
+ * JIT-compiled before real traffic arrives. Runners complete before Boot publishes
+ * {@link ReadinessState#ACCEPTING_TRAFFIC}, so the readiness group stays DOWN meanwhile.
+ * Everything a cycle creates is deleted by the same cycle, and none of it reaches the outbox or
+ * the audit trail (see {@link WarmUpRequests}).
+ */
+@Component
+@ConditionalOnProperty(prefix = "eaglebank.warm-up", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpRunner implements ApplicationRunner {
+
+    // Fails the account number pattern, exercising the validation error path without touching the data.
+    private static final String MALFORMED_ACCOUNT_NUMBER = "warm-up";
+
+    private final WarmUpProperties properties;
+    private final WarmUpRequests warmUpRequests;
+    private final RestClient.Builder restClientBuilder;
+    private final WebServerApplicationContext context;
+    private final MeterRegistry meterRegistry;
+
+    public WarmUpRunner(WarmUpProperties properties,
+                        WarmUpRequests warmUpRequests,
+                        RestClient.Builder restClientBuilder,
+                        WebServerApplicationContext context,
+                        MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.warmUpRequests = warmUpRequests;
+        this.restClientBuilder = restClientBuilder;
+        this.context = context;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+
+        String baseUrl = "http://localhost:" + context.getWebServer().getPort()
+                + context.getEnvironment().getProperty("server.servlet.context-path", "");
+        RestClient client = restClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader(WarmUpRequests.HEADER, warmUpRequests.open())
+                .build();
+
+        long start = System.nanoTime();
+        long deadline = start + properties.maxDuration().toNanos();
+        try {
+            for (int i = 0; i < properties.iterations() && System.nanoTime() < deadline; i++) {
+                cycle(client, i);
+            }
+        } catch (RestClientException e) {
+            // The server is not reachable over loopback; start anyway rather than hold readiness forever.
+            meterRegistry.counter("eaglebank.warmup.requests", "outcome", "failed").increment();
+        } finally {
+            warmUpRequests.close();
+            meterRegistry.timer("eaglebank.warmup.duration").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void cycle(RestClient client, int iteration) {
+        UserResponse user = exchange(client.post().uri("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(createUserRequest(iteration)), HttpStatus.CREATED, UserResponse.class);
+        if (user == null) {
+            return;
+        }
+
+        String userId = "usr-" + user.getId();
+        try {
+            exchange(client.get().uri("/v1/users/{userId}", userId), HttpStatus.OK, UserResponse.class);
+            exchange(client.patch().uri("/v1/users/{userId}", userId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(updateUserRequest(iteration)), HttpStatus.OK, UserResponse.class);
+            accountCycle(client, iteration);
+            exchange(client.get().uri("/api/v1/accounts/{accountNumber}", MALFORMED_ACCOUNT_NUMBER), HttpStatus.BAD_REQUEST, null);
+        } finally {
+            exchange(client.delete().uri("/v1/users/{userId}", userId), HttpStatus.NO_CONTENT, null);
+        }
+    }
+
+    private void accountCycle(RestClient client, int iteration) {
+        BankAccountResponse account = exchange(client.post().uri("/api/v1/accounts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new CreateBankAccountRequest()
+                        .name("Warm-up account " + iteration)
+                        .accountType(CreateBankAccountRequest.AccountTypeEnum.PERSONAL)), HttpStatus.CREATED, BankAccountResponse.class);
+        if (account == null) {
+            return;
+        }
+
+        String accountNumber = account.getAccountNumber();
+        try {
+            exchange(client.get().uri("/api/v1/accounts/{accountNumber}", accountNumber), HttpStatus.OK, BankAccountResponse.class);
+            exchange(client.put().uri("/api/v1/accounts/{accountNumber}", accountNumber)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new UpdateBankAccountRequest()
+                            .name("Warm-up account " + iteration + " renamed")
+                            .accountType(UpdateBankAccountRequest.AccountTypeEnum.PERSONAL)), HttpStatus.OK, BankAccountResponse.class);
+            exchange(client.post().uri("/api/v1/accounts/batch-fetch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new BatchFetchAccountsRequest().accountNumbers(List.of(accountNumber))), HttpStatus.OK, String.class);
+        } finally {
+            exchange(client.delete().uri("/api/v1/accounts/{accountNumber}", accountNumber), HttpStatus.NO_CONTENT, null);
+        }
+    }
+
+    /**
+     * Sends the request and reads the body as the client would; returns null when the status is
+     * not the expected one, which is counted rather than thrown so one bad cycle does not end
+     * the warm-up.
+     */
+    private <T> T exchange(RestClient.RequestHeadersSpec<?> request, HttpStatusCode expected, Class<T> bodyType) {
+        return request.exchange((clientRequest, clientResponse) -> {
+            boolean matched = clientResponse.getStatusCode().isSameCodeAs(expected);
+            meterRegistry.counter("eaglebank.warmup.requests", "outcome", matched ? "expected" : "unexpected").increment();
+            if (!matched || bodyType == null) {
+                return null;
+            }
+            return clientResponse.bodyTo(bodyType);
+        });
+    }
+
+    private static CreateUserRequest createUserRequest(int iteration) {
+        return new CreateUserRequest()
+                .name("Warm-up User")
+                .email("warm-up-" + iteration + "@example.com")
+                .phoneNumber("+441234567890")
+                .address(address());
+    }
+
+    private static UpdateUserRequest updateUserRequest(int iteration) {
+        return new UpdateUserRequest()
+                .name("Warm-up User " + iteration)
+                .email("warm-up-" + iteration + "@example.com")
+                .phoneNumber("+441234567891")
+                .address(address());
+    }
+
+    private static CreateUserRequestAddress address() {
+        return new CreateUserRequestAddress()
+                .line1("1 Warm-up Street")
+                .town("London")
+                .county("Greater London")
+                .postcode("E1 6AN");
+    }
+}
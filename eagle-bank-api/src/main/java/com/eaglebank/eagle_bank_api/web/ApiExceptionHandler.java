@@ -0,0 +1,67 @@
+package com.eaglebank.eagle_bank_api.web;
+
+import com.eaglebank.eagle_bank_api.exception.AuthenticationRequiredException;
+import com.eaglebank.eagle_bank_api.exception.BadBankAccountRequestException;
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.exception.BadUserRequestException;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import com.eaglebank.eagle_bank_api.exception.InsufficientFundsException;
+import com.eaglebank.eagle_bank_api.exception.TransactionNotFoundException;
+import com.eaglebank.eagle_bank_api.exception.UserNotFoundException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the domain exceptions to the spec's error bodies. Not-found bodies are fixed, so a
+ * 404 never reads the exception message.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final byte[] BANK_ACCOUNT_NOT_FOUND = ErrorResponses.template("Bank account was not found");
+    private static final byte[] USER_NOT_FOUND = ErrorResponses.template("User was not found");
+    private static final byte[] TRANSACTION_NOT_FOUND = ErrorResponses.template("Transaction was not found");
+    private static final byte[] INSUFFICIENT_FUNDS = ErrorResponses.template("Insufficient funds to process transaction");
+    private static final byte[] UNAUTHORIZED = ErrorResponses.template("Access token is missing or invalid");
+
+    @ExceptionHandler(BankAccountNotFoundException.class)
+    public ResponseEntity<byte[]> handleBankAccountNotFound() {
+        return json(HttpStatus.NOT_FOUND, BANK_ACCOUNT_NOT_FOUND);
+    }
+
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<byte[]> handleUserNotFound() {
+        return json(HttpStatus.NOT_FOUND, USER_NOT_FOUND);
+    }
+
+    @ExceptionHandler(TransactionNotFoundException.class)
+    public ResponseEntity<byte[]> handleTransactionNotFound() {
+        return json(HttpStatus.NOT_FOUND, TRANSACTION_NOT_FOUND);
+    }
+
+    @ExceptionHandler(InsufficientFundsException.class)
+    public ResponseEntity<byte[]> handleInsufficientFunds() {
+        return json(HttpStatus.UNPROCESSABLE_ENTITY, INSUFFICIENT_FUNDS);
+    }
+
+    @ExceptionHandler(AuthenticationRequiredException.class)
+    public ResponseEntity<byte[]> handleAuthenticationRequired() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(UNAUTHORIZED);
+    }
+
+    @ExceptionHandler({BadBankAccountRequestException.class, BadUserRequestException.class, BadTransactionRequestException.class})
+    public ResponseEntity<byte[]> handleBadRequest(RuntimeException e) {
+        return json(HttpStatus.BAD_REQUEST, ErrorResponses.badRequest(e.getMessage()));
+    }
+
+    private static ResponseEntity<byte[]> json(HttpStatus status, byte[] body) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,97 @@
+package com.eaglebank.eagle_bank_api.web;
+
+import com.eaglebank.eagle_bank_api.service.BankAccountService;
+import com.eaglebank.eagle_bank_api.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers If-None-Match / If-Modified-Since on single account and user reads from a
+ * timestamp-only lookup, so a 304 never loads or converts the entity. Anything that
+ * cannot be decided here (no conditional headers, bad ids, missing rows) falls through
+ * to the controller, which owns the error responses.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final BankAccountService bankAccountService;
+    private final UserService userService;
+
+    public ConditionalGetInterceptor(BankAccountService bankAccountService, UserService userService) {
+        this.bankAccountService = bankAccountService;
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        long ifModifiedSince = parseDateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch == null && ifModifiedSince < 0) {
+            return true;
+        }
+
+        Optional<OffsetDateTime> lastModified = lookupLastModified(request);
+        if (lastModified.isEmpty()) {
+            return true;
+        }
+
+        String etag = EntityTags.of(lastModified.get());
+        long lastModifiedMillis = lastModified.get().toInstant().toEpochMilli();
+
+        boolean notModified = ifNoneMatch != null
+                ? EntityTags.matchesAny(ifNoneMatch, etag)
+                : lastModifiedMillis / 1000 <= ifModifiedSince / 1000;
+        if (!notModified) {
+            return true;
+        }
+
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModifiedMillis);
+        return false;
+    }
+
+    private Optional<OffsetDateTime> lookupLastModified(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null) {
+            return Optional.empty();
+        }
+
+        try {
+            String accountNumber = pathVariables.get("accountNumber");
+            if (accountNumber != null) {
+                return bankAccountService.fetchLastModified(accountNumber);
+            }
+
+            String userId = pathVariables.get("userId");
+            if (userId != null) {
+                return userService.fetchLastModified(userId);
+            }
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    private long parseDateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
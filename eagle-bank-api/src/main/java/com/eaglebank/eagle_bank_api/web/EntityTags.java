@@ -0,0 +1,48 @@
+package com.eaglebank.eagle_bank_api.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+/**
+ * Strong entity tags derived from an entity's updated timestamp, truncated to the
+ * microsecond precision the database stores so that tags computed from a freshly
+ * saved entity and from a re-read row agree.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(OffsetDateTime lastModified) {
+        Instant instant = lastModified.toInstant();
+        return "\"" + Long.toHexString(instant.getEpochSecond()) + "." + Integer.toHexString(instant.getNano() / 1_000) + "\"";
+    }
+
+    /**
+     * 200 builder carrying ETag and Last-Modified so clients can revalidate with a
+     * conditional GET on their next poll.
+     */
+    public static ResponseEntity.BodyBuilder conditionalOk(OffsetDateTime lastModified) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (lastModified != null) {
+            builder.eTag(of(lastModified)).lastModified(lastModified.toInstant());
+        }
+        return builder;
+    }
+
+    public static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package com.eaglebank.eagle_bank_api.web;
+
+import com.example.project.model.BadRequestErrorResponse;
+import com.example.project.model.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-serialized error bodies. Fixed messages are turned into bytes once and written as-is;
+ * bad-request messages come from a small set of validation texts, so they are cached on
+ * first use up to a bound and serialized per request beyond it.
+ */
+public final class ErrorResponses {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAX_CACHED_BAD_REQUESTS = 256;
+    private static final Map<String, byte[]> BAD_REQUESTS = new ConcurrentHashMap<>();
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * Serializes an {@link ErrorResponse} with a fixed message; keep the result in a constant.
+     */
+    public static byte[] template(String message) {
+        ErrorResponse body = new ErrorResponse();
+        body.setMessage(message);
+        return serialize(body);
+    }
+
+    public static byte[] badRequest(String message) {
+        byte[] cached = BAD_REQUESTS.get(message);
+        if (cached != null) {
+            return cached;
+        }
+
+        BadRequestErrorResponse body = new BadRequestErrorResponse();
+        body.setMessage(message);
+        body.setDetails(List.of());
+        byte[] bytes = serialize(body);
+        if (BAD_REQUESTS.size() < MAX_CACHED_BAD_REQUESTS) {
+            BAD_REQUESTS.putIfAbsent(message, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes a body directly from filters and interceptors, which run outside the controller advice.
+     */
+    public static void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] serialize(Object body) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize error response", e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.eaglebank.eagle_bank_api;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.service.ExistenceFilter;
+import com.example.project.model.BankAccountResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds accounts straight into the database for the integration tests, the way
+ * {@code BankAccountService} would have opened them, without going through the API.
+ */
+public final class TestAccounts {
+
+    private static final AtomicInteger NEXT_NUMBER = new AtomicInteger(100_000);
+
+    private TestAccounts() {
+    }
+
+    /**
+     * Saves {@code count} accounts named {@code <name> 0}, {@code <name> 1}, ... with rollups kept
+     * from the start, adds them to the existence filter and returns their account numbers in
+     * order. Numbers are unique within the test run.
+     */
+    public static List<String> seed(BankAccountRepository bankAccountRepository, ExistenceFilter accountExistenceFilter,
+                                    String name, int count, double balance) {
+        List<String> accountNumbers = new ArrayList<>(count);
+        List<BankAccountEntity> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String accountNumber = "01" + NEXT_NUMBER.getAndIncrement();
+            accountNumbers.add(accountNumber);
+            accounts.add(BankAccountEntity.builder()
+                    .accountNumber(accountNumber)
+                    .name(name + " " + i)
+                    .accountType(BankAccountResponse.AccountTypeEnum.PERSONAL)
+                    .sortCode(BankAccountResponse.SortCodeEnum._10_10_10)
+                    .currency(BankAccountResponse.CurrencyEnum.GBP)
+                    .balance(balance)
+                    .rollupsComplete(true)
+                    .build());
+        }
+        bankAccountRepository.saveAll(accounts);
+        accountNumbers.forEach(accountExistenceFilter::add);
+        return accountNumbers;
+    }
+}
@@ -0,0 +1,152 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldWriteChecksummedRecordsInPublishOrder() throws IOException {
+        AuditLog auditLog = new AuditLog(properties(16, DataSize.ofMegabytes(1), AuditProperties.Backpressure.BLOCK), new WarmUpRequests(), meterRegistry);
+        auditLog.record(AuditSubject.USER, AuditAction.CREATE, 42, 0);
+        auditLog.record(AuditSubject.ACCOUNT, AuditAction.DELETE, 1234567, 42);
+
+        assertThat(auditLog.writeBatch()).isEqualTo(2);
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("audit-1.log")));
+        assertThat(file.remaining()).isEqualTo(2 * AuditRecordFormat.RECORD_SIZE);
+        assertThat(AuditRecordFormat.isIntact(file, 0)).isTrue();
+        assertThat(AuditRecordFormat.isIntact(file, AuditRecordFormat.RECORD_SIZE)).isTrue();
+        assertThat(file.getLong(16)).isEqualTo(42);
+        assertThat(file.getLong(AuditRecordFormat.RECORD_SIZE)).isEqualTo(1);
+        assertThat(file.getLong(AuditRecordFormat.RECORD_SIZE + 16)).isEqualTo(1234567);
+        assertThat(file.getLong(AuditRecordFormat.RECORD_SIZE + 24)).isEqualTo(42);
+        assertThat(file.get(AuditRecordFormat.RECORD_SIZE + 33)).isEqualTo((byte) AuditAction.DELETE.ordinal());
+        assertThat(meterRegistry.get("eaglebank.audit.fsync").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishOnlyOnceTheTransactionHasCompletedWithItsOutcome() throws IOException {
+        AuditLog auditLog = new AuditLog(properties(16, DataSize.ofMegabytes(1), AuditProperties.Backpressure.BLOCK), new WarmUpRequests(), meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            auditLog.record(AuditSubject.ACCOUNT, AuditAction.UPDATE, 1234567, 42);
+            assertThat(auditLog.writeBatch()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().get(0)
+                    .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        auditLog.record(AuditSubject.USER, AuditAction.CREATE, 42, 0);
+
+        assertThat(auditLog.writeBatch()).isEqualTo(2);
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("audit-1.log")));
+        assertThat(file.get(34)).isEqualTo(AuditRecordFormat.VERSION);
+        assertThat(file.get(35)).isEqualTo((byte) AuditOutcome.ROLLED_BACK.ordinal());
+        assertThat(file.get(AuditRecordFormat.RECORD_SIZE + 35)).isEqualTo((byte) AuditOutcome.COMMITTED.ordinal());
+    }
+
+    @Test
+    void shouldNotRecordTheWarmUpsChanges() throws IOException {
+        WarmUpRequests warmUpRequests = mock(WarmUpRequests.class);
+        when(warmUpRequests.isCurrentRequestWarmUp()).thenReturn(true);
+        AuditLog auditLog = new AuditLog(properties(16, DataSize.ofMegabytes(1), AuditProperties.Backpressure.BLOCK), warmUpRequests, meterRegistry);
+
+        auditLog.record(AuditSubject.USER, AuditAction.CREATE, 42, 0);
+
+        assertThat(auditLog.writeBatch()).isZero();
+    }
+
+    @Test
+    void shouldDetectACorruptedRecord() throws IOException {
+        AuditLog auditLog = new AuditLog(properties(16, DataSize.ofMegabytes(1), AuditProperties.Backpressure.BLOCK), new WarmUpRequests(), meterRegistry);
+        auditLog.record(AuditSubject.USER, AuditAction.UPDATE, 9, 9);
+        auditLog.writeBatch();
+
+        byte[] bytes = Files.readAllBytes(directory.resolve("audit-1.log"));
+        bytes[20] ^= 1;
+
+        assertThat(AuditRecordFormat.isIntact(ByteBuffer.wrap(bytes), 0)).isFalse();
+    }
+
+    @Test
+    void shouldStartANewFileBeforeExceedingTheSizeLimit() throws IOException {
+        DataSize limit = DataSize.ofBytes(3L * AuditRecordFormat.RECORD_SIZE);
+        AuditLog auditLog = new AuditLog(properties(16, limit, AuditProperties.Backpressure.BLOCK), new WarmUpRequests(), meterRegistry);
+        for (int i = 0; i < 2; i++) {
+            auditLog.record(AuditSubject.USER, AuditAction.CREATE, i, 0);
+            auditLog.record(AuditSubject.USER, AuditAction.CREATE, i, 0);
+            auditLog.writeBatch();
+        }
+
+        assertThat(files()).containsExactly("audit-1.log", "audit-2.log");
+        assertThat(Files.size(directory.resolve("audit-1.log"))).isEqualTo(2L * AuditRecordFormat.RECORD_SIZE);
+    }
+
+    @Test
+    void shouldContinueNumberingAfterExistingFiles() throws IOException {
+        Files.createFile(directory.resolve("audit-7.log"));
+        AuditLog auditLog = new AuditLog(properties(16, DataSize.ofMegabytes(1), AuditProperties.Backpressure.BLOCK), new WarmUpRequests(), meterRegistry);
+        auditLog.record(AuditSubject.USER, AuditAction.CREATE, 1, 0);
+        auditLog.writeBatch();
+
+        assertThat(files()).contains("audit-8.log");
+    }
+
+    @Test
+    void shouldDropAndCountRecordsWhenFullUnderDropPolicy() throws IOException {
+        AuditLog auditLog = new AuditLog(properties(2, DataSize.ofMegabytes(1), AuditProperties.Backpressure.DROP), new WarmUpRequests(), meterRegistry);
+        for (int i = 0; i < 5; i++) {
+            auditLog.record(AuditSubject.ACCOUNT, AuditAction.UPDATE, i, 0);
+        }
+
+        assertThat(meterRegistry.get("eaglebank.audit.records").tag("outcome", "dropped").counter().count()).isEqualTo(3);
+        assertThat(auditLog.writeBatch()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWriteEverythingPublishedBeforeStop() throws IOException {
+        AuditLog auditLog = new AuditLog(properties(1024, DataSize.ofMegabytes(1), AuditProperties.Backpressure.BLOCK), new WarmUpRequests(), meterRegistry);
+        auditLog.start();
+        for (int i = 0; i < 5_000; i++) {
+            auditLog.record(AuditSubject.USER, AuditAction.UPDATE, i, 0);
+        }
+        auditLog.stop();
+
+        assertThat(Files.size(directory.resolve("audit-1.log"))).isEqualTo(5_000L * AuditRecordFormat.RECORD_SIZE);
+        assertThat(meterRegistry.get("eaglebank.audit.records").tag("outcome", "written").counter().count()).isEqualTo(5_000);
+    }
+
+    private AuditProperties properties(int bufferSize, DataSize maxFileSize, AuditProperties.Backpressure backpressure) {
+        return new AuditProperties(bufferSize, directory, maxFileSize, AuditProperties.Fsync.BATCH, Duration.ofSeconds(1), backpressure);
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
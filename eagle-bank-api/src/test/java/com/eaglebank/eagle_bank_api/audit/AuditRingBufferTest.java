@@ -0,0 +1,94 @@
+package com.eaglebank.eagle_bank_api.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void shouldRoundCapacityUpToAPowerOfTwo() {
+        assertThat(new AuditRingBuffer(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void shouldRefusePublishingWhenFullUntilTheConsumerCatchesUp() {
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.tryPublish(i, AuditSubject.USER, AuditAction.CREATE, AuditOutcome.COMMITTED, i, 0)).isTrue();
+        }
+
+        assertThat(ring.tryPublish(4, AuditSubject.USER, AuditAction.CREATE, AuditOutcome.COMMITTED, 4, 0)).isFalse();
+        assertThat(ring.drain((sequence, timestamp, subject, action, outcome, subjectId, actorId) -> { }, 2)).isEqualTo(2);
+        assertThat(ring.tryPublish(4, AuditSubject.USER, AuditAction.CREATE, AuditOutcome.COMMITTED, 4, 0)).isTrue();
+        assertThat(ring.backlog()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldHandOutRecordsInSequenceOrderAcrossTheWrap() {
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        List<Long> subjectIds = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            ring.tryPublish(id, AuditSubject.ACCOUNT, AuditAction.UPDATE, AuditOutcome.COMMITTED, id, 7);
+            ring.drain((sequence, timestamp, subject, action, outcome, subjectId, actorId) -> {
+                assertThat(sequence).isEqualTo(subjectId - 1);
+                assertThat(subject).isEqualTo((byte) AuditSubject.ACCOUNT.ordinal());
+                assertThat(action).isEqualTo((byte) AuditAction.UPDATE.ordinal());
+                assertThat(outcome).isEqualTo((byte) AuditOutcome.COMMITTED.ordinal());
+                assertThat(actorId).isEqualTo(7);
+                subjectIds.add(subjectId);
+            }, 10);
+        }
+
+        assertThat(subjectIds).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void shouldNotLoseRecordsFromConcurrentProducers() throws Exception {
+        int producers = 8;
+        int perProducer = 20_000;
+        AuditRingBuffer ring = new AuditRingBuffer(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (long i = 0; i < perProducer; i++) {
+                    while (!ring.tryPublish(0, AuditSubject.USER, AuditAction.CREATE, AuditOutcome.COMMITTED, base + i, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Set<Long> seen = new HashSet<>();
+        long[] expectedSequence = {0};
+        start.countDown();
+        while (seen.size() < producers * perProducer) {
+            ring.drain((sequence, timestamp, subject, action, outcome, subjectId, actorId) -> {
+                assertThat(sequence).isEqualTo(expectedSequence[0]++);
+                seen.add(subjectId);
+            }, 64);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(ring.backlog()).isZero();
+    }
+}
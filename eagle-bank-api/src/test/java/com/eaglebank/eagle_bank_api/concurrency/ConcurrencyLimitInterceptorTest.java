@@ -0,0 +1,60 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, 1.5, 0.2, 100,
+                new ConcurrencyLimitProperties.Limits(2, 1, 10),
+                new ConcurrencyLimitProperties.Limits(1, 1, 10));
+        limiter = new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+        interceptor = new ConcurrencyLimitInterceptor(limiter, new WarmUpRequests());
+    }
+
+    @Test
+    @DisplayName("Should shed requests over the limit with 503 and Retry-After")
+    void shouldShedOverLimit() throws Exception {
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/v1/accounts"), new MockHttpServletResponse(), new Object())).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/v1/accounts"), response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should keep reads admitted while writes are saturated")
+    void shouldIsolateReadsFromWrites() throws Exception {
+        interceptor.preHandle(new MockHttpServletRequest("PATCH", "/api/v1/accounts/01234567"), new MockHttpServletResponse(), new Object());
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/accounts/01234567"), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the request completes")
+    void shouldReleasePermitOnCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/accounts/01234567");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        assertThat(limiter.limiterFor("DELETE").inFlight()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(limiter.limiterFor("DELETE").inFlight()).isZero();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("POST", "/api/v1/accounts"), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+}
@@ -0,0 +1,182 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.service.ExistenceFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Makes every database connection hold for {@link #DATABASE_LATENCY_MILLIS} before its first
+ * use, as a slow database would, then sends far more concurrent reads than the pool of ten
+ * connections can serve. Without the limiter all of them would queue for a connection, each
+ * taking about clients / pool times the injected latency. With it, the surplus is shed with
+ * 503, the shed clients come back after {@code Retry-After}, and the reads that are admitted
+ * keep a p99 well under that queueing time. The injected latency is large so that it, rather
+ * than CPU time shared with the clients, sets the pace. Run with
+ * {@code -Deaglebank.load-test.concurrency-seconds=60} for a longer run.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:concurrency-limit-load",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "eaglebank.rate-limit.enabled=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit",
+        "eaglebank.concurrency-limit.reads.initial=20",
+        "eaglebank.concurrency-limit.reads.min=4",
+        "eaglebank.concurrency-limit.reads.max=200",
+        "logging.level.org.springframework.web=INFO"})
+class ConcurrencyLimitLoadTest {
+
+    private static final long DATABASE_LATENCY_MILLIS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final int CLIENTS = 200;
+    private static final int WARM_UP_CLIENTS = 4;
+    private static final int SECONDS = Integer.getInteger("eaglebank.load-test.concurrency-seconds", 4);
+    private static final int ACCOUNTS = 20;
+
+    private static volatile long injectedLatencyMillis;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Limited", ACCOUNTS, 0.0));
+        injectedLatencyMillis = DATABASE_LATENCY_MILLIS;
+    }
+
+    @AfterEach
+    void tearDown() {
+        injectedLatencyMillis = 0;
+    }
+
+    @Test
+    @DisplayName("With a slow database the surplus should be shed and admitted reads should keep a bounded p99")
+    void shedsSurplusAndBoundsAdmittedLatency() throws Exception {
+        // Light load first, so the latency baseline reflects the slow database rather than a queue.
+        run(WARM_UP_CLIENTS, 1, new ConcurrentLinkedQueue<>(), new AtomicInteger(), new AtomicInteger());
+
+        Queue<Long> admittedMillis = new ConcurrentLinkedQueue<>();
+        AtomicInteger shed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        run(CLIENTS, SECONDS, admittedMillis, shed, failed);
+
+        List<Long> sorted = admittedMillis.stream().sorted().toList();
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        long queuedMillis = CLIENTS / POOL_SIZE * DATABASE_LATENCY_MILLIS;
+        assertThat(failed.get()).isZero();
+        assertThat(shed.get()).isPositive();
+        assertThat(sorted).hasSizeGreaterThan((int) (SECONDS * POOL_SIZE * 1000 / DATABASE_LATENCY_MILLIS / 2));
+        assertThat(p99).as("p99 of %d admitted reads, %d shed", sorted.size(), shed.get()).isLessThan(queuedMillis / 2);
+    }
+
+    private void run(int clients, int seconds, Queue<Long> admittedMillis, AtomicInteger shed, AtomicInteger failed)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int clientIndex = c;
+                workers.add(executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                            + "/api/v1/accounts/" + accountNumbers.get(clientIndex % ACCOUNTS))).build();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            admittedMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        } else if (response.statusCode() == 503) {
+                            shed.incrementAndGet();
+                            // A well-behaved client waits about as long as Retry-After asks, with jitter so
+                            // the shed clients do not all come back at once.
+                            long retryAfterMillis = TimeUnit.SECONDS.toMillis(response.headers().firstValueAsLong("Retry-After").orElse(1));
+                            Thread.sleep(ThreadLocalRandom.current().nextLong(retryAfterMillis / 2, retryAfterMillis * 3 / 2));
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(seconds + 60L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabase {
+
+        @Bean
+        static BeanPostProcessor slowConnections() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection connection = super.getConnection();
+                            long latency = injectedLatencyMillis;
+                            if (latency > 0) {
+                                try {
+                                    Thread.sleep(latency);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+                            return connection;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.eaglebank.eagle_bank_api.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GradientLimitTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should grow the limit while latency stays at the baseline")
+    void shouldGrowWhileLatencyIsStable() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.get());
+        }
+
+        assertThat(limit.get()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency climbs above the baseline")
+    void shouldShrinkWhenLatencyClimbs() {
+        GradientLimit limit = new GradientLimit(100, 4, 200, 1.5, 0.2, 100);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(10 * MILLIS, limit.get());
+        }
+        int before = limit.get();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(200 * MILLIS, limit.get());
+        }
+
+        assertThat(limit.get()).isLessThan(before / 2);
+    }
+
+    @Test
+    @DisplayName("Should let the baseline fall back after a slow first request")
+    void shouldRecoverFromSlowFirstRequest() {
+        GradientLimit limit = new GradientLimit(100, 4, 200, 1.5, 0.2, 100);
+        limit.onSample(1_000 * MILLIS, limit.get());
+        for (int i = 0; i < 60; i++) {
+            limit.onSample(10 * MILLIS, limit.get());
+        }
+        int before = limit.get();
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(30 * MILLIS, limit.get());
+        }
+
+        assertThat(limit.get()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured bounds")
+    void shouldStayWithinBounds() {
+        GradientLimit limit = new GradientLimit(10, 4, 30, 1.5, 0.5, 1000);
+        for (int i = 0; i < 500; i++) {
+            limit.onSample(10 * MILLIS, limit.get());
+        }
+        assertThat(limit.get()).isEqualTo(30);
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10_000 * MILLIS, limit.get());
+        }
+        assertThat(limit.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should ignore samples taken while most of the limit is unused")
+    void shouldIgnoreAppLimitedSamples() {
+        GradientLimit limit = new GradientLimit(50, 4, 200, 1.5, 0.2, 100);
+        limit.onSample(10 * MILLIS, 1);
+        limit.onSample(500 * MILLIS, 1);
+
+        assertThat(limit.get()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Should apply every sample when many requests complete at once")
+    void shouldApplyConcurrentSamples() throws Exception {
+        // At a steady latency each sample adds sqrt(limit), whatever order the samples arrive in.
+        GradientLimit sequential = new GradientLimit(4, 4, 1_000_000_000, 1.5, 1.0, 100);
+        GradientLimit concurrent = new GradientLimit(4, 4, 1_000_000_000, 1.5, 1.0, 100);
+        int threads = 8;
+        int samplesPerThread = 1_000;
+        for (int i = 0; i < threads * samplesPerThread; i++) {
+            sequential.onSample(10 * MILLIS, Integer.MAX_VALUE);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < samplesPerThread; i++) {
+                        concurrent.onSample(10 * MILLIS, Integer.MAX_VALUE);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(concurrent.get()).isEqualTo(sequential.get());
+    }
+
+    @Test
+    @DisplayName("Should reject inconsistent bounds")
+    void shouldRejectInconsistentBounds() {
+        assertThatThrownBy(() -> new GradientLimit(2, 4, 200, 1.5, 0.2, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GradientLimit(20, 4, 2, 1.5, 0.2, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
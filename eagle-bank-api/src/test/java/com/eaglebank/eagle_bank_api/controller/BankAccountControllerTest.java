@@ -1,8 +1,14 @@
 package com.eaglebank.eagle_bank_api.controller;
 
 import com.eaglebank.eagle_bank_api.service.BankAccountService;
+import com.eaglebank.eagle_bank_api.service.TransactionService;
+import com.eaglebank.eagle_bank_api.web.EntityTags;
 import com.example.project.model.BankAccountResponse;
+import com.example.project.model.BatchFetchAccountsRequest;
+import com.example.project.model.BatchFetchAccountsResponse;
 import com.example.project.model.CreateBankAccountRequest;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.TransactionResponse;
 import com.example.project.model.UpdateBankAccountRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +22,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -29,6 +36,9 @@ class BankAccountControllerTest {
     @Mock
     private BankAccountService bankAccountService;
 
+    @Mock
+    private TransactionService transactionService;
+
     @InjectMocks
     private BankAccountController bankAccountController;
 
@@ -93,6 +103,8 @@ class BankAccountControllerTest {
             assertNotNull(response.getBody());
             assertThat(response.getBody()).usingRecursiveComparison().isEqualTo(bankAccountResponse);
             assertThat(response.getBody().getAccountNumber()).isEqualTo("01234567");
+            assertThat(response.getHeaders().getETag()).isEqualTo(EntityTags.of(bankAccountResponse.getUpdatedTimestamp()));
+            assertThat(response.getHeaders().getLastModified()).isPositive();
         }
 
         @Test
@@ -110,6 +122,27 @@ class BankAccountControllerTest {
 
     }
 
+    @Nested
+    class BatchFetchBankAccountTests {
+
+        @Test
+        @DisplayName("Should return found and not-found accounts in one response")
+        void shouldBatchFetchAccounts() {
+            BatchFetchAccountsRequest request = new BatchFetchAccountsRequest();
+            request.setAccountNumbers(List.of("01234567", "01999999"));
+
+            BatchFetchAccountsResponse batchResponse = new BatchFetchAccountsResponse();
+            batchResponse.addAccountsItem(bankAccountResponse);
+            batchResponse.addNotFoundItem("01999999");
+            when(bankAccountService.fetchByAccountNumbers(request.getAccountNumbers())).thenReturn(batchResponse);
+
+            ResponseEntity<BatchFetchAccountsResponse> response = bankAccountController._batchFetchAccounts(request);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isSameAs(batchResponse);
+        }
+    }
+
     @Nested
     class DeleteBankAccountTests {
         @Test
@@ -141,6 +174,40 @@ class BankAccountControllerTest {
         }
     }
 
+    @Nested
+    class TransactionTests {
+
+        @Test
+        @DisplayName("Should create transaction on the account")
+        void shouldCreateTransaction() {
+            String accountNumber = "01234567";
+            CreateTransactionRequest request = new CreateTransactionRequest();
+            TransactionResponse transactionResponse = new TransactionResponse();
+            transactionResponse.setId("tan-123");
+
+            when(transactionService.createTransaction(accountNumber, request)).thenReturn(transactionResponse);
+
+            ResponseEntity<TransactionResponse> response = bankAccountController._createTransaction(accountNumber, request);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(response.getBody()).isSameAs(transactionResponse);
+        }
+
+        @Test
+        @DisplayName("Should fetch transaction by id")
+        void shouldFetchTransactionById() {
+            TransactionResponse transactionResponse = new TransactionResponse();
+            transactionResponse.setId("tan-123");
+
+            when(transactionService.fetchTransaction("01234567", "tan-123")).thenReturn(transactionResponse);
+
+            ResponseEntity<TransactionResponse> response = bankAccountController._fetchAccountTransactionByID("01234567", "tan-123");
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isSameAs(transactionResponse);
+        }
+    }
+
     private BankAccountResponse createMockBankAccountResponse() {
         BankAccountResponse response = new BankAccountResponse();
         response.setAccountNumber("01234567");
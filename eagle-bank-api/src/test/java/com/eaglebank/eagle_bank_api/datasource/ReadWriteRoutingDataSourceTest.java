@@ -0,0 +1,67 @@
+package com.eaglebank.eagle_bank_api.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), 100);
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(
+            new SimpleDriverDataSource(), new SimpleDriverDataSource(), tracker, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void reset() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica")
+    void shouldRouteReadOnlyToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteWritesToPrimary() {
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("Should keep a caller's reads on the primary right after they wrote")
+    void shouldReadOwnWritesFromPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        tracker.recordWrite("10.0.0.1");
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);
+
+        tracker.recordWrite("10.0.0.2");
+        RequestContextHolder.resetRequestAttributes();
+        MockHttpServletRequest other = new MockHttpServletRequest();
+        other.setRemoteAddr("10.0.0.3");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(other));
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo(ReadWriteRoutingDataSource.Route.REPLICA);
+    }
+}
@@ -0,0 +1,34 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvFieldsTest {
+
+    @Test
+    @DisplayName("Should leave plain values alone")
+    void shouldLeavePlainValues() {
+        assertThat(CsvFields.escape("Salary September")).isEqualTo("Salary September");
+        assertThat(CsvFields.escape("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should quote separators and double inner quotes")
+    void shouldQuoteSeparators() {
+        assertThat(CsvFields.escape("Salary, September")).isEqualTo("\"Salary, September\"");
+        assertThat(CsvFields.escape("Rent \"flat 2\"")).isEqualTo("\"Rent \"\"flat 2\"\"\"");
+        assertThat(CsvFields.escape("two\nlines")).isEqualTo("\"two\nlines\"");
+    }
+
+    @Test
+    @DisplayName("Should make values a spreadsheet would evaluate open as text")
+    void shouldDefuseFormulas() {
+        assertThat(CsvFields.escape("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(CsvFields.escape("+44 20")).isEqualTo("'+44 20");
+        assertThat(CsvFields.escape("-1")).isEqualTo("'-1");
+        assertThat(CsvFields.escape("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(CsvFields.escape("a=b")).isEqualTo("a=b");
+    }
+}
@@ -0,0 +1,246 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.eaglebank.eagle_bank_api.service.BankAccountService;
+import com.eaglebank.eagle_bank_api.service.ExistenceFilter;
+import com.eaglebank.eagle_bank_api.service.StripedBalances;
+import com.eaglebank.eagle_bank_api.service.TransactionService;
+import com.example.project.model.CreateTransactionRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pulls exports over HTTP and checks their content, gzip, resuming, and that a large export
+ * streams through completely. The default size suits a developer machine; run with
+ * {@code -Deaglebank.load-test.export-rows=10000000} for the full target and read the
+ * throughput off {@code eaglebank.exports.rows} and {@code eaglebank.exports.duration}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:data-export",
+        "eaglebank.rate-limit.enabled=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit",
+        "eaglebank.exports.enabled=true",
+        "eaglebank.exports.allow-without-authentication=true"})
+class DataExportTest {
+
+    private static final int ACCOUNTS = 3;
+    private static final int ROWS = Integer.getInteger("eaglebank.load-test.export-rows", 50_000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Export", ACCOUNTS, 0.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        balanceStripeRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        accountNumbers.forEach(accountExistenceFilter::remove);
+    }
+
+    @Test
+    @DisplayName("Should export accounts as CSV with API values and balances that include pending stripes")
+    void exportsAccountsAsCsv() throws Exception {
+        stripedBalances.enable(accountNumbers.get(1), 4);
+        post(accountNumbers.get(0), 150.00, CreateTransactionRequest.TypeEnum.DEPOSIT, null);
+        post(accountNumbers.get(1), 20.50, CreateTransactionRequest.TypeEnum.DEPOSIT, null);
+
+        HttpResponse<InputStream> response = get("/api/v1/exports/accounts", false);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/csv"));
+        List<String> lines = lines(response, false);
+        assertThat(lines).hasSize(ACCOUNTS + 1);
+        assertThat(lines.get(0)).isEqualTo("accountNumber,sortCode,name,accountType,balance,currency,userId,createdTimestamp,updatedTimestamp");
+        assertThat(lines.get(1)).startsWith(accountNumbers.get(0) + ",10-10-10,Export 0,personal,150.00,GBP,,");
+        assertThat(lines.get(2)).startsWith(accountNumbers.get(1) + ",10-10-10,Export 1,personal,20.50,GBP,,");
+        assertThat(bankAccountService.fetchByAccountNumber(accountNumbers.get(1)).getBalance()).isEqualTo(20.50);
+        assertThat(lines.get(3)).startsWith(accountNumbers.get(2) + ",10-10-10,Export 2,personal,0.00,GBP,,");
+    }
+
+    @Test
+    @DisplayName("Should export transactions as gzipped NDJSON and resume after a given id")
+    void exportsTransactionsAsGzippedNdjson() throws Exception {
+        post(accountNumbers.get(0), 10.00, CreateTransactionRequest.TypeEnum.DEPOSIT, "Invoice 7, \"final\"");
+        post(accountNumbers.get(0), 2.50, CreateTransactionRequest.TypeEnum.WITHDRAWAL, null);
+        post(accountNumbers.get(2), 0.01, CreateTransactionRequest.TypeEnum.DEPOSIT, "Test");
+
+        HttpResponse<InputStream> response = get("/api/v1/exports/transactions?format=ndjson", true);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : lines(response, true)) {
+            rows.add(objectMapper.readTree(line));
+        }
+        assertThat(rows).hasSize(3);
+        JsonNode first = rows.get(0);
+        assertThat(first.get("id").asText()).startsWith("tan-");
+        assertThat(first.get("accountNumber").asText()).isEqualTo(accountNumbers.get(0));
+        assertThat(first.get("type").asText()).isEqualTo("deposit");
+        assertThat(first.get("amount").decimalValue()).isEqualByComparingTo("10.00");
+        assertThat(first.get("currency").asText()).isEqualTo("GBP");
+        assertThat(first.get("reference").asText()).isEqualTo("Invoice 7, \"final\"");
+        assertThat(OffsetDateTime.parse(first.get("createdTimestamp").asText()).getOffset()).isEqualTo(ZoneOffset.UTC);
+        assertThat(rows.get(1).get("type").asText()).isEqualTo("withdrawal");
+        assertThat(rows.get(1).get("reference").isNull()).isTrue();
+
+        HttpResponse<InputStream> resumed = get("/api/v1/exports/transactions?format=ndjson&after=" + first.get("id").asText(), false);
+        List<String> remaining = lines(resumed, false);
+        assertThat(remaining).hasSize(2);
+        assertThat(objectMapper.readTree(remaining.get(0))).isEqualTo(rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Should export transactions as CSV with quoted references and formulas defused")
+    void exportsTransactionsAsCsv() throws Exception {
+        post(accountNumbers.get(1), 12.34, CreateTransactionRequest.TypeEnum.DEPOSIT, "=HYPERLINK(\"x\")");
+        post(accountNumbers.get(1), 1.00, CreateTransactionRequest.TypeEnum.WITHDRAWAL, "Rent, May");
+
+        HttpResponse<InputStream> response = get("/api/v1/exports/transactions", false);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith("text/csv"));
+        List<String> lines = lines(response, false);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,");
+        assertThat(lines.get(1)).matches("tan-[A-Za-z0-9]+," + accountNumbers.get(1)
+                + ",deposit,12.34,GBP,\"'=HYPERLINK\\(\"\"x\"\"\\)\",.*");
+        assertThat(lines.get(2)).contains(",withdrawal,1.00,GBP,\"Rent, May\",");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown format or a malformed resume key")
+    void rejectsBadParameters() throws Exception {
+        assertThat(get("/api/v1/exports/accounts?format=xml", false).statusCode()).isEqualTo(400);
+        assertThat(get("/api/v1/exports/transactions?after=42", false).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("A large export should stream through completely")
+    void streamsLargeExport() throws Exception {
+        Long accountId = bankAccountRepository.findStripingByAccountNumber(accountNumbers.get(0)).orElseThrow().getId();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{accountId, "Bulk " + i, now});
+            if (batch.size() == 1_000 || i == ROWS - 1) {
+                jdbcTemplate.batchUpdate("insert into account_transaction (account_id, amount, currency, type, reference, created_timestamp) "
+                        + "values (?, 1.25, 'GBP', 'DEPOSIT', ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        double exportedBefore = meterRegistry.counter("eaglebank.exports.rows", "dataset", "transactions").count();
+
+        HttpResponse<InputStream> response = get("/api/v1/exports/transactions", true);
+
+        long rows = 0;
+        try (BufferedReader reader = reader(response, true)) {
+            assertThat(reader.readLine()).startsWith("id,");
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                assertThat(line).contains(",deposit,1.25,GBP,Bulk ");
+                rows++;
+            }
+        }
+        assertThat(rows).isEqualTo(ROWS);
+        assertThat(meterRegistry.counter("eaglebank.exports.rows", "dataset", "transactions").count() - exportedBefore)
+                .isEqualTo(ROWS);
+    }
+
+    private HttpResponse<InputStream> get(String path, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private static BufferedReader reader(HttpResponse<InputStream> response, boolean gzip) throws Exception {
+        InputStream body = gzip ? new GZIPInputStream(response.body()) : response.body();
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static List<String> lines(HttpResponse<InputStream> response, boolean gzip) throws Exception {
+        try (BufferedReader reader = reader(response, gzip)) {
+            return reader.lines().toList();
+        }
+    }
+
+    private void post(String accountNumber, double amount, CreateTransactionRequest.TypeEnum type, String reference) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        request.setReference(reference);
+        transactionService.createTransaction(accountNumber, request);
+    }
+}
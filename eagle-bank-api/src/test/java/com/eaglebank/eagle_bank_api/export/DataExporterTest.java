@@ -0,0 +1,43 @@
+package com.eaglebank.eagle_bank_api.export;
+
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DataExporterTest {
+
+    private static final AuthenticatedPrincipal FINANCE = new AuthenticatedPrincipal("usr-1", 1L, Instant.MAX);
+    private static final AuthenticatedPrincipal OTHER = new AuthenticatedPrincipal("usr-2", 2L, Instant.MAX);
+
+    @Test
+    @DisplayName("Should refuse exports without authentication unless explicitly allowed")
+    void shouldRefuseWithoutAuthenticationByDefault() {
+        assertThat(exporter(false).isAllowed(null)).isFalse();
+        assertThat(exporter(true).isAllowed(null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should only allow the configured users when authentication is enabled")
+    void shouldAllowConfiguredUsers() {
+        DataExporter exporter = exporter(true);
+
+        assertThat(exporter.isAllowed(FINANCE)).isTrue();
+        assertThat(exporter.isAllowed(OTHER)).isFalse();
+    }
+
+    private static DataExporter exporter(boolean allowWithoutAuthentication) {
+        return new DataExporter(mock(DataSource.class), mock(PlatformTransactionManager.class), new ObjectMapper(),
+                new ExportProperties(true, 1000, 2, allowWithoutAuthentication, List.of("usr-1")),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,65 @@
+package com.eaglebank.eagle_bank_api.mapper;
+
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.CreateBankAccountRequest;
+import com.example.project.model.UpdateBankAccountRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BankAccountMapperTest {
+
+    @Test
+    @DisplayName("Should copy every field and enum by identity")
+    void shouldMapEntityToResponse() {
+        OffsetDateTime now = OffsetDateTime.now();
+        BankAccountEntity entity = BankAccountEntity.builder()
+                .accountNumber("01234567")
+                .sortCode(BankAccountResponse.SortCodeEnum._10_10_10)
+                .name("My Personal Bank Account")
+                .accountType(BankAccountResponse.AccountTypeEnum.PERSONAL)
+                .balance(12.5)
+                .currency(BankAccountResponse.CurrencyEnum.GBP)
+                .createdTimestamp(now)
+                .updatedTimestamp(now)
+                .build();
+
+        BankAccountResponse response = BankAccountMapper.toResponse(entity);
+
+        assertThat(response.getAccountNumber()).isEqualTo("01234567");
+        assertThat(response.getSortCode()).isSameAs(BankAccountResponse.SortCodeEnum._10_10_10);
+        assertThat(response.getAccountType()).isSameAs(BankAccountResponse.AccountTypeEnum.PERSONAL);
+        assertThat(response.getCurrency()).isSameAs(BankAccountResponse.CurrencyEnum.GBP);
+        assertThat(response.getBalance()).isEqualTo(12.5);
+        assertThat(response.getCreatedTimestamp()).isEqualTo(now);
+        assertThat(response.getUpdatedTimestamp()).isEqualTo(now);
+    }
+
+    @Test
+    @DisplayName("Should build a new GBP account with a zero balance from a create request")
+    void shouldMapCreateRequestToEntity() {
+        CreateBankAccountRequest request = new CreateBankAccountRequest();
+        request.setName("Savings");
+        request.setAccountType(CreateBankAccountRequest.AccountTypeEnum.PERSONAL);
+
+        BankAccountEntity entity = BankAccountMapper.toEntity(request);
+
+        assertThat(entity.getName()).isEqualTo("Savings");
+        assertThat(entity.getAccountType()).isEqualTo(BankAccountResponse.AccountTypeEnum.PERSONAL);
+        assertThat(entity.getSortCode()).isEqualTo(BankAccountResponse.SortCodeEnum._10_10_10);
+        assertThat(entity.getCurrency()).isEqualTo(BankAccountResponse.CurrencyEnum.GBP);
+        assertThat(entity.getBalance()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should map an absent update account type to null")
+    void shouldMapMissingUpdateAccountTypeToNull() {
+        assertThat(BankAccountMapper.toAccountType((UpdateBankAccountRequest.AccountTypeEnum) null)).isNull();
+        assertThat(BankAccountMapper.toAccountType(UpdateBankAccountRequest.AccountTypeEnum.PERSONAL))
+                .isEqualTo(BankAccountResponse.AccountTypeEnum.PERSONAL);
+    }
+}
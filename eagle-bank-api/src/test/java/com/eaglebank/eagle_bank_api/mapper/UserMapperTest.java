@@ -0,0 +1,38 @@
+package com.eaglebank.eagle_bank_api.mapper;
+
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.example.project.model.CreateUserRequestAddress;
+import com.example.project.model.UserResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserMapperTest {
+
+    @Test
+    @DisplayName("Should round trip the address through its JSON column")
+    void shouldRoundTripAddress() {
+        CreateUserRequestAddress address = new CreateUserRequestAddress()
+                .line1("123 Main St")
+                .town("London")
+                .county("Greater London")
+                .postcode("E1 6AN");
+
+        CreateUserRequestAddress parsed = UserMapper.deserializeAddress(UserMapper.serializeAddress(address));
+
+        assertThat(parsed).usingRecursiveComparison().isEqualTo(address);
+    }
+
+    @Test
+    @DisplayName("Should map a user without a stored address")
+    void shouldMapUserWithoutAddress() {
+        UserEntity entity = UserEntity.builder().id(7L).name("Jane Doe").build();
+
+        UserResponse response = UserMapper.toResponse(entity);
+
+        assertThat(response.getId()).isEqualTo("7");
+        assertThat(response.getName()).isEqualTo("Jane Doe");
+        assertThat(response.getAddress()).isNull();
+    }
+}
@@ -0,0 +1,129 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final InMemoryOutboxSink sink = new InMemoryOutboxSink();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties properties =
+            new OutboxProperties(true, 2, Duration.ofMillis(200), Duration.ofSeconds(1), OutboxProperties.Sink.MEMORY, Path.of("unused"));
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishInIdOrderThenDeleteTheBatch() {
+        List<OutboxEvent> batch = List.of(event(1L, 30), event(2L, 10));
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH), any(RowMapper.class), eq(2))).thenReturn(batch);
+
+        int delivered = relay(sink).relayBatch();
+
+        assertThat(delivered).isEqualTo(2);
+        assertThat(sink.events()).extracting(OutboxEvent::id).containsExactly(1L, 2L);
+        verify(jdbcTemplate).batchUpdate(eq(OutboxRelay.DELETE), eq(batch), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(meterRegistry.get("eaglebank.outbox.events").tag("outcome", "published").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("eaglebank.outbox.lag").gauge().value()).isEqualTo(30.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNumberEachAggregatesEventsInIdOrder() {
+        List<OutboxEvent> batch = List.of(unnumbered(4L, "01234567"), unnumbered(5L, "01000001"), unnumbered(6L, "01234567"));
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH), any(RowMapper.class), eq(2))).thenReturn(batch);
+        when(jdbcTemplate.update(OutboxRelay.ADVANCE_SEQUENCE, 2L, "account", "01234567")).thenReturn(1);
+        when(jdbcTemplate.update(OutboxRelay.ADVANCE_SEQUENCE, 1L, "account", "01000001")).thenReturn(1);
+        when(jdbcTemplate.queryForObject(OutboxRelay.LAST_SEQUENCE, Long.class, "account", "01234567")).thenReturn(7L);
+        when(jdbcTemplate.queryForObject(OutboxRelay.LAST_SEQUENCE, Long.class, "account", "01000001")).thenReturn(3L);
+
+        relay(sink).relayBatch();
+
+        assertThat(sink.events()).extracting(OutboxEvent::id).containsExactly(4L, 5L, 6L);
+        assertThat(sink.events()).extracting(OutboxEvent::sequence).containsExactly(6L, 3L, 7L);
+        verify(jdbcTemplate).batchUpdate(eq(OutboxRelay.SET_SEQUENCE), anyList(), eq(3), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepTheBatchAndItsNumbersWhenTheSinkFails() {
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH), any(RowMapper.class), eq(2))).thenReturn(List.of(unnumbered(1L, "01234567")));
+        OutboxRelay relay = relay(events -> {
+            throw new IllegalStateException("broker down");
+        });
+
+        assertThatThrownBy(relay::relayBatch).isInstanceOf(OutboxRelay.OutboxDeliveryException.class);
+
+        verify(jdbcTemplate, never()).batchUpdate(eq(OutboxRelay.DELETE), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        // An aggregate the relay has not numbered before starts at 1, and keeps that number for the retry.
+        verify(jdbcTemplate).update(OutboxRelay.INSERT_SEQUENCE, "account", "01234567", 1L);
+        verify(jdbcTemplate).batchUpdate(eq(OutboxRelay.SET_SEQUENCE), anyList(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager).commit(any());
+        assertThat(meterRegistry.get("eaglebank.outbox.events").tag("outcome", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportNoLagWhenTheOutboxIsEmpty() {
+        when(jdbcTemplate.query(eq(OutboxRelay.SELECT_BATCH), any(RowMapper.class), eq(2))).thenReturn(List.of());
+
+        OutboxRelay relay = relay(sink);
+
+        assertThat(relay.relayBatch()).isZero();
+        assertThat(relay.lagSeconds()).isZero();
+    }
+
+    private OutboxRelay relay(OutboxSink outboxSink) {
+        return new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), outboxSink, properties,
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static OutboxEvent unnumbered(long id, String accountNumber) {
+        return new OutboxEvent(id, "account", accountNumber, null, "ACCOUNT_UPDATED", "{}", OffsetDateTime.ofInstant(NOW, ZoneOffset.UTC));
+    }
+
+    private static OutboxEvent event(long id, long ageSeconds) {
+        return new OutboxEvent(id, "account", "01234567", id, "ACCOUNT_UPDATED", "{}",
+                OffsetDateTime.ofInstant(NOW.minusSeconds(ageSeconds), ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,113 @@
+package com.eaglebank.eagle_bank_api.outbox;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteAllEventsOfATransactionInOneBatchAfterFlushing() {
+        Outbox outbox = new Outbox(jdbcTemplate, entityManager, new ObjectMapper(), new WarmUpRequests());
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        outbox.record(OutboxEventType.ACCOUNT_CREATED, "01234567", Map.of("name", "Main"));
+        outbox.record(OutboxEventType.TRANSACTION_CREATED, "01234567", Map.of("amount", 5));
+        verifyNoInteractions(jdbcTemplate);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // The entity changes, and every row lock they take, come before the events get their ids.
+        InOrder writes = inOrder(entityManager, jdbcTemplate);
+        writes.verify(entityManager).flush();
+        ArgumentCaptor<List<OutboxEvent>> batch = ArgumentCaptor.forClass(List.class);
+        writes.verify(jdbcTemplate, times(1)).batchUpdate(eq(Outbox.INSERT), batch.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(batch.getValue()).extracting(OutboxEvent::eventType).containsExactly("ACCOUNT_CREATED", "TRANSACTION_CREATED");
+        assertThat(batch.getValue()).extracting(OutboxEvent::aggregateType).containsOnly("account");
+        assertThat(batch.getValue().get(1).payload()).isEqualTo("{\"amount\":5}");
+        assertThat(batch.getValue()).extracting(OutboxEvent::sequence).containsOnlyNulls();
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertThat(TransactionSynchronizationManager.hasResource(outbox)).isFalse();
+    }
+
+    @Test
+    void shouldDropEventsWhenTheTransactionRollsBack() {
+        Outbox outbox = new Outbox(jdbcTemplate, entityManager, new ObjectMapper(), new WarmUpRequests());
+        TransactionSynchronizationManager.initSynchronization();
+
+        outbox.record(OutboxEventType.USER_DELETED, "usr-1", Map.of("id", "usr-1"));
+        TransactionSynchronizationManager.getSynchronizations().get(0)
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(jdbcTemplate);
+        assertThat(TransactionSynchronizationManager.hasResource(outbox)).isFalse();
+    }
+
+    @Test
+    void shouldRaiseNoEventsForTheWarmUpsChanges() {
+        WarmUpRequests warmUpRequests = mock(WarmUpRequests.class);
+        when(warmUpRequests.isCurrentRequestWarmUp()).thenReturn(true);
+        Outbox outbox = new Outbox(jdbcTemplate, entityManager, new ObjectMapper(), warmUpRequests);
+        TransactionSynchronizationManager.initSynchronization();
+
+        outbox.record(OutboxEventType.USER_CREATED, "usr-1", Map.of("id", "usr-1"));
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldInsertImmediatelyOutsideATransaction() {
+        Outbox outbox = new Outbox(jdbcTemplate, entityManager, new ObjectMapper(), new WarmUpRequests());
+
+        outbox.record(OutboxEventType.USER_CREATED, "usr-1", Map.of("id", "usr-1"));
+
+        verify(jdbcTemplate).batchUpdate(eq(Outbox.INSERT), any(List.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+}
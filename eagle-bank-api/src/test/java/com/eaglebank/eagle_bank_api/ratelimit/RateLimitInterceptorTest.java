@@ -0,0 +1,90 @@
+package com.eaglebank.eagle_bank_api.ratelimit;
+
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties(true, Duration.ofMinutes(10), 1000, 2, 0.5,
+                List.of(new RateLimitProperties.Rule("account-create", "POST", "/api/v1/accounts", 2, 0.5)));
+        interceptor = new RateLimitInterceptor(new RateLimiter(properties, meterRegistry, clock::get), new WarmUpRequests());
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the endpoint budget is spent")
+    void shouldRejectOverBudget() throws Exception {
+        assertThat(interceptor.preHandle(request("POST", "/api/v1/accounts", "usr-1"), new MockHttpServletResponse(), new Object())).isTrue();
+        assertThat(interceptor.preHandle(request("POST", "/api/v1/accounts", "usr-1"), new MockHttpServletResponse(), new Object())).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("POST", "/api/v1/accounts", "usr-1"), response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(meterRegistry.get("eaglebank.ratelimit.requests").tag("rule", "account-create").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets per caller and per endpoint")
+    void shouldIsolateCallersAndEndpoints() throws Exception {
+        interceptor.preHandle(request("POST", "/api/v1/accounts", "usr-1"), new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(request("POST", "/api/v1/accounts", "usr-1"), new MockHttpServletResponse(), new Object());
+
+        assertThat(interceptor.preHandle(request("POST", "/api/v1/accounts", "usr-2"), new MockHttpServletResponse(), new Object())).isTrue();
+        assertThat(interceptor.preHandle(request("GET", "/api/v1/accounts", "usr-1"), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should give each endpoint under the default limit its own budget")
+    void shouldKeepDefaultLimitPerRoute() throws Exception {
+        interceptor.preHandle(request("GET", "/api/v1/accounts/{accountNumber}", "usr-1"), new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(request("GET", "/api/v1/accounts/{accountNumber}", "usr-1"), new MockHttpServletResponse(), new Object());
+
+        assertThat(interceptor.preHandle(request("GET", "/api/v1/accounts/{accountNumber}", "usr-1"), new MockHttpServletResponse(), new Object())).isFalse();
+        assertThat(interceptor.preHandle(request("GET", "/api/v1/users/{userId}", "usr-1"), new MockHttpServletResponse(), new Object())).isTrue();
+        assertThat(interceptor.preHandle(request("DELETE", "/api/v1/accounts/{accountNumber}", "usr-1"), new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should limit anonymous callers by remote address")
+    void shouldLimitAnonymousCallersByAddress() throws Exception {
+        MockHttpServletRequest first = request("POST", "/api/v1/accounts", null);
+        interceptor.preHandle(first, new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(request("POST", "/api/v1/accounts", null), new MockHttpServletResponse(), new Object());
+
+        MockHttpServletRequest other = request("POST", "/api/v1/accounts", null);
+        other.setRemoteAddr("10.0.0.2");
+        assertThat(interceptor.preHandle(other, new MockHttpServletResponse(), new Object())).isTrue();
+        assertThat(interceptor.preHandle(request("POST", "/api/v1/accounts", null), new MockHttpServletResponse(), new Object())).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        if (userId != null) {
+            request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE,
+                    new AuthenticatedPrincipal(userId, Long.parseLong(userId.substring(4)), Instant.now().plusSeconds(60)));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,54 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.eaglebank.eagle_bank_api.warmup.WarmUpRequests;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BearerTokenAuthenticationFilterTest {
+
+    private final BearerTokenAuthenticationFilter filter = new BearerTokenAuthenticationFilter(
+            mock(JwtVerifier.class), new VerifiedTokenCache(10, Clock.systemUTC()), Clock.systemUTC(), new WarmUpRequests());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/accounts/01234567",
+            "/api/v1;x=y/accounts/01234567",
+            "/api/v1/accounts;x=y/01234567",
+            "/api//v1/accounts/01234567",
+            "/api/v1/%61ccounts/01234567",
+            "/v1/users;x=y/usr-1"
+    })
+    @DisplayName("Should reject protected paths without a token however the path is written")
+    void shouldRejectProtectedPathWithoutToken(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/v1/users", "/api/v1/users", "/actuator/health"})
+    @DisplayName("Should let open paths through without a token")
+    void shouldPassOpenPath(String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", uri), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(chain.getRequest()).isNotNull();
+    }
+}
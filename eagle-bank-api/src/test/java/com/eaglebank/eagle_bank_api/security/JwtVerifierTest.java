@@ -0,0 +1,92 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final Instant NOW = Instant.parse("2025-07-01T12:00:00Z");
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static KeyPair signingKeys;
+    private static KeyPair otherKeys;
+
+    private final JwtVerifier verifier = new JwtVerifier(signingKeys.getPublic(), Clock.fixed(NOW, ZoneOffset.UTC), Duration.ofSeconds(30));
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        signingKeys = generator.generateKeyPair();
+        otherKeys = generator.generateKeyPair();
+    }
+
+    @Test
+    @DisplayName("Should accept a correctly signed token and expose its subject")
+    void shouldAcceptValidToken() throws Exception {
+        String token = sign(signingKeys, "{\"sub\":\"usr-42\",\"exp\":" + NOW.plusSeconds(300).getEpochSecond() + "}");
+
+        AuthenticatedPrincipal principal = verifier.verify(token);
+
+        assertThat(principal.userId()).isEqualTo("usr-42");
+        assertThat(principal.userKey()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void shouldRejectForeignSignature() throws Exception {
+        String token = sign(otherKeys, "{\"sub\":\"usr-42\",\"exp\":" + NOW.plusSeconds(300).getEpochSecond() + "}");
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Invalid token signature");
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void shouldRejectExpiredToken() throws Exception {
+        String token = sign(signingKeys, "{\"sub\":\"usr-42\",\"exp\":" + NOW.minusSeconds(60).getEpochSecond() + "}");
+
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(InvalidTokenException.class)
+                .hasMessage("Token has expired");
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose subject is not a user id")
+    void shouldRejectNonUserSubject() throws Exception {
+        String token = sign(signingKeys, "{\"sub\":\"admin\",\"exp\":" + NOW.plusSeconds(300).getEpochSecond() + "}");
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject tokens that are not three dot-separated parts")
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> verifier.verify("not-a-token")).isInstanceOf(InvalidTokenException.class);
+        assertThatThrownBy(() -> verifier.verify("a.b.c.d")).isInstanceOf(InvalidTokenException.class);
+    }
+
+    static String sign(KeyPair keys, String claims) throws Exception {
+        String signingInput = ENCODER.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + ENCODER.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(keys.getPrivate());
+        signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + ENCODER.encodeToString(signature.sign());
+    }
+}
@@ -0,0 +1,113 @@
+package com.eaglebank.eagle_bank_api.security;
+
+import com.eaglebank.eagle_bank_api.repository.AccountOwnerView;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OwnershipInterceptorTest {
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    private AccountOwnershipRegistry registry;
+    private OwnershipInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        registry = new AccountOwnershipRegistry(bankAccountRepository);
+        registry.register("01234567", 7L);
+        registry.register("01765432", 8L);
+        registry.register("01111111", null);
+        interceptor = new OwnershipInterceptor(registry);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should let owners through to their own accounts")
+    void shouldAllowOwner() throws Exception {
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01234567")), response, new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should forbid access to another user's account")
+    void shouldForbidForeignAccount() throws Exception {
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01765432")), response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("not allowed");
+    }
+
+    @Test
+    @DisplayName("Should forbid access to accounts created without an owner")
+    void shouldForbidUnownedAccount() throws Exception {
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01111111")), response, new Object())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should forbid access to accounts that do not exist")
+    void shouldForbidUnknownAccount() throws Exception {
+        when(bankAccountRepository.findOwnerByAccountNumber("01999999")).thenReturn(Optional.empty());
+
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01999999")), response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("Should look up accounts created elsewhere in the database and remember their owner")
+    void shouldCheckDatabaseForUnregisteredAccount() throws Exception {
+        when(bankAccountRepository.findOwnerByAccountNumber("01222222")).thenReturn(Optional.of(owner("01222222", 7L)));
+        when(bankAccountRepository.findOwnerByAccountNumber("01333333")).thenReturn(Optional.of(owner("01333333", 8L)));
+
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01222222")), response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01222222")), response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(request(Map.of("accountNumber", "01333333")), response, new Object())).isFalse();
+        verify(bankAccountRepository, times(1)).findOwnerByAccountNumber("01222222");
+        assertThat(registry.accountsOwnedBy(7L)).contains("01222222");
+    }
+
+    @Test
+    @DisplayName("Should only let users address themselves")
+    void shouldRestrictUserOperationsToSelf() throws Exception {
+        assertThat(interceptor.preHandle(request(Map.of("userId", "usr-7")), response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(request(Map.of("userId", "usr-8")), response, new Object())).isFalse();
+    }
+
+    private static AccountOwnerView owner(String accountNumber, Long ownerId) {
+        return new AccountOwnerView() {
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+        };
+    }
+
+    private MockHttpServletRequest request(Map<String, String> pathVariables) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, new AuthenticatedPrincipal("usr-7", 7L, Instant.now().plusSeconds(60)));
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, pathVariables);
+        return request;
+    }
+}
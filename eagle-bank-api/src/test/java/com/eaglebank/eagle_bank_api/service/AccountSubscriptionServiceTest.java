@@ -0,0 +1,55 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.AuthenticationRequiredException;
+import com.eaglebank.eagle_bank_api.security.AccountOwnershipRegistry;
+import com.eaglebank.eagle_bank_api.security.JwtVerifier;
+import com.eaglebank.eagle_bank_api.subscription.AccountEventHub;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSubscriptionServiceTest {
+
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private AccountOwnershipRegistry accountOwnershipRegistry;
+
+    @Mock
+    private ObjectProvider<JwtVerifier> jwtVerifier;
+
+    @Test
+    @DisplayName("Should reject a subscription without a principal when security is enabled")
+    void shouldRejectUnauthenticatedSubscription() {
+        when(jwtVerifier.getIfAvailable()).thenReturn(mock(JwtVerifier.class));
+        AccountSubscriptionService service = new AccountSubscriptionService(accountEventHub, accountOwnershipRegistry, jwtVerifier);
+
+        assertThatThrownBy(() -> service.subscribe(List.of("01234567"))).isInstanceOf(AuthenticationRequiredException.class);
+        verifyNoInteractions(accountEventHub);
+    }
+
+    @Test
+    @DisplayName("Should subscribe to the named accounts when security is disabled")
+    void shouldSubscribeWithoutSecurity() {
+        SseEmitter emitter = new SseEmitter();
+        when(accountEventHub.subscribe(List.of("01234567"))).thenReturn(Optional.of(emitter));
+        AccountSubscriptionService service = new AccountSubscriptionService(accountEventHub, accountOwnershipRegistry, jwtVerifier);
+
+        assertThat(service.subscribe(List.of("01234567"))).contains(emitter);
+    }
+}
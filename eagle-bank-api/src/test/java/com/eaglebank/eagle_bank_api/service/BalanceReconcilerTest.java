@@ -0,0 +1,175 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Posts through the real services, then tampers with balances behind the application's back
+ * and checks what full and incremental runs find.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit",
+        "eaglebank.reconciliation.directory=target/reconciliation",
+        "eaglebank.reconciliation.partition-size=2",
+        "eaglebank.reconciliation.threads=3",
+        "eaglebank.reconciliation.lookback=0s",
+        "eaglebank.reconciliation.schedule-enabled=false"})
+class BalanceReconcilerTest {
+
+    private static final int ACCOUNTS = 7;
+    private static final Path DIRECTORY = Path.of("target/reconciliation");
+
+    @Autowired
+    private BalanceReconciler reconciler;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private AccountDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        FileSystemUtils.deleteRecursively(DIRECTORY.toFile());
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Reconciled", ACCOUNTS, 0.0));
+
+        stripedBalances.enable(accountNumbers.get(0), 4);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountNumber = accountNumbers.get(i);
+            post(accountNumber, 100.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+            post(accountNumber, 0.10, CreateTransactionRequest.TypeEnum.DEPOSIT);
+            post(accountNumber, 30.20, CreateTransactionRequest.TypeEnum.WITHDRAWAL);
+            transfer(accountNumber, accountNumbers.get((i + 1) % ACCOUNTS), 5.55);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        balanceStripeRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        accountNumbers.forEach(accountExistenceFilter::remove);
+        FileSystemUtils.deleteRecursively(DIRECTORY.toFile());
+    }
+
+    @Test
+    @DisplayName("A full run should find every balance, including pending stripes, matching its transactions")
+    void fullRunMatches() throws Exception {
+        BalanceReconciler.Result result = reconciler.run();
+
+        assertThat(result.full()).isTrue();
+        assertThat(result.failed()).isZero();
+        assertThat(result.accounts()).isEqualTo(ACCOUNTS);
+        assertThat(result.mismatches()).isEmpty();
+        assertThat(Files.readAllLines(result.report())).containsExactly("accountNumber,balance,transactionTotal,difference");
+        assertThat(DIRECTORY.resolve(BalanceReconciler.CHECKPOINT_FILE)).exists();
+    }
+
+    @Test
+    @DisplayName("Later runs should only verify changed accounts and those that mismatched before")
+    void incrementalRunVerifiesChangedAccounts() throws Exception {
+        tamper(accountNumbers.get(3), 0.01);
+        BalanceReconciler.Result first = reconciler.run();
+        assertThat(first.full()).isTrue();
+        assertThat(first.mismatches()).singleElement().satisfies(mismatch -> {
+            assertThat(mismatch.accountNumber()).isEqualTo(accountNumbers.get(3));
+            assertThat(mismatch.differenceMinor()).isEqualTo(1);
+        });
+        assertThat(Files.readAllLines(first.report())).contains(accountNumbers.get(3) + ",69.91,69.90,0.01");
+
+        post(accountNumbers.get(5), 1.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+        BalanceReconciler.Result second = reconciler.run();
+        assertThat(second.full()).isFalse();
+        assertThat(second.accounts()).isEqualTo(2);
+        assertThat(second.mismatches()).extracting(BalanceReconciler.Mismatch::accountNumber).containsExactly(accountNumbers.get(3));
+
+        tamper(accountNumbers.get(3), -0.01);
+        BalanceReconciler.Result third = reconciler.run();
+        assertThat(third.accounts()).isEqualTo(1);
+        assertThat(third.mismatches()).isEmpty();
+
+        BalanceReconciler.Result fourth = reconciler.run();
+        assertThat(fourth.accounts()).isZero();
+        assertThat(fourth.partitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deleting the checkpoint should force a full run")
+    void missingCheckpointForcesFullRun() throws Exception {
+        reconciler.run();
+        Files.delete(DIRECTORY.resolve(BalanceReconciler.CHECKPOINT_FILE));
+
+        BalanceReconciler.Result result = reconciler.run();
+
+        assertThat(result.full()).isTrue();
+        assertThat(result.accounts()).isEqualTo(ACCOUNTS);
+    }
+
+    /**
+     * Changes the stored balance without touching its timestamp, as a faulty write would.
+     */
+    private void tamper(String accountNumber, double delta) {
+        jdbcTemplate.update("update bank_account_entity set balance = balance + ? where account_number = ?", delta, accountNumber);
+    }
+
+    private void post(String accountNumber, double amount, CreateTransactionRequest.TypeEnum type) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        transactionService.createTransaction(accountNumber, request);
+    }
+
+    private void transfer(String from, String to, double amount) {
+        CreateTransferRequest request = new CreateTransferRequest();
+        request.setToAccountNumber(to);
+        request.setAmount(amount);
+        request.setCurrency(CreateTransferRequest.CurrencyEnum.GBP);
+        transactionService.createTransfer(from, request);
+    }
+}
@@ -1,10 +1,18 @@
 package com.eaglebank.eagle_bank_api.service;
 
+import com.eaglebank.eagle_bank_api.audit.AuditLog;
+import com.eaglebank.eagle_bank_api.exception.BadBankAccountRequestException;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
 import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.outbox.Outbox;
 import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.security.AccountOwnershipRegistry;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
 import com.example.project.model.BankAccountResponse;
+import com.example.project.model.BatchFetchAccountsResponse;
 import com.example.project.model.CreateBankAccountRequest;
 import com.example.project.model.UpdateBankAccountRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,16 +21,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +58,32 @@ class BankAccountServiceTest {
     @Mock
     private BankAccountRepository bankAccountRepository;
 
+    @Mock
+    private AccountOwnershipRegistry accountOwnershipRegistry;
+
+    private final SimpleMeterRegistry coalescerMeterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(coalescerMeterRegistry);
+
+    @Spy
+    private ExistenceFilter accountExistenceFilter = new ExistenceFilter("account", 1000, 0.01, new SimpleMeterRegistry());
+
+    @Mock
+    private StripedBalances stripedBalances;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private UserSummaries userSummaries;
+
+    @Mock
+    private DailyRollups dailyRollups;
+
     @InjectMocks
     private BankAccountService bankAccountService;
 
@@ -84,6 +136,29 @@ class BankAccountServiceTest {
             assertThat(captured.getName()).isEqualTo("My Personal Bank Account");
             assertThat(captured.getAccountNumber()).startsWith("01");
             assertThat(captured.getAccountNumber()).hasSize(8);
+            verify(userSummaries).accountOpened(bankAccountEntity);
+        }
+
+        @Test
+        @DisplayName("Should record the authenticated caller as the owner of a new account")
+        void shouldRecordAuthenticatedCallerAsOwner() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE,
+                    new AuthenticatedPrincipal("usr-7", 7L, Instant.now().plusSeconds(60)));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                when(bankAccountRepository.findByAccountNumber(anyString())).thenReturn(Optional.empty());
+                when(bankAccountRepository.save(any(BankAccountEntity.class))).thenReturn(bankAccountEntity);
+
+                bankAccountService.createBankAccount(createBankAccountRequest);
+
+                ArgumentCaptor<BankAccountEntity> captor = ArgumentCaptor.forClass(BankAccountEntity.class);
+                verify(bankAccountRepository).save(captor.capture());
+                assertThat(captor.getValue().getUser().getId()).isEqualTo(7L);
+                verify(accountOwnershipRegistry).register("01234567", 7L);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
         }
 
         @Test
@@ -100,6 +175,20 @@ class BankAccountServiceTest {
             verify(bankAccountRepository).save(any(BankAccountEntity.class));
         }
 
+        @Test
+        @DisplayName("Should check the database for a generated number the existence filter has not seen")
+        void shouldCheckDatabaseWhenFilterSaysAbsent() {
+            accountExistenceFilter.load(List.of());
+            when(bankAccountRepository.findByAccountNumber(anyString()))
+                    .thenReturn(Optional.of(bankAccountEntity))
+                    .thenReturn(Optional.empty());
+            when(bankAccountRepository.save(any(BankAccountEntity.class))).thenReturn(bankAccountEntity);
+
+            bankAccountService.createBankAccount(createBankAccountRequest);
+
+            verify(bankAccountRepository, times(2)).findByAccountNumber(anyString());
+        }
+
         @Test
         @DisplayName("Should throw exception when repository save fails")
         void shouldThrowExceptionWhenRepositorySaveFails() {
@@ -139,6 +228,29 @@ class BankAccountServiceTest {
             assertThat(response.getSortCode()).isEqualTo(BankAccountResponse.SortCodeEnum._10_10_10);
         }
 
+        @Test
+        @DisplayName("Should hand concurrent readers the loaded response rather than the loader's entity")
+        void shouldShareResponseWithJoinedReaders() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(bankAccountRepository.findByAccountNumber("01234567")).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return Optional.of(bankAccountEntity);
+            });
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                Future<BankAccountResponse> leader = executor.submit(() -> bankAccountService.fetchByAccountNumber("01234567"));
+                Future<BankAccountResponse> joiner = executor.submit(() -> bankAccountService.fetchByAccountNumber("01234567"));
+                awaitJoined();
+                release.countDown();
+
+                assertThat(joiner.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+                verify(bankAccountRepository).findByAccountNumber("01234567");
+                verify(stripedBalances).addStripes(bankAccountEntity, leader.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
         @Test
         @DisplayName("Should throw exception when account not found")
         void shouldThrowExceptionWhenAccountNotFound() {
@@ -156,6 +268,110 @@ class BankAccountServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Existence Filter Tests")
+    class ExistenceFilterTests {
+
+        @Test
+        @DisplayName("Should answer not found without querying when the filter rules the account out")
+        void shouldSkipRepositoryForDefiniteMiss() {
+            accountExistenceFilter.load(List.of("01234567"));
+
+            assertThatThrownBy(() -> bankAccountService.fetchByAccountNumber("01999999"))
+                    .isInstanceOf(BankAccountNotFoundException.class);
+            assertThatThrownBy(() -> bankAccountService.deleteBankAccount("01999999"))
+                    .isInstanceOf(BankAccountNotFoundException.class);
+            assertThat(bankAccountService.fetchLastModified("01999999")).isEmpty();
+            verifyNoMoreInteractions(bankAccountRepository);
+        }
+
+        @Test
+        @DisplayName("Should still query the repository for accounts that may exist")
+        void shouldQueryRepositoryForPossibleHit() {
+            accountExistenceFilter.load(List.of("01234567"));
+            when(bankAccountRepository.findByAccountNumber("01234567")).thenReturn(Optional.of(bankAccountEntity));
+
+            assertThat(bankAccountService.fetchByAccountNumber("01234567").getAccountNumber()).isEqualTo("01234567");
+        }
+
+        @Test
+        @DisplayName("Should forget deleted accounts and learn created ones")
+        void shouldTrackCreatesAndDeletes() {
+            accountExistenceFilter.load(List.of("01234567"));
+            when(bankAccountRepository.deleteByAccountNumber("01234567")).thenReturn(Optional.of(bankAccountEntity));
+
+            bankAccountService.deleteBankAccount("01234567");
+
+            assertThat(accountExistenceFilter.mightContain("01234567")).isFalse();
+
+            when(bankAccountRepository.save(any(BankAccountEntity.class))).thenReturn(bankAccountEntity);
+            bankAccountService.createBankAccount(createBankAccountRequest);
+
+            assertThat(accountExistenceFilter.mightContain("01234567")).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Fetch Bank Account Tests")
+    class BatchFetchBankAccountTests {
+
+        @Test
+        @DisplayName("Should resolve all account numbers with one query and report the missing ones")
+        void shouldResolveAccountNumbersWithOneQuery() {
+            List<String> accountNumbers = List.of("01234567", "01999999", "01234567");
+            when(bankAccountRepository.findByAccountNumberIn(any()))
+                    .thenReturn(List.of(bankAccountEntity));
+
+            BatchFetchAccountsResponse response = bankAccountService.fetchByAccountNumbers(accountNumbers);
+
+            assertThat(response.getAccounts()).extracting(BankAccountResponse::getAccountNumber).containsExactly("01234567");
+            assertThat(response.getNotFound()).containsExactly("01999999");
+            verify(bankAccountRepository).findByAccountNumberIn(any());
+            verifyNoMoreInteractions(bankAccountRepository);
+        }
+
+        @Test
+        @DisplayName("Should report accounts owned by someone else as not found")
+        void shouldHideAccountsOwnedBySomeoneElse() {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE,
+                    new AuthenticatedPrincipal("usr-7", 7L, Instant.now().plusSeconds(60)));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                when(accountOwnershipRegistry.isOwnedBy("01234567", 7L)).thenReturn(true);
+                when(accountOwnershipRegistry.isOwnedBy("01765432", 7L)).thenReturn(false);
+                when(bankAccountRepository.findByAccountNumberIn(List.of("01234567")))
+                        .thenReturn(List.of(bankAccountEntity));
+
+                BatchFetchAccountsResponse response = bankAccountService.fetchByAccountNumbers(List.of("01234567", "01765432"));
+
+                assertThat(response.getAccounts()).hasSize(1);
+                assertThat(response.getNotFound()).containsExactly("01765432");
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject malformed account numbers before querying")
+        void shouldRejectMalformedAccountNumbers() {
+            assertThatThrownBy(() -> bankAccountService.fetchByAccountNumbers(List.of("01234567", "99")))
+                    .isInstanceOf(BadBankAccountRequestException.class)
+                    .hasMessageContaining("invalid account numbers [99]");
+            verifyNoMoreInteractions(bankAccountRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject batches larger than the limit")
+        void shouldRejectOversizedBatches() {
+            List<String> accountNumbers = Collections.nCopies(BankAccountService.MAX_BATCH_FETCH_SIZE + 1, "01234567");
+
+            assertThatThrownBy(() -> bankAccountService.fetchByAccountNumbers(accountNumbers))
+                    .isInstanceOf(BadBankAccountRequestException.class)
+                    .hasMessageContaining("at most 500 account numbers");
+        }
+    }
+
     @Nested
     @DisplayName("Delete Bank Account Tests")
     class DeleteBankAccountTests {
@@ -164,12 +380,14 @@ class BankAccountServiceTest {
         void shouldDeleteBankAccountByAccountNumberSuccessfully() {
             String accountNumber = "01234567";
 
-            when(bankAccountRepository.findByAccountNumber(accountNumber))
-                    .thenReturn(Optional.of(bankAccountEntity));
+            when(bankAccountRepository.deleteByAccountNumber(accountNumber)).thenReturn(Optional.of(bankAccountEntity));
 
             bankAccountService.deleteBankAccount(accountNumber);
 
-            verify(bankAccountRepository).delete(bankAccountEntity);
+            verify(bankAccountRepository).deleteByAccountNumber(accountNumber);
+            verify(userSummaries).accountClosed(bankAccountEntity);
+            verify(dailyRollups).removeAll(1L);
+            verifyNoMoreInteractions(bankAccountRepository);
         }
 
         @Test
@@ -177,8 +395,7 @@ class BankAccountServiceTest {
         void shouldThrowExceptionWhenTryingToDeleteNonExistentAccount() {
             String nonExistentAccountNumber = "01999999";
 
-            when(bankAccountRepository.findByAccountNumber(nonExistentAccountNumber))
-                    .thenReturn(Optional.empty());
+            when(bankAccountRepository.deleteByAccountNumber(nonExistentAccountNumber)).thenReturn(Optional.empty());
 
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
                 bankAccountService.deleteBankAccount(nonExistentAccountNumber);
@@ -186,6 +403,7 @@ class BankAccountServiceTest {
 
             assertThat(exception.getMessage())
                     .contains("Bank account not found while attempting deletion. Account number: " + nonExistentAccountNumber);
+            verify(userSummaries, never()).accountClosed(any(BankAccountEntity.class));
         }
     }
 
@@ -202,16 +420,33 @@ class BankAccountServiceTest {
             updateRequest.setName(name);
             updateRequest.setAccountType(UpdateBankAccountRequest.AccountTypeEnum.PERSONAL);
 
-            when(bankAccountRepository.findByAccountNumber(accountNumber))
+            bankAccountEntity.setName(name);
+            when(bankAccountRepository.updateAccountDetails(eq(accountNumber), eq(name),
+                    eq(BankAccountResponse.AccountTypeEnum.PERSONAL), any(OffsetDateTime.class)))
                     .thenReturn(Optional.of(bankAccountEntity));
 
-            when(bankAccountRepository.save(any(BankAccountEntity.class)))
-                    .thenReturn(bankAccountEntity);
-
             BankAccountResponse response = bankAccountService.updateBankAccount(accountNumber, updateRequest);
 
             assertThat(response.getName()).isEqualTo(name);
             assertThat(response.getAccountType()).isEqualTo(BankAccountResponse.AccountTypeEnum.PERSONAL);
+            verify(bankAccountRepository, never()).findByAccountNumber(accountNumber);
+            verify(bankAccountRepository, never()).save(any(BankAccountEntity.class));
+        }
+
+        @Test
+        @DisplayName("Should leave account type untouched when it is not supplied")
+        void shouldLeaveAccountTypeUntouchedWhenNotSupplied() {
+            String accountNumber = "01234567";
+
+            UpdateBankAccountRequest updateRequest = new UpdateBankAccountRequest();
+            updateRequest.setName("Updated Name");
+
+            when(bankAccountRepository.updateAccountDetails(eq(accountNumber), eq("Updated Name"), isNull(), any(OffsetDateTime.class)))
+                    .thenReturn(Optional.of(bankAccountEntity));
+
+            BankAccountResponse response = bankAccountService.updateBankAccount(accountNumber, updateRequest);
+
+            assertThat(response.getAccountType()).isEqualTo(BankAccountResponse.AccountTypeEnum.PERSONAL);
         }
 
         @Test
@@ -221,7 +456,7 @@ class BankAccountServiceTest {
             UpdateBankAccountRequest updateRequest = new UpdateBankAccountRequest();
             updateRequest.setName("Updated Name");
 
-            when(bankAccountRepository.findByAccountNumber(nonExistentAccountNumber))
+            when(bankAccountRepository.updateAccountDetails(eq(nonExistentAccountNumber), eq("Updated Name"), isNull(), any(OffsetDateTime.class)))
                     .thenReturn(Optional.empty());
 
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -270,4 +505,12 @@ class BankAccountServiceTest {
             assertThat(generatedAccountNumber).matches("^01\\d{6}$");
         }
     }
+
+    private void awaitJoined() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescerMeterRegistry.find("eaglebank.coalescing.requests").tag("outcome", "joined").counter() == null) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
 }
\ No newline at end of file
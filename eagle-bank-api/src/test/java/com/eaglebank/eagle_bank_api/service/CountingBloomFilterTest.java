@@ -0,0 +1,64 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountingBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an added key as absent")
+    void shouldHaveNoFalseNegatives() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("01" + (100000 + i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("01" + (100000 + i))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured target")
+    void shouldRespectFalsePositiveRate() {
+        CountingBloomFilter filter = new CountingBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("usr-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain("usr-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("Should forget removed keys without disturbing the others")
+    void shouldSupportRemoval() {
+        CountingBloomFilter filter = new CountingBloomFilter(100, 0.01);
+        filter.add("01234567");
+        filter.add("01765432");
+
+        filter.remove("01234567");
+
+        assertThat(filter.mightContain("01234567")).isFalse();
+        assertThat(filter.mightContain("01765432")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should size itself from the expected insertions and false-positive rate")
+    void shouldSizeFromConfiguration() {
+        CountingBloomFilter filter = new CountingBloomFilter(1000, 0.01);
+
+        assertThat(filter.counterCount()).isEqualTo(9600);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThatThrownBy(() -> new CountingBloomFilter(1000, 1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
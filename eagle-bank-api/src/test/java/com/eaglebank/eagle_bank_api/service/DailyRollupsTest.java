@@ -0,0 +1,146 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.model.AccountDailyRollupEntity;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.AccountStripingView;
+import com.eaglebank.eagle_bank_api.repository.DailyTotalView;
+import com.example.project.model.TransactionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRollupsTest {
+
+    private static final LocalDate MARCH_4 = LocalDate.of(2026, 3, 4);
+
+    @Mock
+    private AccountDailyRollupRepository rollupRepository;
+
+    @InjectMocks
+    private DailyRollups dailyRollups;
+
+    @Test
+    @DisplayName("Should add to the day's row in place when it exists")
+    void shouldAddToExistingRow() {
+        when(rollupRepository.add(7L, MARCH_4, DailyRollups.LOCKED_SLOT, 0L, 1_250L, 0, 1)).thenReturn(1);
+
+        dailyRollups.posted(7L, DailyRollups.LOCKED_SLOT, OffsetDateTime.of(2026, 3, 4, 12, 0, 0, 0, ZoneOffset.UTC),
+                TransactionResponse.TypeEnum.WITHDRAWAL, 1_250L);
+
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should start the day's row on the first posting, bucketed by UTC day")
+    void shouldInsertFirstRowOfTheDay() {
+        // 00:30 in UTC+2 is still the previous day in UTC.
+        dailyRollups.posted(7L, 3, OffsetDateTime.of(2026, 3, 5, 0, 30, 0, 0, ZoneOffset.ofHours(2)),
+                TransactionResponse.TypeEnum.DEPOSIT, 500L);
+
+        ArgumentCaptor<AccountDailyRollupEntity> captor = ArgumentCaptor.forClass(AccountDailyRollupEntity.class);
+        verify(rollupRepository).save(captor.capture());
+        AccountDailyRollupEntity rollup = captor.getValue();
+        assertThat(rollup.getDay()).isEqualTo(MARCH_4);
+        assertThat(rollup.getSlot()).isEqualTo(3);
+        assertThat(rollup.getCreditsMinor()).isEqualTo(500L);
+        assertThat(rollup.getCreditCount()).isEqualTo(1);
+        assertThat(rollup.getDebitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should work closing balances back from the current balance")
+    void shouldDeriveClosingBalances() {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        when(rollupRepository.sumNetAfter(7L, to)).thenReturn(1_000L);
+        when(rollupRepository.sumByDay(7L, from, to)).thenReturn(List.of(
+                total(MARCH_4, 5_000L, 0L, 2, 0),
+                total(LocalDate.of(2026, 3, 9), 0L, 2_000L, 0, 1)));
+
+        DailyRollups.Range range = dailyRollups.range(account(true), 10_000L, from, to);
+
+        assertThat(range.closingBalanceMinor()).isEqualTo(9_000L);
+        assertThat(range.openingBalanceMinor()).isEqualTo(6_000L);
+        assertThat(range.creditsMinor()).isEqualTo(5_000L);
+        assertThat(range.debitsMinor()).isEqualTo(2_000L);
+        assertThat(range.days()).extracting(DailyRollups.Day::closingBalanceMinor).containsExactly(11_000L, 9_000L);
+    }
+
+    @Test
+    @DisplayName("Should refuse ranges for an account whose rollups miss part of its history")
+    void shouldRefuseIncompleteRollups() {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+
+        assertThatThrownBy(() -> dailyRollups.range(account(false), 10_000L, from, from.plusDays(30)))
+                .isInstanceOf(BadTransactionRequestException.class)
+                .hasMessageContaining("rollup backfill");
+        verifyNoInteractions(rollupRepository);
+    }
+
+    private static AccountStripingView account(boolean rollupsComplete) {
+        return new AccountStripingView() {
+            @Override
+            public Long getId() {
+                return 7L;
+            }
+
+            @Override
+            public int getBalanceStripes() {
+                return 0;
+            }
+
+            @Override
+            public boolean isRollupsComplete() {
+                return rollupsComplete;
+            }
+        };
+    }
+
+    private static DailyTotalView total(LocalDate day, long credits, long debits, long creditCount, long debitCount) {
+        return new DailyTotalView() {
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+
+            @Override
+            public long getCreditsMinor() {
+                return credits;
+            }
+
+            @Override
+            public long getDebitsMinor() {
+                return debits;
+            }
+
+            @Override
+            public long getCreditCount() {
+                return creditCount;
+            }
+
+            @Override
+            public long getDebitCount() {
+                return debitCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionRunnerTest {
+
+    @Test
+    @DisplayName("Should run every partition exactly once")
+    void shouldRunEveryPartitionOnce() throws InterruptedException {
+        List<Long> partitions = LongStream.range(0, 100).boxed().toList();
+        Queue<Long> done = new ConcurrentLinkedQueue<>();
+
+        PartitionRunner.run("Test job", partitions, 4, done::add);
+
+        assertThat(done).containsExactlyInAnyOrderElementsOf(partitions);
+    }
+
+    @Test
+    @DisplayName("Should stop the run when the work throws")
+    void shouldRethrowEscapedFailure() {
+        assertThatThrownBy(() -> PartitionRunner.run("Test job", List.of(1L, 2L), 2, partition -> {
+            throw new IllegalArgumentException("boom");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Test job failed")
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should align ranges to multiples of the size")
+    void shouldAlignRanges() {
+        assertThat(PartitionRunner.alignedRanges(1_250L, 3_100L, 1_000)).containsExactly(1_000L, 2_000L, 3_000L);
+        assertThat(PartitionRunner.alignedRanges(null, null, 1_000)).isEmpty();
+    }
+}
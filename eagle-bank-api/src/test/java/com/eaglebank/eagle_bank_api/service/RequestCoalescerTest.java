@@ -0,0 +1,148 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.datasource.ReadYourWritesTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should share one load between concurrent reads of the same key")
+    void shouldShareOneLoadBetweenConcurrentReads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> coalescer.coalesce("account", "01234567", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "loaded";
+        }));
+        awaitInFlight(1);
+
+        Future<String> follower = executor.submit(() -> coalescer.coalesce("account", "01234567", () -> {
+            loads.incrementAndGet();
+            return "second load";
+        }));
+        awaitJoined(1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should start a fresh load for reads that begin after an invalidation")
+    void shouldNotJoinLoadStartedBeforeWrite() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> staleRead = executor.submit(() -> coalescer.coalesce("account", "01234567", () -> {
+            await(release);
+            return "before write";
+        }));
+        awaitInFlight(1);
+
+        coalescer.invalidate("account", "01234567");
+        String freshRead = coalescer.coalesce("account", "01234567", () -> "after write");
+        release.countDown();
+
+        assertThat(freshRead).isEqualTo("after write");
+        assertThat(staleRead.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+    }
+
+    @Test
+    @DisplayName("Should not let a caller that must read from the primary join a load served by the replica")
+    void shouldNotJoinLoadOnAnotherRoute() throws Exception {
+        ReadYourWritesTracker tracker = mock(ReadYourWritesTracker.class);
+        when(tracker.readsFromReplica()).thenReturn(true, false);
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, tracker);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> replicaRead = executor.submit(() -> coalescer.coalesce("account", "01234567", () -> {
+            await(release);
+            return "replica";
+        }));
+        awaitInFlight(1);
+
+        String primaryRead = coalescer.coalesce("account", "01234567", () -> "primary");
+        release.countDown();
+
+        assertThat(primaryRead).isEqualTo("primary");
+        assertThat(replicaRead.get(5, TimeUnit.SECONDS)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should propagate the loader's exception to every caller")
+    void shouldPropagateLoaderFailure() {
+        assertThatThrownBy(() -> coalescer.coalesce("user", 1L, () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database unavailable");
+
+        assertThat(coalescer.coalesce("user", 1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    @DisplayName("Should keep keys in different namespaces apart")
+    void shouldSeparateNamespaces() {
+        assertThat(coalescer.coalesce("account", 1L, () -> "account")).isEqualTo("account");
+        assertThat(coalescer.coalesce("user", 1L, () -> "user")).isEqualTo("user");
+        assertThat(meterRegistry.get("eaglebank.coalescing.requests").tag("outcome", "loaded").counters()).hasSize(2);
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("eaglebank.coalescing.in_flight").gauge().value() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private void awaitJoined(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("eaglebank.coalescing.requests").tag("outcome", "joined").counter() == null
+                || meterRegistry.get("eaglebank.coalescing.requests").tag("outcome", "joined").counter().count() < expected) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
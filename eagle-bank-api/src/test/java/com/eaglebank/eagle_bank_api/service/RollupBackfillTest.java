@@ -0,0 +1,162 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import com.example.project.model.DailyRollupsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Posts through the real services, then checks that the incrementally kept rollups agree with
+ * the account balances and with rollups rebuilt from scratch by the backfill.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit"})
+class RollupBackfillTest {
+
+    private static final int ACCOUNTS = 6;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private RollupBackfill rollupBackfill;
+
+    @Autowired
+    private AccountDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Rollup", ACCOUNTS, 0.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        balanceStripeRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        accountNumbers.forEach(accountExistenceFilter::remove);
+    }
+
+    @Test
+    @DisplayName("Incremental rollups should match the balances and a rebuild from the transaction history")
+    void incrementalRollupsMatchBackfill() throws Exception {
+        stripedBalances.enable(accountNumbers.get(0), 4);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountNumber = accountNumbers.get(i);
+            post(accountNumber, 100.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+            post(accountNumber, 12.34, CreateTransactionRequest.TypeEnum.DEPOSIT);
+            post(accountNumber, 40.00, CreateTransactionRequest.TypeEnum.WITHDRAWAL);
+            transfer(accountNumber, accountNumbers.get((i + 1) % ACCOUNTS), 5.00);
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<DailyRollupsResponse> incremental = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            DailyRollupsResponse rollups = transactionService.listDailyRollups(accountNumber, today.minusDays(7), today);
+            assertThat(rollups.getOpeningBalance()).isZero();
+            assertThat(rollups.getClosingBalance()).isEqualTo(bankAccountService.fetchByAccountNumber(accountNumber).getBalance());
+            assertThat(rollups.getDays()).singleElement().satisfies(day -> {
+                assertThat(day.getCreditCount()).isEqualTo(3);
+                assertThat(day.getDebitCount()).isEqualTo(2);
+                assertThat(day.getCredits()).isEqualTo(117.34);
+                assertThat(day.getDebits()).isEqualTo(45.00);
+            });
+            incremental.add(rollups);
+        }
+
+        rollupRepository.deleteAllInBatch();
+        assertThat(rollupBackfill.backfill()).isEqualTo(ACCOUNTS);
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            assertThat(transactionService.listDailyRollups(accountNumbers.get(i), today.minusDays(7), today))
+                    .isEqualTo(incremental.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse rollups for an account older than its rollups until the backfill has covered it")
+    void refusesRollupsUntilBackfilled() throws Exception {
+        String accountNumber = "01999999";
+        accountNumbers.add(accountNumber);
+        bankAccountRepository.save(BankAccountEntity.builder()
+                .accountNumber(accountNumber)
+                .name("Legacy")
+                .accountType(BankAccountResponse.AccountTypeEnum.PERSONAL)
+                .sortCode(BankAccountResponse.SortCodeEnum._10_10_10)
+                .currency(BankAccountResponse.CurrencyEnum.GBP)
+                .balance(0.0)
+                .build());
+        accountExistenceFilter.add(accountNumber);
+        post(accountNumber, 25.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        assertThatThrownBy(() -> transactionService.listDailyRollups(accountNumber, today, today))
+                .isInstanceOf(BadTransactionRequestException.class);
+
+        rollupBackfill.backfill();
+
+        assertThat(transactionService.listDailyRollups(accountNumber, today, today).getClosingBalance()).isEqualTo(25.00);
+    }
+
+    private void post(String accountNumber, double amount, CreateTransactionRequest.TypeEnum type) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        transactionService.createTransaction(accountNumber, request);
+    }
+
+    private void transfer(String from, String to, double amount) {
+        CreateTransferRequest request = new CreateTransferRequest();
+        request.setToAccountNumber(to);
+        request.setAmount(amount);
+        request.setCurrency(CreateTransferRequest.CurrencyEnum.GBP);
+        transactionService.createTransfer(from, request);
+    }
+}
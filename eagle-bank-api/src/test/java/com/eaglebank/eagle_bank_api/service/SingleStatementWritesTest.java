@@ -0,0 +1,230 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.UserRepository;
+import com.eaglebank.eagle_bank_api.repository.UserSummaryRepository;
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.CreateUserRequestAddress;
+import com.example.project.model.UpdateBankAccountRequest;
+import com.example.project.model.UpdateUserRequest;
+import com.example.project.model.UserResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Counts the SQL statements each update and delete prepares, from Hibernate's statistics, and
+ * checks the second-level cache loses only the changed row. The comparison at the end times the
+ * single statement against loading, changing and flushing the entity, each on a cold cache;
+ * run with {@code -Deaglebank.load-test.updates=100000} for steadier numbers. Background jobs
+ * that would add statements of their own are switched off.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:single-statement-writes",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.outbox.relay-enabled=false",
+        "eaglebank.audit.directory=target/audit",
+        "eaglebank.reconciliation.schedule-enabled=false"})
+class SingleStatementWritesTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleStatementWritesTest.class);
+    private static final int UPDATES = Integer.getInteger("eaglebank.load-test.updates", 2_000);
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private AccountDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    @Autowired
+    @Qualifier("userExistenceFilter")
+    private ExistenceFilter userExistenceFilter;
+
+    private Statistics statistics;
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Write", 2, 10.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        userSummaryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        accountNumbers.forEach(accountExistenceFilter::remove);
+    }
+
+    @Test
+    @DisplayName("Updating an account should run one statement and evict only that account from the cache")
+    void accountUpdateRunsOneStatement() {
+        String updated = accountNumbers.get(0);
+        Long updatedId = id(updated);
+        Long otherId = id(accountNumbers.get(1));
+        bankAccountService.fetchByAccountNumber(updated);
+        bankAccountService.fetchByAccountNumber(accountNumbers.get(1));
+        UpdateBankAccountRequest request = new UpdateBankAccountRequest();
+        request.setName("Renamed");
+
+        statistics.clear();
+        BankAccountResponse response = bankAccountService.updateBankAccount(updated, request);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getName()).isEqualTo("Renamed");
+        assertThat(response.getAccountType()).isEqualTo(BankAccountResponse.AccountTypeEnum.PERSONAL);
+        assertThat(response.getBalance()).isEqualTo(10.0);
+        assertThat(entityManagerFactory.getCache().contains(BankAccountEntity.class, updatedId)).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(BankAccountEntity.class, otherId)).isTrue();
+        assertThat(bankAccountService.fetchByAccountNumber(updated).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    @DisplayName("Deleting an account should remove the row and its rollups in two statements")
+    void accountDeleteRunsTwoStatements() {
+        String deleted = accountNumbers.get(0);
+        Long deletedId = id(deleted);
+        bankAccountService.fetchByAccountNumber(deleted);
+
+        statistics.clear();
+        bankAccountService.deleteBankAccount(deleted);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(entityManagerFactory.getCache().contains(BankAccountEntity.class, deletedId)).isFalse();
+        assertThat(bankAccountRepository.findStripingByAccountNumber(deleted)).isEmpty();
+        assertThatThrownBy(() -> bankAccountService.fetchByAccountNumber(deleted)).isInstanceOf(BankAccountNotFoundException.class);
+        Optional<BankAccountEntity> byNaturalId = transactionTemplate.execute(status -> bankAccountRepository.findByAccountNumber(deleted));
+        assertThat(byNaturalId).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Updating a user should run one statement, deleting one should also remove the summary")
+    void userWritesRunOneStatementEach() {
+        Long id = userRepository.save(UserEntity.builder().name("Before").email("before@example.com")
+                .phoneNumber("+441234567890").address("{}").build()).getId();
+        userExistenceFilter.add(id);
+        String userId = "usr-" + id;
+        userService.fetchUserById(userId);
+
+        statistics.clear();
+        UserResponse response = userService.updateUserDetails(userId, userUpdate());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getName()).isEqualTo("After");
+        assertThat(response.getCreatedTimestamp()).isNotNull();
+        assertThat(entityManagerFactory.getCache().contains(UserEntity.class, id)).isFalse();
+        assertThat(userService.fetchUserById(userId).getEmail()).isEqualTo("after@example.com");
+
+        statistics.clear();
+        userService.deleteUser(userId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(userRepository.findById(id)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The single-statement update should prepare half the statements of load, change and flush")
+    void singleStatementUpdateAgainstLoadAndFlush() {
+        List<String> numbers = TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Bulk", UPDATES, 0.0);
+        accountNumbers.addAll(numbers);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        long start = System.nanoTime();
+        for (String accountNumber : numbers) {
+            transactionTemplate.executeWithoutResult(status ->
+                    bankAccountRepository.updateAccountDetails(accountNumber, "Single", null, OffsetDateTime.now()));
+        }
+        long singleNanos = System.nanoTime() - start;
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        start = System.nanoTime();
+        for (String accountNumber : numbers) {
+            transactionTemplate.executeWithoutResult(status -> {
+                BankAccountEntity account = bankAccountRepository.findByAccountNumber(accountNumber).orElseThrow();
+                account.setName("Loaded");
+                bankAccountRepository.flush();
+            });
+        }
+        long loadNanos = System.nanoTime() - start;
+        long loadStatements = statistics.getPrepareStatementCount();
+
+        log.info("{} account updates: single statement {} ops/s, load and flush {} ops/s",
+                UPDATES, opsPerSecond(singleNanos), opsPerSecond(loadNanos));
+        assertThat(singleStatements).isEqualTo(UPDATES);
+        assertThat(loadStatements).isEqualTo(2L * UPDATES);
+    }
+
+    private Long id(String accountNumber) {
+        return bankAccountRepository.findStripingByAccountNumber(accountNumber).orElseThrow().getId();
+    }
+
+    private static long opsPerSecond(long nanos) {
+        return UPDATES * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private static UpdateUserRequest userUpdate() {
+        CreateUserRequestAddress address = new CreateUserRequestAddress();
+        address.setLine1("1 Main St");
+        address.setTown("London");
+        address.setCounty("Greater London");
+        address.setPostcode("E1 6AN");
+
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setName("After");
+        request.setEmail("after@example.com");
+        request.setPhoneNumber("+441234567891");
+        request.setAddress(address);
+        return request;
+    }
+}
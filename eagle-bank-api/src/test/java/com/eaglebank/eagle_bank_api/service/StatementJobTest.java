@@ -0,0 +1,193 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.CreateTransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the statement job against the database and checks the files it writes, and that a
+ * rerun only redoes partitions without a checkpoint.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit",
+        "eaglebank.statements.directory=target/statements",
+        "eaglebank.statements.partition-size=2",
+        "eaglebank.statements.threads=3",
+        "eaglebank.statements.schedule-enabled=false"})
+class StatementJobTest {
+
+    private static final int ACCOUNTS = 7;
+    private static final Path DIRECTORY = Path.of("target/statements");
+
+    @Autowired
+    private StatementJob statementJob;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private AccountDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+    private final YearMonth month = YearMonth.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Statement", ACCOUNTS, 0.0));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        transactionRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        balanceStripeRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        accountNumbers.forEach(accountExistenceFilter::remove);
+        FileSystemUtils.deleteRecursively(DIRECTORY);
+    }
+
+    @Test
+    @DisplayName("Should write one statement per account whose running balance ends at the account balance")
+    void writesStatements() throws Exception {
+        stripedBalances.enable(accountNumbers.get(0), 4);
+        for (String accountNumber : accountNumbers) {
+            post(accountNumber, 100.00, CreateTransactionRequest.TypeEnum.DEPOSIT, "Salary, September");
+            post(accountNumber, 12.34, CreateTransactionRequest.TypeEnum.DEPOSIT, null);
+            post(accountNumber, 40.00, CreateTransactionRequest.TypeEnum.WITHDRAWAL, "Rent \"flat 2\"");
+        }
+
+        StatementJob.Result result = statementJob.run(month);
+
+        assertThat(result.failed()).isZero();
+        assertThat(result.skipped()).isZero();
+        assertThat(result.accounts()).isEqualTo(ACCOUNTS);
+        assertThat(result.transactions()).isEqualTo(ACCOUNTS * 3L);
+        for (String accountNumber : accountNumbers) {
+            List<String> lines = Files.readAllLines(statement(accountNumber));
+            assertThat(lines).hasSize(6);
+            assertThat(lines.get(0)).isEqualTo("date,transactionId,type,amount,balance,reference");
+            assertThat(lines.get(1)).isEqualTo(month.atDay(1) + ",,opening,,0.00,");
+            assertThat(lines.get(2)).endsWith(",deposit,100.00,100.00,\"Salary, September\"");
+            assertThat(lines.get(3)).endsWith(",deposit,12.34,112.34,");
+            assertThat(lines.get(4)).endsWith(",withdrawal,40.00,72.34,\"Rent \"\"flat 2\"\"\"");
+            assertThat(lines.get(5)).isEqualTo(month.atEndOfMonth() + ",,closing,,"
+                    + BigDecimal.valueOf(bankAccountService.fetchByAccountNumber(accountNumber).getBalance()).setScale(2)
+                    + ",");
+        }
+    }
+
+    @Test
+    @DisplayName("A rerun should only redo partitions without a checkpoint")
+    void resumesFromCheckpoints() throws Exception {
+        StatementJob.Result first = statementJob.run(month);
+        assertThat(first.partitions()).isGreaterThan(1);
+        assertThat(first.skipped()).isZero();
+
+        StatementJob.Result second = statementJob.run(month);
+        assertThat(second.skipped()).isEqualTo(first.partitions());
+        assertThat(second.accounts()).isZero();
+
+        // Partitions are aligned to multiples of the partition size.
+        long id = bankAccountRepository.findStripingByAccountNumber(accountNumbers.get(0)).orElseThrow().getId();
+        long fromId = id / 2 * 2;
+        Path checkpoint = DIRECTORY.resolve(month.toString()).resolve(StatementJob.CHECKPOINT_DIRECTORY)
+                .resolve(fromId + "-" + (fromId + 1));
+        assertThat(checkpoint).exists();
+        Files.delete(checkpoint);
+        Files.delete(statement(accountNumbers.get(0)));
+
+        StatementJob.Result third = statementJob.run(month);
+        assertThat(third.skipped()).isEqualTo(first.partitions() - 1);
+        assertThat(third.accounts()).isBetween(1L, 2L);
+        assertThat(statement(accountNumbers.get(0))).exists();
+        assertThat(checkpoint).exists();
+    }
+
+    @Test
+    @DisplayName("Should report a failed partition with its range and cause, and clear it once redone")
+    void reportsFailedPartitions() throws Exception {
+        BankAccountEntity legacy = bankAccountRepository.findAll().get(0);
+        legacy.setRollupsComplete(false);
+        bankAccountRepository.save(legacy);
+        long fromId = legacy.getId() / 2 * 2;
+
+        StatementJob.Result failed = statementJob.run(month);
+
+        assertThat(failed.failures()).singleElement().satisfies(failure -> {
+            assertThat(failure.fromId()).isEqualTo(fromId);
+            assertThat(failure.toId()).isEqualTo(fromId + 1);
+            assertThat(failure.cause()).startsWith("BadTransactionRequestException: ");
+        });
+        Path failures = DIRECTORY.resolve(month.toString()).resolve(StatementJob.FAILURES_FILE);
+        List<String> lines = Files.readAllLines(failures);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(1)).startsWith(fromId + "," + (fromId + 1) + ",").contains("BadTransactionRequestException: ");
+
+        BankAccountEntity backfilled = bankAccountRepository.findById(legacy.getId()).orElseThrow();
+        backfilled.setRollupsComplete(true);
+        bankAccountRepository.save(backfilled);
+        StatementJob.Result redone = statementJob.run(month);
+
+        assertThat(redone.failed()).isZero();
+        assertThat(redone.skipped()).isEqualTo(failed.partitions() - 1);
+        assertThat(failures).doesNotExist();
+    }
+
+    private Path statement(String accountNumber) {
+        return DIRECTORY.resolve(month.toString()).resolve(accountNumber + ".csv");
+    }
+
+    private void post(String accountNumber, double amount, CreateTransactionRequest.TypeEnum type, String reference) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        request.setReference(reference);
+        transactionService.createTransaction(accountNumber, request);
+    }
+}
@@ -0,0 +1,44 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripeSelectorTest {
+
+    private final StripeSelector selector = new StripeSelector();
+
+    @Test
+    @DisplayName("Should pick slots within the stripe count")
+    void shouldStayWithinStripes() {
+        for (int i = 0; i < 1_000; i++) {
+            StripeSelector.Lease lease = selector.acquire(1L, 8);
+            assertThat(lease.slot()).isBetween(0, 7);
+            lease.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Should steer a deposit away from a slot that is already busy")
+    void shouldPreferIdleSlot() {
+        StripeSelector.Lease busy = selector.acquire(1L, 2);
+
+        for (int i = 0; i < 100; i++) {
+            StripeSelector.Lease lease = selector.acquire(1L, 2);
+            assertThat(lease.slot()).isNotEqualTo(busy.slot());
+            lease.release();
+        }
+    }
+
+    @Test
+    @DisplayName("Should start afresh when the stripe count changes")
+    void shouldResizeWithStripeCount() {
+        selector.acquire(1L, 2);
+
+        StripeSelector.Lease lease = selector.acquire(1L, 4);
+
+        assertThat(lease.counts().length()).isEqualTo(4);
+        assertThat(lease.counts().get(lease.slot())).isEqualTo(1);
+    }
+}
@@ -0,0 +1,163 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.repository.AccountDailyRollupRepository;
+import com.eaglebank.eagle_bank_api.repository.AccountStripingView;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.CreateTransactionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs deposits and withdrawals on one striped account concurrently against the real database.
+ * Any deadlock or lock timeout surfaces as an exception from a worker and fails the test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit"})
+class StripedBalancesTest {
+
+    private static final int THREADS = 16;
+    private static final int DEPOSITS_PER_THREAD = 100;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private HotAccountEndpoint hotAccountEndpoint;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountDailyRollupRepository rollupRepository;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private String accountNumber;
+
+    @BeforeEach
+    void setUp() {
+        accountNumber = TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Hot", 1, 0.0).get(0);
+        stripedBalances.enable(accountNumber, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        rollupRepository.deleteAllInBatch();
+        balanceStripeRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        accountExistenceFilter.remove(accountNumber);
+    }
+
+    @Test
+    @DisplayName("Concurrent deposits and withdrawals on a striped account should add up without deadlocks")
+    void concurrentDepositsAndWithdrawalsAddUp() throws Exception {
+        runConcurrently(thread -> {
+            for (int i = 0; i < DEPOSITS_PER_THREAD; i++) {
+                post(1.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+                if (thread == 0 && i % 10 == 9) {
+                    post(0.50, CreateTransactionRequest.TypeEnum.WITHDRAWAL);
+                }
+            }
+        });
+
+        long expected = MinorUnits.of(THREADS * DEPOSITS_PER_THREAD * 1.00) - MinorUnits.of(DEPOSITS_PER_THREAD / 10 * 0.50);
+        assertThat(balance()).isEqualTo(expected);
+        assertThat(transactionRepository.count()).isEqualTo(THREADS * DEPOSITS_PER_THREAD + DEPOSITS_PER_THREAD / 10);
+    }
+
+    @Test
+    @DisplayName("Re-striping an account should keep its balance whether it grows or shrinks")
+    void restripingKeepsTheBalance() {
+        post(10.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+        post(2.50, CreateTransactionRequest.TypeEnum.DEPOSIT);
+
+        assertThat(stripedBalances.enable(accountNumber, 3)).isTrue();
+        assertThat(balance()).isEqualTo(1_250L);
+        post(1.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+
+        assertThat(stripedBalances.enable(accountNumber, 12)).isTrue();
+        assertThat(balance()).isEqualTo(1_350L);
+        assertThat(balanceStripeRepository.count()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("The actuator endpoint should switch striping on and off while the application runs")
+    void endpointSwitchesStriping() {
+        post(5.00, CreateTransactionRequest.TypeEnum.DEPOSIT);
+
+        assertThat(hotAccountEndpoint.disable(accountNumber)).isEqualTo(new HotAccountEndpoint.HotAccount(accountNumber, 0));
+        assertThat(balanceStripeRepository.count()).isZero();
+        assertThat(hotAccountEndpoint.enable(accountNumber, null)).isEqualTo(new HotAccountEndpoint.HotAccount(accountNumber, 16));
+        assertThat(balanceStripeRepository.count()).isEqualTo(16);
+        assertThat(balance()).isEqualTo(500L);
+        assertThat(hotAccountEndpoint.enable("01999998", 4)).isNull();
+    }
+
+    private long balance() {
+        AccountStripingView striping = bankAccountRepository.findStripingByAccountNumber(accountNumber).orElseThrow();
+        return stripedBalances.currentBalance(striping.getId(), striping.getBalanceStripes());
+    }
+
+    private void post(double amount, CreateTransactionRequest.TypeEnum type) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        transactionService.createTransaction(accountNumber, request);
+    }
+
+    private void runConcurrently(ThreadWork work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    work.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadWork {
+
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,370 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.BadTransactionRequestException;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import com.eaglebank.eagle_bank_api.exception.InsufficientFundsException;
+import com.eaglebank.eagle_bank_api.exception.TransactionNotFoundException;
+import com.eaglebank.eagle_bank_api.model.BalanceStripeEntity;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.model.TransactionEntity;
+import com.eaglebank.eagle_bank_api.outbox.Outbox;
+import com.eaglebank.eagle_bank_api.repository.AccountStripingView;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.eaglebank.eagle_bank_api.subscription.AccountEventHub;
+import com.eaglebank.eagle_bank_api.subscription.BalanceUpdate;
+import com.example.project.model.BankAccountResponse;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import com.example.project.model.DailyRollupsResponse;
+import com.example.project.model.TransactionResponse;
+import com.example.project.model.TransferResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    private static final String ACCOUNT_NUMBER = "01234567";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private BankAccountRepository bankAccountRepository;
+
+    @Mock
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private AccountEventHub accountEventHub;
+
+    @Mock
+    private UserSummaries userSummaries;
+
+    @Mock
+    private DailyRollups dailyRollups;
+
+    private TransactionService transactionService;
+    private BankAccountEntity account;
+
+    @BeforeEach
+    void setUp() {
+        StripedBalances stripedBalances = new StripedBalances(balanceStripeRepository, bankAccountRepository, new StripeSelector(), userSummaries);
+        transactionService = new TransactionService(transactionRepository, bankAccountRepository, stripedBalances,
+                new RequestCoalescer(new SimpleMeterRegistry()), new ExistenceFilter("account", 1000, 0.01, new SimpleMeterRegistry()), outbox, accountEventHub,
+                userSummaries, dailyRollups);
+
+        account = BankAccountEntity.builder().id(7L).accountNumber(ACCOUNT_NUMBER).balance(100.00).build();
+    }
+
+    @Nested
+    class CreateTransactionTests {
+
+        @Test
+        @DisplayName("Should add a deposit to the locked balance exactly")
+        void shouldDepositIntoOrdinaryAccount() {
+            when(bankAccountRepository.findStripingByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(striping(0)));
+            when(bankAccountRepository.findForUpdateByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+            when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+            TransactionResponse response = transactionService.createTransaction(ACCOUNT_NUMBER, request(0.10, CreateTransactionRequest.TypeEnum.DEPOSIT));
+
+            assertThat(account.getBalance()).isEqualTo(100.10);
+            assertThat(response.getId()).isEqualTo("tan-1");
+            assertThat(response.getType()).isEqualTo(TransactionResponse.TypeEnum.DEPOSIT);
+            verify(dailyRollups).posted(eq(7L), eq(DailyRollups.LOCKED_SLOT), any(), eq(TransactionResponse.TypeEnum.DEPOSIT), eq(10L));
+        }
+
+        @Test
+        @DisplayName("Should stream the transaction and the new balance to the account's subscribers")
+        void shouldNotifySubscribers() {
+            account.setCurrency(BankAccountResponse.CurrencyEnum.GBP);
+            when(bankAccountRepository.findForUpdateByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+            when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+            when(accountEventHub.hasSubscribers(ACCOUNT_NUMBER)).thenReturn(true);
+
+            TransactionResponse response = transactionService.createTransaction(ACCOUNT_NUMBER, request(40.00, CreateTransactionRequest.TypeEnum.WITHDRAWAL));
+
+            verify(accountEventHub).publish(ACCOUNT_NUMBER, TransactionService.TRANSACTION_EVENT, response);
+            verify(accountEventHub).publish(ACCOUNT_NUMBER, TransactionService.BALANCE_EVENT, "1",
+                    new BalanceUpdate(ACCOUNT_NUMBER, 60.00, BankAccountResponse.CurrencyEnum.GBP, 1L));
+        }
+
+        @Test
+        @DisplayName("Should reject a withdrawal larger than the balance and leave the balance untouched")
+        void shouldRejectOverdraft() {
+            when(bankAccountRepository.findForUpdateByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+
+            assertThatThrownBy(() -> transactionService.createTransaction(ACCOUNT_NUMBER, request(100.01, CreateTransactionRequest.TypeEnum.WITHDRAWAL)))
+                    .isInstanceOf(InsufficientFundsException.class);
+            assertThat(account.getBalance()).isEqualTo(100.00);
+            verify(transactionRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should put deposits to a striped account into one slot without locking the account row")
+        void shouldDepositIntoStripe() {
+            account.setBalanceStripes(4);
+            when(bankAccountRepository.findStripingByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(striping(4)));
+            when(bankAccountRepository.getReferenceById(7L)).thenReturn(account);
+            when(balanceStripeRepository.addToSlot(eq(7L), anyInt(), eq(2_500L), any())).thenReturn(1);
+            when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+            transactionService.createTransaction(ACCOUNT_NUMBER, request(25.00, CreateTransactionRequest.TypeEnum.DEPOSIT));
+
+            verify(bankAccountRepository, never()).findForUpdateByAccountNumber(any());
+            // The transaction row, and any foreign key lock it takes, comes before the stripe lock.
+            InOrder locks = inOrder(transactionRepository, balanceStripeRepository);
+            locks.verify(transactionRepository).save(any(TransactionEntity.class));
+            locks.verify(balanceStripeRepository).addToSlot(eq(7L), anyInt(), eq(2_500L), any());
+            verifyNoInteractions(userSummaries);
+            // The rollup row of the stripe the deposit landed in, never the shared locked-path row.
+            ArgumentCaptor<Integer> slot = ArgumentCaptor.forClass(Integer.class);
+            verify(dailyRollups).posted(eq(7L), slot.capture(), any(), eq(TransactionResponse.TypeEnum.DEPOSIT), eq(2_500L));
+            assertThat(slot.getValue()).isBetween(0, 3);
+            assertThat(account.getBalance()).isEqualTo(100.00);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the locked path when striping was switched off meanwhile")
+        void shouldFallBackWhenStripesAreGone() {
+            when(bankAccountRepository.findStripingByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(striping(4)));
+            when(bankAccountRepository.getReferenceById(7L)).thenReturn(account);
+            when(bankAccountRepository.findForUpdateByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+            when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+            transactionService.createTransaction(ACCOUNT_NUMBER, request(25.00, CreateTransactionRequest.TypeEnum.DEPOSIT));
+
+            assertThat(account.getBalance()).isEqualTo(125.00);
+            verify(transactionRepository).save(any(TransactionEntity.class));
+            verify(dailyRollups).posted(eq(7L), eq(DailyRollups.LOCKED_SLOT), any(), eq(TransactionResponse.TypeEnum.DEPOSIT), eq(2_500L));
+        }
+
+        @Test
+        @DisplayName("Should count every slot towards a withdrawal from a striped account")
+        void shouldWithdrawAcrossStripes() {
+            account.setBalanceStripes(2);
+            BalanceStripeEntity first = stripe(0, 3_000);
+            BalanceStripeEntity second = stripe(1, 1_999);
+            when(bankAccountRepository.findForUpdateByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+            when(balanceStripeRepository.lockByAccountId(7L)).thenReturn(List.of(first, second));
+            when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+            transactionService.createTransaction(ACCOUNT_NUMBER, request(149.99, CreateTransactionRequest.TypeEnum.WITHDRAWAL));
+
+            assertThat(account.getBalance()).isEqualTo(0.0);
+            assertThat(first.getAmountMinor()).isZero();
+            assertThat(second.getAmountMinor()).isZero();
+            // The summary only held the base balance, so the folded slots count towards its change.
+            verify(userSummaries).balanceChanged(account, -10_000L, 0);
+        }
+
+        @Test
+        @DisplayName("Should reject amounts with more than two decimal places")
+        void shouldRejectSubPennyAmounts() {
+            assertThatThrownBy(() -> transactionService.createTransaction(ACCOUNT_NUMBER, request(1.005, CreateTransactionRequest.TypeEnum.DEPOSIT)))
+                    .isInstanceOf(BadTransactionRequestException.class)
+                    .hasMessageContaining("two decimal places");
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for an unknown account")
+        void shouldRejectUnknownAccount() {
+            when(bankAccountRepository.findForUpdateByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> transactionService.createTransaction(ACCOUNT_NUMBER, request(1.00, CreateTransactionRequest.TypeEnum.WITHDRAWAL)))
+                    .isInstanceOf(BankAccountNotFoundException.class);
+        }
+    }
+
+    @Nested
+    class CreateTransferTests {
+
+        private BankAccountEntity destination;
+
+        @BeforeEach
+        void setUp() {
+            destination = BankAccountEntity.builder().id(3L).accountNumber("01765432").balance(5.00).build();
+            when(bankAccountRepository.findStripingByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(striping(7L, 0)));
+            when(bankAccountRepository.findStripingByAccountNumber("01765432")).thenReturn(Optional.of(striping(3L, 0)));
+            when(bankAccountRepository.findForUpdateById(7L)).thenReturn(Optional.of(account));
+            when(bankAccountRepository.findForUpdateById(3L)).thenReturn(Optional.of(destination));
+        }
+
+        @Test
+        @DisplayName("Should lock the lower account id first whichever way the money moves")
+        void shouldLockInAscendingIdOrder() {
+            when(transactionRepository.save(any(TransactionEntity.class))).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+
+            TransferResponse response = transactionService.createTransfer(ACCOUNT_NUMBER, transfer("01765432", 40.00));
+
+            InOrder locks = inOrder(bankAccountRepository);
+            locks.verify(bankAccountRepository).findForUpdateById(3L);
+            locks.verify(bankAccountRepository).findForUpdateById(7L);
+            assertThat(account.getBalance()).isEqualTo(60.00);
+            assertThat(destination.getBalance()).isEqualTo(45.00);
+            assertThat(response.getDebit().getType()).isEqualTo(TransactionResponse.TypeEnum.WITHDRAWAL);
+            assertThat(response.getCredit().getType()).isEqualTo(TransactionResponse.TypeEnum.DEPOSIT);
+            assertThat(response.getDebit().getTransferId()).isEqualTo(response.getTransferId());
+            assertThat(response.getCredit().getTransferId()).isEqualTo(response.getTransferId());
+            verify(userSummaries).transferred(account, -4_000L, destination, 4_000L);
+            verify(dailyRollups).posted(eq(7L), eq(DailyRollups.LOCKED_SLOT), any(), eq(TransactionResponse.TypeEnum.WITHDRAWAL), eq(4_000L));
+            verify(dailyRollups).posted(eq(3L), eq(DailyRollups.LOCKED_SLOT), any(), eq(TransactionResponse.TypeEnum.DEPOSIT), eq(4_000L));
+        }
+
+        @Test
+        @DisplayName("Should move nothing when the source cannot cover the amount")
+        void shouldRejectOverdraft() {
+            assertThatThrownBy(() -> transactionService.createTransfer(ACCOUNT_NUMBER, transfer("01765432", 100.01)))
+                    .isInstanceOf(InsufficientFundsException.class);
+            assertThat(account.getBalance()).isEqualTo(100.00);
+            assertThat(destination.getBalance()).isEqualTo(5.00);
+            verify(transactionRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    class DailyRollupTests {
+
+        @Test
+        @DisplayName("Should serve a date range from the rollups and the current balance")
+        void shouldMapRollups() {
+            LocalDate from = LocalDate.of(2026, 3, 1);
+            LocalDate to = LocalDate.of(2026, 3, 31);
+            when(bankAccountRepository.findStripingByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(striping(0)));
+            when(bankAccountRepository.findBalanceById(7L)).thenReturn(100.00);
+            when(dailyRollups.range(any(AccountStripingView.class), eq(10_000L), eq(from), eq(to))).thenReturn(new DailyRollups.Range(2_500L, 9_000L, 7_000L, 500L,
+                    List.of(new DailyRollups.Day(LocalDate.of(2026, 3, 4), 7_000L, 500L, 2, 1, 9_000L))));
+
+            DailyRollupsResponse response = transactionService.listDailyRollups(ACCOUNT_NUMBER, from, to);
+
+            assertThat(response.getOpeningBalance()).isEqualTo(25.00);
+            assertThat(response.getClosingBalance()).isEqualTo(90.00);
+            assertThat(response.getTotalCredits()).isEqualTo(70.00);
+            assertThat(response.getTotalDebits()).isEqualTo(5.00);
+            assertThat(response.getDays()).singleElement().satisfies(day -> {
+                assertThat(day.getDate()).isEqualTo(LocalDate.of(2026, 3, 4));
+                assertThat(day.getCreditCount()).isEqualTo(2);
+                assertThat(day.getDebitCount()).isEqualTo(1);
+                assertThat(day.getClosingBalance()).isEqualTo(90.00);
+            });
+        }
+
+        @Test
+        @DisplayName("Should reject reversed ranges and ranges longer than a year")
+        void shouldRejectBadRanges() {
+            LocalDate from = LocalDate.of(2026, 3, 1);
+
+            assertThatThrownBy(() -> transactionService.listDailyRollups(ACCOUNT_NUMBER, from, from.minusDays(1)))
+                    .isInstanceOf(BadTransactionRequestException.class);
+            assertThatThrownBy(() -> transactionService.listDailyRollups(ACCOUNT_NUMBER, from, from.plusDays(TransactionService.MAX_ROLLUP_DAYS)))
+                    .isInstanceOf(BadTransactionRequestException.class);
+            verifyNoInteractions(dailyRollups);
+        }
+    }
+
+    @Nested
+    class FetchTransactionTests {
+
+        @Test
+        @DisplayName("Should only find transactions of the addressed account")
+        void shouldScopeFetchToAccount() {
+            when(bankAccountRepository.findByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+            when(transactionRepository.findByIdAndAccountId(3L, 7L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> transactionService.fetchTransaction(ACCOUNT_NUMBER, "tan-3"))
+                    .isInstanceOf(TransactionNotFoundException.class)
+                    .hasMessageContaining("tan-3");
+        }
+
+        @Test
+        @DisplayName("Should list the account's transactions in order")
+        void shouldListTransactions() {
+            when(bankAccountRepository.findByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(account));
+            when(transactionRepository.findByAccountId(7L)).thenReturn(List.of(
+                    saved(TransactionEntity.builder().amount(5.0).type(TransactionResponse.TypeEnum.DEPOSIT).build())));
+
+            assertThat(transactionService.listTransactions(ACCOUNT_NUMBER).getTransactions())
+                    .extracting(TransactionResponse::getId)
+                    .containsExactly("tan-1");
+        }
+    }
+
+    private static CreateTransactionRequest request(double amount, CreateTransactionRequest.TypeEnum type) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        return request;
+    }
+
+    private static CreateTransferRequest transfer(String toAccountNumber, double amount) {
+        CreateTransferRequest request = new CreateTransferRequest();
+        request.setToAccountNumber(toAccountNumber);
+        request.setAmount(amount);
+        request.setCurrency(CreateTransferRequest.CurrencyEnum.GBP);
+        return request;
+    }
+
+    private static AccountStripingView striping(int stripes) {
+        return striping(7L, stripes);
+    }
+
+    private static AccountStripingView striping(Long id, int stripes) {
+        return new AccountStripingView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getBalanceStripes() {
+                return stripes;
+            }
+
+            @Override
+            public boolean isRollupsComplete() {
+                return true;
+            }
+        };
+    }
+
+    private static BalanceStripeEntity stripe(int slot, long amountMinor) {
+        return BalanceStripeEntity.builder().accountId(7L).slot(slot).amountMinor(amountMinor).build();
+    }
+
+    private static TransactionEntity saved(TransactionEntity transaction) {
+        transaction.setId(1L);
+        transaction.setCreatedTimestamp(OffsetDateTime.now());
+        return transaction;
+    }
+}
@@ -0,0 +1,144 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.exception.InsufficientFundsException;
+import com.eaglebank.eagle_bank_api.model.BankAccountEntity;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.example.project.model.CreateTransferRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs concurrent transfers against the real database. Any deadlock or lock timeout surfaces as
+ * an exception from a worker and fails the test; afterwards the total balance must be unchanged.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit"})
+class TransferStressTest {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 250;
+    private static final double OPENING_BALANCE = 100.00;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Stress", ACCOUNTS, OPENING_BALANCE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        accountNumbers.forEach(accountExistenceFilter::remove);
+    }
+
+    @Test
+    @DisplayName("Random transfers across 1,000 accounts should conserve money without deadlocks or timeouts")
+    void randomTransfersConserveMoney() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            transfer(from, to, random, completed, rejected);
+        });
+
+        assertConserved(completed, rejected);
+    }
+
+    @Test
+    @DisplayName("Opposite-direction transfers between one pair of accounts should not deadlock")
+    void opposingTransfersDoNotDeadlock() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean forward = random.nextBoolean();
+            transfer(forward ? 0 : 1, forward ? 1 : 0, random, completed, rejected);
+        });
+
+        assertConserved(completed, rejected);
+        assertThat(completed.get()).isPositive();
+    }
+
+    private void transfer(int from, int to, ThreadLocalRandom random, AtomicInteger completed, AtomicInteger rejected) {
+        CreateTransferRequest request = new CreateTransferRequest();
+        request.setToAccountNumber(accountNumbers.get(to));
+        request.setAmount((1 + random.nextInt(5_000)) / 100.0);
+        request.setCurrency(CreateTransferRequest.CurrencyEnum.GBP);
+        try {
+            transactionService.createTransfer(accountNumbers.get(from), request);
+            completed.incrementAndGet();
+        } catch (InsufficientFundsException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    private void runConcurrently(Runnable transfer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        transfer.run();
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertConserved(AtomicInteger completed, AtomicInteger rejected) {
+        long total = 0;
+        for (BankAccountEntity account : bankAccountRepository.findAll()) {
+            assertThat(account.getBalance()).isGreaterThanOrEqualTo(0.0);
+            total += MinorUnits.of(account.getBalance());
+        }
+        assertThat(total).isEqualTo(ACCOUNTS * MinorUnits.of(OPENING_BALANCE));
+        assertThat(completed.get() + rejected.get()).isEqualTo(THREADS * TRANSFERS_PER_THREAD);
+        assertThat(transactionRepository.count()).isEqualTo(2L * completed.get());
+    }
+}
@@ -1,13 +1,20 @@
 package com.eaglebank.eagle_bank_api.service;
 
+import com.eaglebank.eagle_bank_api.audit.AuditAction;
+import com.eaglebank.eagle_bank_api.audit.AuditLog;
+import com.eaglebank.eagle_bank_api.audit.AuditSubject;
 import com.eaglebank.eagle_bank_api.exception.BadUserRequestException;
 import com.eaglebank.eagle_bank_api.exception.UserNotFoundException;
 import com.eaglebank.eagle_bank_api.model.UserEntity;
+import com.eaglebank.eagle_bank_api.outbox.Outbox;
+import com.eaglebank.eagle_bank_api.outbox.OutboxEventType;
 import com.eaglebank.eagle_bank_api.repository.UserRepository;
 import com.example.project.model.CreateUserRequest;
 import com.example.project.model.CreateUserRequestAddress;
 import com.example.project.model.UpdateUserRequest;
 import com.example.project.model.UserResponse;
+import com.example.project.model.UserSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,9 +23,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -30,6 +39,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private ExistenceFilter userExistenceFilter = new ExistenceFilter("user", 1000, 0.01, new SimpleMeterRegistry());
+
+    @Mock
+    private Outbox outbox;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private UserSummaries userSummaries;
+
     @InjectMocks
     private UserService userService;
 
@@ -81,6 +105,8 @@ class UserServiceTest {
             UserEntity captured = captor.getValue();
             assertThat(captured.getName()).isEqualTo("Jane Doe");
             assertThat(captured.getAddress()).contains("Main St");
+            verify(outbox).record(OutboxEventType.USER_CREATED, "usr-1", response);
+            verify(userSummaries).userCreated(1L);
         }
 
         @Test
@@ -118,6 +144,16 @@ class UserServiceTest {
                     .hasMessageContaining("Invalid numeric part");
         }
 
+        @Test
+        void fetchUserByIdSkipsRepositoryWhenFilterRulesUserOut() {
+            userExistenceFilter.load(List.of(1L));
+
+            assertThatThrownBy(() -> userService.fetchUserById("usr-99"))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessageContaining("User not found with ID: usr-99");
+            verifyNoInteractions(userRepository);
+        }
+
         @Test
         void fetchUserByIdThrowsWhenUserNotFound() {
             when(userRepository.findById(99L)).thenReturn(Optional.empty());
@@ -128,24 +164,55 @@ class UserServiceTest {
         }
     }
 
+    @Nested
+    class FetchUserSummaryTests {
+        @Test
+        void fetchUserSummarySuccessfully() {
+            OffsetDateTime lastActivity = OffsetDateTime.now();
+            when(userSummaries.find(1L)).thenReturn(Optional.of(new UserSummaries.Summary(12_345L, 2, lastActivity)));
+
+            UserSummaryResponse response = userService.fetchUserSummary("usr-1");
+
+            assertThat(response.getUserId()).isEqualTo("usr-1");
+            assertThat(response.getTotalBalance()).isEqualTo(123.45);
+            assertThat(response.getCurrency()).isEqualTo(UserSummaryResponse.CurrencyEnum.GBP);
+            assertThat(response.getAccountCount()).isEqualTo(2);
+            assertThat(response.getLastActivityTimestamp()).isEqualTo(lastActivity);
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        void fetchUserSummaryThrowsWhenUserHasNoSummary() {
+            when(userSummaries.find(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> userService.fetchUserSummary("usr-99"))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessageContaining("User not found with ID: usr-99");
+        }
+    }
+
     @Nested
     class DeleteUserTests {
         @Test
         void deleteUserSuccessfully() {
-            when(userRepository.findById(1L)).thenReturn(Optional.of(savedEntity));
+            when(userRepository.deleteUserById(1L)).thenReturn(1);
 
             userService.deleteUser("usr-1");
 
-            verify(userRepository).delete(savedEntity);
+            verify(userRepository, never()).findById(1L);
+            verify(outbox).record(eq(OutboxEventType.USER_DELETED), eq("usr-1"), any());
+            verify(auditLog).record(AuditSubject.USER, AuditAction.DELETE, 1L, 0L);
+            verify(userSummaries).userDeleted(1L);
         }
 
         @Test
         void deleteUserThrowsWhenUserNotFound() {
-            when(userRepository.findById(99L)).thenReturn(Optional.empty());
+            when(userRepository.deleteUserById(99L)).thenReturn(0);
 
             assertThatThrownBy(() -> userService.deleteUser("usr-99"))
                     .isInstanceOf(UserNotFoundException.class)
                     .hasMessageContaining("User not found while attempting deletion. User ID: usr-99");
+            verify(userSummaries, never()).userDeleted(99L);
         }
     }
 
@@ -169,11 +236,17 @@ class UserServiceTest {
                     .postcode("E1 6AN")
                     .town("London"));
 
-            when(userRepository.findById(accountId))
-                    .thenReturn(Optional.of(savedEntity));
-
-            when(userRepository.save(any(UserEntity.class)))
-                    .thenReturn(savedEntity);
+            when(userRepository.updateUserDetails(eq(accountId), eq(newName), eq(newEmail), eq(newPhoneNumber), anyString(),
+                    any(OffsetDateTime.class)))
+                    .thenAnswer(invocation -> Optional.of(UserEntity.builder()
+                            .id(accountId)
+                            .name(invocation.getArgument(1))
+                            .email(invocation.getArgument(2))
+                            .phoneNumber(invocation.getArgument(3))
+                            .address(invocation.getArgument(4))
+                            .createdTimestamp(savedEntity.getCreatedTimestamp())
+                            .updatedTimestamp(invocation.getArgument(5))
+                            .build()));
 
             UserResponse response = userService.updateUserDetails("usr-1", updateRequest);
 
@@ -184,6 +257,25 @@ class UserServiceTest {
             assertThat(response.getAddress().getTown()).isEqualTo("London");
             assertThat(response.getAddress().getCounty()).isEqualTo("Greater London");
             assertThat(response.getAddress().getPostcode()).isEqualTo("E1 6AN");
+            verify(userRepository, never()).findById(accountId);
+            verify(userRepository, never()).save(any(UserEntity.class));
+        }
+
+        @Test
+        void updateUserDetailsThrowsWhenUserNotFound() {
+            UpdateUserRequest updateRequest = new UpdateUserRequest();
+            updateRequest.setName("Michelle Doe");
+            updateRequest.setEmail("jane@example.com");
+            updateRequest.setPhoneNumber("+441234567890");
+            updateRequest.setAddress(createUserRequest.getAddress());
+
+            when(userRepository.updateUserDetails(eq(99L), anyString(), anyString(), anyString(), anyString(), any(OffsetDateTime.class)))
+                    .thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> userService.updateUserDetails("usr-99", updateRequest))
+                    .isInstanceOf(UserNotFoundException.class)
+                    .hasMessageContaining("User not found with ID: usr-99");
+            verify(outbox, never()).record(eq(OutboxEventType.USER_UPDATED), anyString(), any());
         }
     }
 }
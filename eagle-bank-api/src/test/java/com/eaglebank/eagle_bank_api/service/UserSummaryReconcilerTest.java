@@ -0,0 +1,234 @@
+package com.eaglebank.eagle_bank_api.service;
+
+import com.eaglebank.eagle_bank_api.exception.InsufficientFundsException;
+import com.eaglebank.eagle_bank_api.model.UserSummaryEntity;
+import com.eaglebank.eagle_bank_api.repository.BalanceStripeRepository;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.repository.TransactionRepository;
+import com.eaglebank.eagle_bank_api.repository.UserRepository;
+import com.eaglebank.eagle_bank_api.repository.UserSummaryRepository;
+import com.eaglebank.eagle_bank_api.security.AuthenticatedPrincipal;
+import com.example.project.model.CreateBankAccountRequest;
+import com.example.project.model.CreateTransactionRequest;
+import com.example.project.model.CreateTransferRequest;
+import com.example.project.model.CreateUserRequest;
+import com.example.project.model.CreateUserRequestAddress;
+import com.example.project.model.UserSummaryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the real services against the database and uses the reconciler as the oracle: after
+ * any mix of changes, every summary must already match its accounts. Partitions of two user ids
+ * make every check span several partitions.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit",
+        "eaglebank.user-summary.partition-size=2"})
+class UserSummaryReconcilerTest {
+
+    private static final int USERS = 4;
+    private static final int ACCOUNTS_PER_USER = 3;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 100;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BankAccountService bankAccountService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StripedBalances stripedBalances;
+
+    @Autowired
+    private UserSummaryReconciler reconciler;
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    private BalanceStripeRepository balanceStripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<String> userIds = new ArrayList<>();
+    private final List<String> accountNumbers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < USERS; u++) {
+            String userId = "usr-" + userService.createUser(user(u)).getId();
+            userIds.add(userId);
+            for (int a = 0; a < ACCOUNTS_PER_USER; a++) {
+                String accountNumber = openAccount(userId);
+                accountNumbers.add(accountNumber);
+                transactionService.createTransaction(accountNumber, transaction(100.00, CreateTransactionRequest.TypeEnum.DEPOSIT));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAllInBatch();
+        balanceStripeRepository.deleteAllInBatch();
+        bankAccountRepository.deleteAllInBatch();
+        userSummaryRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Concurrent deposits, withdrawals and transfers should leave every summary matching its accounts")
+    void concurrentChangesKeepSummariesExact() throws Exception {
+        stripedBalances.enable(accountNumbers.get(0), 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        randomOperation(ThreadLocalRandom.current());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        // The striped account's pending deposits are part of its owner's total.
+        String owner = userIds.get(0);
+        double expected = 0;
+        for (String accountNumber : accountNumbers.subList(0, ACCOUNTS_PER_USER)) {
+            expected += bankAccountService.fetchByAccountNumber(accountNumber).getBalance();
+        }
+        UserSummaryResponse summary = userService.fetchUserSummary(owner);
+        assertThat(summary.getTotalBalance()).isEqualTo(MinorUnits.toAmount(MinorUnits.of(expected)));
+        assertThat(summary.getAccountCount()).isEqualTo(ACCOUNTS_PER_USER);
+        assertThat(summary.getLastActivityTimestamp()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Closing an account should take its balance and count out of the owner's summary")
+    void closingAnAccountUpdatesSummary() {
+        bankAccountService.deleteBankAccount(accountNumbers.get(0));
+
+        UserSummaryResponse summary = userService.fetchUserSummary(userIds.get(0));
+        assertThat(summary.getAccountCount()).isEqualTo(ACCOUNTS_PER_USER - 1);
+        assertThat(summary.getTotalBalance()).isEqualTo(200.00);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should repair a summary that has drifted from its accounts")
+    void repairsDriftedSummary() {
+        long userKey = Long.parseLong(userIds.get(1).substring(4));
+        UserSummaryEntity summary = userSummaryRepository.findById(userKey).orElseThrow();
+        summary.setTotalBalanceMinor(1);
+        summary.setAccountCount(99);
+        userSummaryRepository.save(summary);
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+
+        UserSummaryResponse repaired = userService.fetchUserSummary(userIds.get(1));
+        assertThat(repaired.getTotalBalance()).isEqualTo(300.00);
+        assertThat(repaired.getAccountCount()).isEqualTo(ACCOUNTS_PER_USER);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    private void randomOperation(ThreadLocalRandom random) {
+        String accountNumber = accountNumbers.get(random.nextInt(accountNumbers.size()));
+        double amount = (1 + random.nextInt(5_000)) / 100.0;
+        try {
+            switch (random.nextInt(3)) {
+                case 0 -> transactionService.createTransaction(accountNumber, transaction(amount, CreateTransactionRequest.TypeEnum.DEPOSIT));
+                case 1 -> transactionService.createTransaction(accountNumber, transaction(amount, CreateTransactionRequest.TypeEnum.WITHDRAWAL));
+                default -> {
+                    String toAccountNumber = accountNumbers.get(random.nextInt(accountNumbers.size()));
+                    if (!toAccountNumber.equals(accountNumber)) {
+                        CreateTransferRequest request = new CreateTransferRequest();
+                        request.setToAccountNumber(toAccountNumber);
+                        request.setAmount(amount);
+                        request.setCurrency(CreateTransferRequest.CurrencyEnum.GBP);
+                        transactionService.createTransfer(accountNumber, request);
+                    }
+                }
+            }
+        } catch (InsufficientFundsException e) {
+            // Expected now and then; nothing changed.
+        }
+    }
+
+    private String openAccount(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE,
+                new AuthenticatedPrincipal(userId, Long.parseLong(userId.substring(4)), Instant.now().plusSeconds(60)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            CreateBankAccountRequest create = new CreateBankAccountRequest();
+            create.setName("Summary " + userId);
+            create.setAccountType(CreateBankAccountRequest.AccountTypeEnum.PERSONAL);
+            return bankAccountService.createBankAccount(create).getAccountNumber();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static CreateUserRequest user(int index) {
+        CreateUserRequestAddress address = new CreateUserRequestAddress();
+        address.setLine1(index + " Main St");
+        address.setTown("London");
+        address.setCounty("Greater London");
+        address.setPostcode("E1 6AN");
+
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName("Summary User " + index);
+        request.setEmail("summary" + index + "@example.com");
+        request.setPhoneNumber("+4412345678" + index);
+        request.setAddress(address);
+        return request;
+    }
+
+    private static CreateTransactionRequest transaction(double amount, CreateTransactionRequest.TypeEnum type) {
+        CreateTransactionRequest request = new CreateTransactionRequest();
+        request.setAmount(amount);
+        request.setCurrency(CreateTransactionRequest.CurrencyEnum.GBP);
+        request.setType(type);
+        return request;
+    }
+}
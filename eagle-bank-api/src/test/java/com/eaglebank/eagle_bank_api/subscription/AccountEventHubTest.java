@@ -0,0 +1,64 @@
+package com.eaglebank.eagle_bank_api.subscription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountEventHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccountEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    @DisplayName("Should index a subscriber under every account it subscribed to")
+    void shouldIndexSubscribersByAccount() {
+        hub = hub(10);
+
+        assertThat(hub.subscribe(List.of("01000001", "01000002"))).isPresent();
+
+        assertThat(hub.hasSubscribers("01000001")).isTrue();
+        assertThat(hub.hasSubscribers("01000002")).isTrue();
+        assertThat(hub.hasSubscribers("01000003")).isFalse();
+        assertThat(meterRegistry.get("eaglebank.subscriptions.active").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers over the limit")
+    void shouldRefuseSubscribersOverTheLimit() {
+        hub = hub(2);
+
+        assertThat(hub.subscribe(List.of("01000001"))).isPresent();
+        assertThat(hub.subscribe(List.of("01000001"))).isPresent();
+        assertThat(hub.subscribe(List.of("01000001"))).isEmpty();
+        assertThat(hub.activeSubscribers()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not serialise events for accounts without subscribers")
+    void shouldIgnoreEventsForAccountsWithoutSubscribers() {
+        hub = hub(10);
+
+        hub.publish("01000001", "transaction", new Object() {
+            // Would fail to serialise if the hub tried.
+        });
+
+        assertThat(meterRegistry.get("eaglebank.subscriptions.events").counter().count()).isZero();
+    }
+
+    private AccountEventHub hub(int maxSubscribers) {
+        SubscriptionProperties properties = new SubscriptionProperties(maxSubscribers, 4, 1, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        return new AccountEventHub(properties, new ObjectMapper(), meterRegistry);
+    }
+}
@@ -0,0 +1,163 @@
+package com.eaglebank.eagle_bank_api.subscription;
+
+import com.eaglebank.eagle_bank_api.TestAccounts;
+import com.eaglebank.eagle_bank_api.repository.BankAccountRepository;
+import com.eaglebank.eagle_bank_api.service.ExistenceFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds many idle event streams open while transactions are posted, and checks every stream
+ * receives every event for its account. The default size suits a developer machine; run with
+ * {@code -Deaglebank.load-test.subscribers=100000} (and a raised open-file limit) for the full
+ * target.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:account-events-load",
+        "eaglebank.rate-limit.enabled=false",
+        "eaglebank.concurrency-limit.enabled=false",
+        "eaglebank.outbox.sink=memory",
+        "eaglebank.audit.directory=target/audit"})
+class AccountEventsLoadTest {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("eaglebank.load-test.subscribers", 300);
+    private static final int ACCOUNTS = 30;
+    private static final int DEPOSITS_PER_ACCOUNT = 5;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Autowired
+    @Qualifier("accountExistenceFilter")
+    private ExistenceFilter accountExistenceFilter;
+
+    @Autowired
+    private AccountEventHub accountEventHub;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<String> accountNumbers = new ArrayList<>();
+    private final List<EventCounter> counters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        accountNumbers.addAll(TestAccounts.seed(bankAccountRepository, accountExistenceFilter, "Subscribed", ACCOUNTS, 0.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        counters.forEach(EventCounter::cancel);
+    }
+
+    @Test
+    @DisplayName("Every idle subscriber should receive every transaction and balance event for its account")
+    void idleSubscribersReceiveEveryEvent() throws Exception {
+        CountDownLatch subscribed = new CountDownLatch(SUBSCRIBERS);
+        CountDownLatch delivered = new CountDownLatch(SUBSCRIBERS * DEPOSITS_PER_ACCOUNT * 2);
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            EventCounter counter = new EventCounter(subscribed, delivered);
+            counters.add(counter);
+            HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/accounts/events?accountNumber=" + accountNumbers.get(i % ACCOUNTS)))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(counter));
+        }
+        assertThat(subscribed.await(60, TimeUnit.SECONDS)).as("all streams open").isTrue();
+        assertThat(accountEventHub.activeSubscribers()).isEqualTo(SUBSCRIBERS);
+
+        List<CompletableFuture<HttpResponse<String>>> deposits = new ArrayList<>();
+        for (int round = 0; round < DEPOSITS_PER_ACCOUNT; round++) {
+            for (String accountNumber : accountNumbers) {
+                HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/accounts/" + accountNumber + "/transactions"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1.00,\"currency\":\"GBP\",\"type\":\"deposit\"}"))
+                        .build();
+                deposits.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+        }
+        for (CompletableFuture<HttpResponse<String>> deposit : deposits) {
+            assertThat(deposit.get(30, TimeUnit.SECONDS).statusCode()).isEqualTo(201);
+        }
+
+        assertThat(delivered.await(60, TimeUnit.SECONDS)).as("all events delivered").isTrue();
+        assertThat(counters).allSatisfy(counter -> {
+            assertThat(counter.transactions).isEqualTo(DEPOSITS_PER_ACCOUNT);
+            assertThat(counter.balances).isEqualTo(DEPOSITS_PER_ACCOUNT);
+        });
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static final class EventCounter implements Flow.Subscriber<String> {
+
+        private final CountDownLatch subscribed;
+        private final CountDownLatch delivered;
+        private volatile Flow.Subscription subscription;
+        private volatile int transactions;
+        private volatile int balances;
+
+        private EventCounter(CountDownLatch subscribed, CountDownLatch delivered) {
+            this.subscribed = subscribed;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            // Lines of one stream arrive on one thread at a time.
+            if (line.equals(":subscribed")) {
+                subscribed.countDown();
+            } else if (line.equals("event:transaction")) {
+                transactions++;
+                delivered.countDown();
+            } else if (line.equals("event:balance")) {
+                balances++;
+                delivered.countDown();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.eaglebank.eagle_bank_api.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmUpRequestsTest {
+
+    private final WarmUpRequests warmUpRequests = new WarmUpRequests();
+
+    @Test
+    @DisplayName("Should recognise only requests carrying the current secret while warm-up runs")
+    void shouldRecogniseCurrentSecret() {
+        String secret = warmUpRequests.open();
+
+        assertThat(warmUpRequests.isWarmUp(request(secret))).isTrue();
+        assertThat(warmUpRequests.isWarmUp(request("0".repeat(secret.length())))).isFalse();
+        assertThat(warmUpRequests.isWarmUp(new MockHttpServletRequest())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop honouring the secret once warm-up is closed")
+    void shouldRejectSecretAfterClose() {
+        String secret = warmUpRequests.open();
+        warmUpRequests.close();
+
+        assertThat(warmUpRequests.isWarmUp(request(secret))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should issue a fresh secret on every warm-up")
+    void shouldIssueFreshSecret() {
+        String first = warmUpRequests.open();
+        String second = warmUpRequests.open();
+
+        assertThat(second).isNotEqualTo(first);
+        assertThat(warmUpRequests.isWarmUp(request(first))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should recognise the warm-up request the current thread is serving")
+    void shouldRecogniseCurrentRequest() {
+        String secret = warmUpRequests.open();
+        try {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request(secret)));
+            assertThat(warmUpRequests.isCurrentRequestWarmUp()).isTrue();
+
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            assertThat(warmUpRequests.isCurrentRequestWarmUp()).isFalse();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        assertThat(warmUpRequests.isCurrentRequestWarmUp()).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String secret) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/users");
+        request.addHeader(WarmUpRequests.HEADER, secret);
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.eaglebank.eagle_bank_api.web;
+
+import com.eaglebank.eagle_bank_api.exception.BadUserRequestException;
+import com.eaglebank.eagle_bank_api.exception.BankAccountNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    @DisplayName("Should answer a missing account with the fixed 404 body")
+    void shouldMapBankAccountNotFound() {
+        ResponseEntity<byte[]> response = handler.handleBankAccountNotFound();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"Bank account was not found\"}");
+    }
+
+    @Test
+    @DisplayName("Should answer insufficient funds with 422")
+    void shouldMapInsufficientFunds() {
+        ResponseEntity<byte[]> response = handler.handleInsufficientFunds();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"Insufficient funds to process transaction\"}");
+    }
+
+    @Test
+    @DisplayName("Should answer a missing principal with 401 and a bearer challenge")
+    void shouldMapAuthenticationRequired() {
+        ResponseEntity<byte[]> response = handler.handleAuthenticationRequired();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"message\":\"Access token is missing or invalid\"}");
+    }
+
+    @Test
+    @DisplayName("Should answer bad requests with the validation message and reuse the cached body")
+    void shouldMapBadRequest() {
+        BadUserRequestException exception = new BadUserRequestException("Validation failed: Name is required");
+
+        ResponseEntity<byte[]> first = handler.handleBadRequest(exception);
+        ResponseEntity<byte[]> second = handler.handleBadRequest(exception);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(new String(first.getBody(), StandardCharsets.UTF_8))
+                .contains("\"message\":\"Validation failed: Name is required\"")
+                .contains("\"details\":[]");
+        assertThat(second.getBody()).isSameAs(first.getBody());
+    }
+
+    @Test
+    @DisplayName("Domain exceptions should carry no stack trace and build their message lazily")
+    void domainExceptionsAreStackless() {
+        BankAccountNotFoundException exception = new BankAccountNotFoundException("Bank account not found with account number: ", "01234567");
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo("Bank account not found with account number: 01234567");
+    }
+}
@@ -0,0 +1,104 @@
+package com.eaglebank.eagle_bank_api.web;
+
+import com.eaglebank.eagle_bank_api.service.BankAccountService;
+import com.eaglebank.eagle_bank_api.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    private static final OffsetDateTime UPDATED = OffsetDateTime.of(2025, 7, 1, 12, 30, 0, 123_456_000, ZoneOffset.UTC);
+
+    @Mock
+    private BankAccountService bankAccountService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private ConditionalGetInterceptor interceptor;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/v1/accounts/01234567");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("accountNumber", "01234567"));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the entity tag still matches")
+    void shouldAnswerNotModifiedWhenEtagMatches() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, EntityTags.of(UPDATED));
+        when(bankAccountService.fetchLastModified("01234567")).thenReturn(Optional.of(UPDATED));
+
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(EntityTags.of(UPDATED));
+        verify(bankAccountService, never()).fetchByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("Should proceed when the entity has changed since the client's copy")
+    void shouldProceedWhenEtagIsStale() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, EntityTags.of(UPDATED.minusSeconds(5)));
+        when(bankAccountService.fetchLastModified("01234567")).thenReturn(Optional.of(UPDATED));
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should proceed without a lookup when no conditional headers are sent")
+    void shouldProceedWithoutLookupForUnconditionalRequests() {
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+
+        verify(bankAccountService, never()).fetchLastModified(anyString());
+    }
+
+    @Test
+    @DisplayName("Should proceed so the controller can answer 404 when the account does not exist")
+    void shouldProceedWhenAccountDoesNotExist() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"anything\"");
+        when(bankAccountService.fetchLastModified("01234567")).thenReturn(Optional.empty());
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should honour If-Modified-Since for user reads")
+    void shouldHonourIfModifiedSinceForUsers() {
+        MockHttpServletRequest userRequest = new MockHttpServletRequest("GET", "/v1/users/usr-1");
+        userRequest.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("userId", "usr-1"));
+        userRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, UPDATED.plusSeconds(1).toInstant().toEpochMilli());
+        when(userService.fetchLastModified("usr-1")).thenReturn(Optional.of(UPDATED));
+
+        assertThat(interceptor.preHandle(userRequest, response, new Object())).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+}